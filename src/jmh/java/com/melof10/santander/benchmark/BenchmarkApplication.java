@@ -0,0 +1,73 @@
+package com.melof10.santander.benchmark;
+
+import com.melof10.santander.SantanderApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Starts the application without a web server against a private in-memory H2 database and seeds
+ * it with customers, accounts and transactions for the persistence benchmarks.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(SantanderApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmarkdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "santander.r2dbc.url=r2dbc:h2:mem:///benchmarkdb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    static void seed(ConfigurableApplicationContext ctx, int accounts, int transactions) {
+        JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+        SplittableRandom random = new SplittableRandom(42);
+
+        int customers = Math.max(1, accounts / 2);
+        List<Object[]> customerRows = new ArrayList<>(customers);
+        for (int i = 1; i <= customers; i++) {
+            customerRows.add(new Object[]{i, "Nombre" + i, "Apellido" + i, "DOC" + i, 0});
+        }
+        jdbc.batchUpdate("INSERT INTO cliente (id, first_name, last_name, document, version) VALUES (?, ?, ?, ?, ?)", customerRows);
+
+        List<Object[]> accountRows = new ArrayList<>(accounts);
+        for (int i = 1; i <= accounts; i++) {
+            accountRows.add(new Object[]{i, "ACC-" + i, i % 2 == 0 ? "CUENTA_CORRIENTE" : "CAJA_AHORRO",
+                    1_000_000, 1_000_000, LocalDateTime.now().toLocalDate(), 0, (i - 1) % customers + 1});
+        }
+        jdbc.batchUpdate("INSERT INTO cuenta (id, account_number, account_type, balance, opening_balance, open_date, version, id_cliente) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                accountRows);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int i = 1; i <= transactions; i++) {
+            long source = random.nextInt(accounts) + 1;
+            long dest = random.nextInt(accounts) + 1;
+            batch.add(new Object[]{i, Timestamp.valueOf(start.plusSeconds(random.nextInt(365 * 86_400))),
+                    random.nextInt(1, 100_000) / 100.0, "TRANSFERENCIA", source, dest});
+            if (batch.size() == 1000 || i == transactions) {
+                jdbc.batchUpdate("INSERT INTO transaccion (id, date, amount, type, id_cuenta_origen, id_cuenta_destino) VALUES (?, ?, ?, ?, ?, ?)",
+                        batch);
+                batch.clear();
+            }
+        }
+        jdbc.execute("ALTER TABLE cliente ALTER COLUMN id RESTART WITH " + (customers + 1));
+        jdbc.execute("ALTER TABLE cuenta ALTER COLUMN id RESTART WITH " + (accounts + 1));
+        jdbc.execute("ALTER TABLE transaccion ALTER COLUMN id RESTART WITH " + (transactions + 1));
+    }
+}
@@ -0,0 +1,95 @@
+package com.melof10.santander.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Transaction;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the {@code Account} and {@code Transaction} responses, configured like the
+ * Spring Boot {@code ObjectMapper} (ISO dates).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"100"})
+    public int listSize;
+
+    private ObjectMapper mapper;
+    private Account account;
+    private Transaction transaction;
+    private List<Transaction> transactions;
+    private byte[] transactionsJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        account = account(1L);
+        transaction = transaction(1L, account, account(2L));
+        transactions = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            transactions.add(transaction(i, account(i * 2L), account(i * 2L + 1)));
+        }
+        transactionsJson = mapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] serializeAccount() throws Exception {
+        return mapper.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public byte[] serializeTransaction() throws Exception {
+        return mapper.writeValueAsBytes(transaction);
+    }
+
+    @Benchmark
+    public byte[] serializeTransactionList() throws Exception {
+        return mapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public Transaction[] deserializeTransactionList() throws Exception {
+        return mapper.readValue(transactionsJson, Transaction[].class);
+    }
+
+    private static Account account(long id) {
+        return Account.builder()
+                .id(id)
+                .accountNumber("ACC-" + id)
+                .accountType(AccountType.CAJA_AHORRO)
+                .balance(Money.of("15234.75"))
+                .openDate(LocalDate.of(2024, 1, 15))
+                .build();
+    }
+
+    private static Transaction transaction(long id, Account source, Account dest) {
+        return Transaction.builder()
+                .id(id)
+                .date(LocalDateTime.of(2025, 3, 10, 12, 30))
+                .amount(Money.of("250.50"))
+                .type(TransactionType.TRANSFERENCIA)
+                .sourceAccount(source)
+                .destinationAccount(dest)
+                .build();
+    }
+}
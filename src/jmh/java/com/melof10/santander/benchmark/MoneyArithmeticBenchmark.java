@@ -0,0 +1,72 @@
+package com.melof10.santander.benchmark;
+
+import com.melof10.santander.money.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance arithmetic of a transfer (validate, withdraw, deposit) with the previous
+ * {@code BigDecimal} code versus {@link Money}. Run with {@code -prof gc} to compare allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyArithmeticBenchmark {
+
+    private BigDecimal decimalSource;
+    private BigDecimal decimalDest;
+    private BigDecimal decimalAmount;
+
+    private Money moneySource;
+    private Money moneyDest;
+    private Money moneyAmount;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        decimalSource = new BigDecimal("1000000000.00");
+        decimalDest = new BigDecimal("25.00");
+        decimalAmount = new BigDecimal("12.34");
+
+        moneySource = Money.of(decimalSource);
+        moneyDest = Money.of(decimalDest);
+        moneyAmount = Money.of(decimalAmount);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTransfer() {
+        if (decimalAmount == null || decimalAmount.signum() <= 0) {
+            throw new IllegalArgumentException();
+        }
+        BigDecimal balance = decimalSource == null ? BigDecimal.ZERO : decimalSource;
+        if (balance.signum() <= 0 || balance.compareTo(decimalAmount) < 0) {
+            throw new IllegalStateException();
+        }
+        decimalSource = balance.subtract(decimalAmount);
+        decimalDest = decimalDest.add(decimalAmount);
+        return decimalDest;
+    }
+
+    @Benchmark
+    public Money moneyTransfer() {
+        if (!moneyAmount.isPositive()) {
+            throw new IllegalArgumentException();
+        }
+        Money balance = moneySource == null ? Money.ZERO : moneySource;
+        if (balance.signum() <= 0 || balance.isLessThan(moneyAmount)) {
+            throw new IllegalStateException();
+        }
+        moneySource = balance.minus(moneyAmount);
+        moneyDest = moneyDest.plus(moneyAmount);
+        return moneyDest;
+    }
+
+    @Benchmark
+    public Money moneyFromRequest() {
+        return Money.of(decimalAmount);
+    }
+}
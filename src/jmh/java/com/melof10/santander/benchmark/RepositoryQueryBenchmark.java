@@ -0,0 +1,94 @@
+package com.melof10.santander.benchmark;
+
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Transaction;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.TransactionRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository queries against a seeded H2 database sized like a busy branch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryQueryBenchmark {
+
+    @Param({"5000"})
+    public int accounts;
+
+    @Param({"200000"})
+    public int transactions;
+
+    private ConfigurableApplicationContext context;
+    private AccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, accounts, transactions);
+        accountRepository = context.getBean(AccountRepository.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(org.springframework.transaction.PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Transaction> statementLast30Days() {
+        long accountId = randomAccount();
+        LocalDateTime to = LocalDateTime.now();
+        return readOnly.execute(status -> transactionRepository.findStatementBetweenDates(
+                accountId, to.minusDays(30), to, PageRequest.of(0, 50)));
+    }
+
+    @Benchmark
+    public List<Transaction> lastTenMovements() {
+        long accountId = randomAccount();
+        return readOnly.execute(status ->
+                transactionRepository.findTop10BySourceAccount_IdOrDestinationAccount_IdOrderByDateDesc(accountId, accountId));
+    }
+
+    @Benchmark
+    public BigDecimal sumTransfersForAccount() {
+        long accountId = randomAccount();
+        return readOnly.execute(status ->
+                transactionRepository.sumAmountByTypeForAccount(TransactionType.TRANSFERENCIA, accountId));
+    }
+
+    @Benchmark
+    public List<Account> accountsByCustomer() {
+        long customerId = ThreadLocalRandom.current().nextLong(1, accounts / 2 + 1);
+        return readOnly.execute(status -> accountRepository.findByCustomer_Id(customerId));
+    }
+
+    @Benchmark
+    public Account accountByIdWithLock() {
+        long accountId = randomAccount();
+        return readOnly.execute(status -> accountRepository.findById(accountId).orElseThrow());
+    }
+
+    private long randomAccount() {
+        return ThreadLocalRandom.current().nextLong(1, accounts + 1);
+    }
+}
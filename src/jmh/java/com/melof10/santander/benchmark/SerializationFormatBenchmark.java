@@ -0,0 +1,101 @@
+package com.melof10.santander.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Transaction;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of a {@code Transaction} list in each negotiated format (JSON, CBOR and
+ * Smile), with the payload size reported as the {@code payloadBytes} secondary metric.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"100", "10000"})
+    public int listSize;
+
+    private ObjectMapper mapper;
+    private List<Transaction> transactions;
+    private byte[] encoded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        mapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        transactions = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            transactions.add(transaction(i, account(i * 2L), account(i * 2L + 1)));
+        }
+        encoded = mapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] encodeTransactionList(Payload payload) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(transactions);
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Transaction[] decodeTransactionList() throws Exception {
+        return mapper.readValue(encoded, Transaction[].class);
+    }
+
+    private static Account account(long id) {
+        return Account.builder()
+                .id(id)
+                .accountNumber("0720001" + String.format("%015d", id))
+                .accountType(AccountType.CAJA_AHORRO)
+                .balance(Money.ofCents(1_523_475L + id))
+                .openDate(LocalDate.of(2024, 1, 15))
+                .version(id % 7)
+                .build();
+    }
+
+    private static Transaction transaction(long id, Account source, Account dest) {
+        return Transaction.builder()
+                .id(id)
+                .date(LocalDateTime.of(2025, 3, 10, 12, 30).plusSeconds(id))
+                .amount(Money.ofCents(25_050L + id))
+                .type(TransactionType.TRANSFERENCIA)
+                .sourceAccount(source)
+                .destinationAccount(dest)
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.melof10.santander.benchmark;
+
+import com.melof10.santander.controller.request.TransactionCreateRequest;
+import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.entity.Transaction;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.service.ITransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@code transfer} and {@code create} through the Spring proxies, JPA and the
+ * pessimistic account locks against in-memory H2.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionServiceH2Benchmark {
+
+    @Param({"1000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private ITransactionService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, accounts, 0);
+        service = context.getBean(ITransactionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Transaction transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long source = random.nextLong(1, accounts + 1);
+        long dest = source % accounts + 1;
+        return service.transfer(new TransferRequest(source, dest, new BigDecimal("0.01")));
+    }
+
+    @Benchmark
+    public Transaction createDeposit() {
+        long dest = ThreadLocalRandom.current().nextLong(1, accounts + 1);
+        return service.create(new TransactionCreateRequest(TransactionType.DEPOSITO, new BigDecimal("0.01"), null, dest));
+    }
+}
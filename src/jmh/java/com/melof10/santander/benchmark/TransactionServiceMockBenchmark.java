@@ -0,0 +1,74 @@
+package com.melof10.santander.benchmark;
+
+import com.melof10.santander.controller.request.TransactionCreateRequest;
+import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Transaction;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.TransactionRepository;
+import com.melof10.santander.service.impl.TransactionServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Service-layer cost of {@code transfer} and {@code create} with the repositories stubbed out,
+ * isolating validation, balance arithmetic and entity construction from persistence.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionServiceMockBenchmark {
+
+    private TransactionServiceImpl service;
+    private Account source;
+    private Account dest;
+    private TransferRequest transfer;
+    private TransactionCreateRequest deposit;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AccountRepository accountRepository = mock(AccountRepository.class, withSettings().stubOnly());
+        TransactionRepository transactionRepository = mock(TransactionRepository.class, withSettings().stubOnly());
+        service = new TransactionServiceImpl(transactionRepository, accountRepository, null, event -> {});
+
+        source = Account.builder().id(1L).balance(Money.of("1000000000.00")).build();
+        dest = Account.builder().id(2L).balance(Money.ZERO).build();
+
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(source));
+        when(accountRepository.findById(2L)).thenReturn(Optional.of(dest));
+        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        transfer = new TransferRequest(1L, 2L, new BigDecimal("0.01"));
+        deposit = new TransactionCreateRequest(TransactionType.DEPOSITO, new BigDecimal("0.01"), null, 2L);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBalances() {
+        source.setBalance(Money.of("1000000000.00"));
+        dest.setBalance(Money.ZERO);
+    }
+
+    @Benchmark
+    public Transaction transfer() {
+        return service.transfer(transfer);
+    }
+
+    @Benchmark
+    public Transaction createDeposit() {
+        return service.create(deposit);
+    }
+}
@@ -0,0 +1,357 @@
+package com.melof10.santander.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Mixed-traffic load generator for the {@code /api/**} endpoints: customer/account creation,
+ * deposits, withdrawals, transfers and statement reads, weighted by {@code loadtest.mix}.
+ *
+ * <pre>
+ * ./mvnw spring-boot:run
+ * ./mvnw -Ploadtest test-compile exec:java -Dloadtest.main=com.melof10.santander.loadtest.MixedTrafficLoadTest \
+ *        -Dloadtest.rate=300 -Dloadtest.durationSeconds=60
+ * </pre>
+ *
+ * With {@code loadtest.rate > 0} requests arrive open-loop at that rate (latency is measured from
+ * the scheduled start, so a stalled server is not hidden by a stalled client) and at most
+ * {@code loadtest.maxInFlight} are outstanding; with {@code loadtest.rate=0} {@code loadtest.clients}
+ * workers run closed-loop. At the end the balances of every account touched by the run are summed
+ * and must equal initial balances + deposits - withdrawals; otherwise the run fails.
+ */
+public class MixedTrafficLoadTest {
+
+    enum Operation { CREATE, DEPOSIT, WITHDRAW, TRANSFER, STATEMENT }
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final long initialBalanceCents;
+    private final Operation[] weighted;
+
+    private final List<Long> accountIds = new CopyOnWriteArrayList<>();
+    private final AtomicLong expectedCents = new AtomicLong();
+    private final LongAdder ambiguous = new LongAdder();
+
+    private final Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejected = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final LongAdder dropped = new LongAdder();
+
+    MixedTrafficLoadTest(String baseUrl, long initialBalanceCents, String mix) {
+        this.baseUrl = baseUrl;
+        this.initialBalanceCents = initialBalanceCents;
+        this.weighted = parseMix(mix);
+        this.http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation op : Operation.values()) {
+            latencies.put(op, new Recorder(3));
+            rejected.put(op, new LongAdder());
+            errors.put(op, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:8080");
+        int accounts = Integer.getInteger("loadtest.accounts", 100);
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        int clients = Integer.getInteger("loadtest.clients", 50);
+        int maxInFlight = Integer.getInteger("loadtest.maxInFlight", 2000);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+        long initialBalanceCents = new BigDecimal(System.getProperty("loadtest.initialBalance", "1000.00"))
+                .movePointRight(2).longValueExact();
+        String mix = System.getProperty("loadtest.mix", "create=2,deposit=25,withdraw=20,transfer=38,statement=15");
+
+        MixedTrafficLoadTest test = new MixedTrafficLoadTest(baseUrl, initialBalanceCents, mix);
+        for (int i = 0; i < accounts; i++) {
+            if (test.execute(Operation.CREATE) != Outcome.OK) {
+                throw new IllegalStateException("Could not create the initial accounts against " + baseUrl);
+            }
+        }
+
+        System.out.printf("%s: %d accounts, mix %s, warmup %ds, measure %ds%n",
+                rate > 0 ? "open-loop at " + rate + " req/s (max in flight " + maxInFlight + ")" : "closed-loop with " + clients + " clients",
+                accounts, mix, warmupSeconds, durationSeconds);
+
+        test.run(rate, clients, maxInFlight, warmupSeconds);
+        test.reset();
+        test.run(rate, clients, maxInFlight, durationSeconds);
+        test.report(durationSeconds);
+        test.verifyConservation();
+    }
+
+    void run(int rate, int clients, int maxInFlight, int seconds) {
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (rate > 0) {
+                Semaphore inFlight = new Semaphore(maxInFlight);
+                long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+                for (long n = 0; ; n++) {
+                    long intended = start + n * interval;
+                    if (intended >= end) break;
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) LockSupport.parkNanos(wait);
+                    if (!inFlight.tryAcquire()) {
+                        dropped.increment();
+                        continue;
+                    }
+                    pool.submit(() -> {
+                        try {
+                            timed(pick(), intended);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            } else {
+                for (int i = 0; i < clients; i++) {
+                    pool.submit(() -> {
+                        while (System.nanoTime() < end) {
+                            timed(pick(), System.nanoTime());
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private void timed(Operation op, long startNanos) {
+        Outcome outcome = execute(op);
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        switch (outcome) {
+            case OK -> latencies.get(op).recordValue(micros);
+            case REJECTED -> {
+                latencies.get(op).recordValue(micros);
+                rejected.get(op).increment();
+            }
+            case ERROR -> errors.get(op).increment();
+        }
+    }
+
+    Outcome execute(Operation op) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            return switch (op) {
+                case CREATE -> createAccount();
+                case DEPOSIT -> moveMoney(op, """
+                        {"type":"DEPOSITO","amount":%s,"destinationAccountId":%d}
+                        """.formatted(cents(random.nextLong(100, 50_000)), randomAccount()), "/api/transactions");
+                case WITHDRAW -> moveMoney(op, """
+                        {"type":"EXTRACCION","amount":%s,"sourceAccountId":%d}
+                        """.formatted(cents(random.nextLong(100, 30_000)), randomAccount()), "/api/transactions");
+                case TRANSFER -> {
+                    long source = randomAccount();
+                    long dest = randomAccount();
+                    if (source == dest) {
+                        dest = accountIds.get((accountIds.indexOf(source) + 1) % accountIds.size());
+                    }
+                    yield moveMoney(op, """
+                            {"sourceAccountId":%d,"destinationAccountId":%d,"amount":%s}
+                            """.formatted(source, dest, cents(random.nextLong(100, 20_000))), "/api/transactions/transfer");
+                }
+                case STATEMENT -> {
+                    LocalDateTime to = LocalDateTime.now();
+                    HttpResponse<Void> resp = http.send(HttpRequest.newBuilder(URI.create(baseUrl
+                                            + "/api/v2/accounts/" + randomAccount() + "/statement?from=" + to.minusDays(1) + "&to=" + to))
+                                    .header("Accept", "application/json")
+                                    .timeout(Duration.ofSeconds(30))
+                                    .GET()
+                                    .build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    yield classify(resp.statusCode());
+                }
+            };
+        } catch (IOException e) {
+            if (op != Operation.STATEMENT) {
+                ambiguous.increment();
+            }
+            return Outcome.ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.ERROR;
+        }
+    }
+
+    private Outcome createAccount() throws IOException, InterruptedException {
+        String suffix = Long.toString(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L));
+        HttpResponse<String> customer = post("/api/customers", """
+                {"firstName":"Load","lastName":"Test","document":"%s"}
+                """.formatted(suffix));
+        if (customer.statusCode() != 201) {
+            return classify(customer.statusCode());
+        }
+        HttpResponse<String> account = post("/api/accounts", """
+                {"accountNumber":"LT-%s","accountType":"CAJA_AHORRO","initialBalance":%s,"customerId":%d}
+                """.formatted(suffix, cents(initialBalanceCents), JSON.readTree(customer.body()).get("id").asLong()));
+        if (account.statusCode() != 201) {
+            return classify(account.statusCode());
+        }
+        expectedCents.addAndGet(initialBalanceCents);
+        accountIds.add(JSON.readTree(account.body()).get("id").asLong());
+        return Outcome.OK;
+    }
+
+    private Outcome moveMoney(Operation op, String json, String path) throws IOException, InterruptedException {
+        HttpResponse<String> resp = post(path, json);
+        if (resp.statusCode() == 201) {
+            long amount = JSON.readTree(resp.body()).get("amount").decimalValue().movePointRight(2).longValueExact();
+            if (op == Operation.DEPOSIT) expectedCents.addAndGet(amount);
+            if (op == Operation.WITHDRAW) expectedCents.addAndGet(-amount);
+        }
+        if (resp.statusCode() == 500 && isInsufficientFunds(resp.body())) {
+            return Outcome.REJECTED;
+        }
+        return classify(resp.statusCode());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofSeconds(30))
+                        .POST(HttpRequest.BodyPublishers.ofString(json))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    void reset() {
+        latencies.values().forEach(Recorder::reset);
+        rejected.values().forEach(LongAdder::reset);
+        errors.values().forEach(LongAdder::reset);
+        dropped.reset();
+    }
+
+    void report(int seconds) {
+        Histogram total = new Histogram(3);
+        long totalRejected = 0;
+        long totalErrors = 0;
+        System.out.printf("%-10s %9s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "rejected", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        for (Operation op : Operation.values()) {
+            Histogram h = latencies.get(op).getIntervalHistogram();
+            total.add(h);
+            totalRejected += rejected.get(op).sum();
+            totalErrors += errors.get(op).sum();
+            print(op.name().toLowerCase(), h, rejected.get(op).sum(), errors.get(op).sum(), seconds);
+        }
+        print("total", total, totalRejected, totalErrors, seconds);
+        if (dropped.sum() > 0) {
+            System.out.printf("dropped=%d arrivals (maxInFlight reached)%n", dropped.sum());
+        }
+    }
+
+    private static void print(String name, Histogram h, long rejected, long errors, int seconds) {
+        System.out.printf("%-10s %9d %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                h.getTotalCount(),
+                rejected,
+                errors,
+                h.getTotalCount() / (double) seconds,
+                h.getValueAtPercentile(50) / 1e3,
+                h.getValueAtPercentile(95) / 1e3,
+                h.getValueAtPercentile(99) / 1e3,
+                h.getValueAtPercentile(99.9) / 1e3,
+                h.getMaxValue() / 1e3);
+    }
+
+    void verifyConservation() throws IOException, InterruptedException {
+        long actualCents = 0;
+        List<Long> ids = new ArrayList<>(accountIds);
+        for (int i = 0; i < ids.size(); i += 200) {
+            String query = ids.subList(i, Math.min(i + 200, ids.size())).stream()
+                    .map(String::valueOf)
+                    .reduce((a, b) -> a + "," + b)
+                    .orElseThrow();
+            HttpResponse<String> resp = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts?ids=" + query))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            for (JsonNode account : JSON.readTree(resp.body())) {
+                long balance = account.get("balance").decimalValue().movePointRight(2).longValueExact();
+                if (balance < 0) {
+                    throw new IllegalStateException("Negative balance on account " + account.get("id") + ": " + cents(balance));
+                }
+                actualCents += balance;
+            }
+        }
+
+        System.out.printf("money check: accounts=%d expected=%s actual=%s ambiguous=%d%n",
+                ids.size(), cents(expectedCents.get()), cents(actualCents), ambiguous.sum());
+        if (actualCents != expectedCents.get()) {
+            throw new IllegalStateException("Money not conserved: expected " + cents(expectedCents.get())
+                    + " but accounts hold " + cents(actualCents)
+                    + (ambiguous.sum() > 0 ? " (" + ambiguous.sum() + " requests failed with an unknown outcome)" : ""));
+        }
+    }
+
+    private Operation pick() {
+        return weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+    }
+
+    private long randomAccount() {
+        return accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+    }
+
+    // BusinessException is mapped to 500, so balance rejections are told apart by their message.
+    private static boolean isInsufficientFunds(String body) {
+        return body.contains("Saldo insuficiente") || body.contains("No tiene más dinero");
+    }
+
+    private static Outcome classify(int status) {
+        if (status >= 200 && status < 300) return Outcome.OK;
+        if (status >= 400 && status < 500) return Outcome.REJECTED;
+        return Outcome.ERROR;
+    }
+
+    private static String cents(long cents) {
+        return BigDecimal.valueOf(cents, 2).toPlainString();
+    }
+
+    private static Operation[] parseMix(String mix) {
+        List<Operation> slots = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] kv = entry.trim().split("=");
+            Operation op = Operation.valueOf(kv[0].trim().toUpperCase());
+            for (int i = 0; i < Integer.parseInt(kv[1].trim()); i++) {
+                slots.add(op);
+            }
+        }
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("Empty loadtest.mix");
+        }
+        return slots.toArray(Operation[]::new);
+    }
+
+    enum Outcome { OK, REJECTED, ERROR }
+}
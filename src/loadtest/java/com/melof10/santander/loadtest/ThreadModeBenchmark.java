@@ -0,0 +1,154 @@
+package com.melof10.santander.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop driver used to compare the default platform-thread Tomcat pool against the
+ * {@code virtual} profile. Start the app in one mode, run this class, restart in the other
+ * mode and run it again with the same settings:
+ *
+ * <pre>
+ * ./mvnw spring-boot:run
+ * ./mvnw -Pvirtual-threads spring-boot:run
+ * ./mvnw -Ploadtest test-compile exec:java -Dloadtest.main=com.melof10.santander.loadtest.ThreadModeBenchmark \
+ *        -Dloadtest.clients=1000 -Dloadtest.label=virtual
+ * </pre>
+ *
+ * {@code loadtest.accounts} accounts are created up front and picked at random per request.
+ * {@code loadtest.path=self} exercises the blocking {@code AccountClient} self-call, {@code direct}
+ * hits {@code GET /api/accounts/{id}} only.
+ */
+public class ThreadModeBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:8080");
+        int clients = Integer.getInteger("loadtest.clients", 1000);
+        int accounts = Integer.getInteger("loadtest.accounts", 50);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+        String path = System.getProperty("loadtest.path", "self");
+        String label = System.getProperty("loadtest.label", "run");
+
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String prefix = baseUrl + ("self".equals(path) ? "/api/accounts/self/" : "/api/accounts/");
+        HttpRequest[] requests = new HttpRequest[accounts];
+        for (int i = 0; i < accounts; i++) {
+            requests[i] = HttpRequest.newBuilder(URI.create(prefix + createAccount(http, baseUrl)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        }
+
+        System.out.printf("[%s] %d clients against %s{id} over %d accounts (warmup %ds, measure %ds)%n",
+                label, clients, prefix, accounts, warmupSeconds, durationSeconds);
+
+        run(http, requests, clients, warmupSeconds);
+        Result result = run(http, requests, clients, durationSeconds);
+
+        long[] sorted = result.latencies();
+        Arrays.sort(sorted);
+        System.out.printf("[%s] requests=%d errors=%d throughput=%.1f req/s p50=%.2fms p99=%.2fms max=%.2fms%n",
+                label,
+                sorted.length,
+                result.errors(),
+                sorted.length / (double) durationSeconds,
+                percentile(sorted, 0.50) / 1e6,
+                percentile(sorted, 0.99) / 1e6,
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static Result run(HttpClient http, HttpRequest[] requests, int clients, int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        List<Future<Result>> futures = new ArrayList<>(clients);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(pool.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = requests[ThreadLocalRandom.current().nextInt(requests.length)];
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resp = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (resp.statusCode() != 200) {
+                                errors++;
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors++;
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    return new Result(Arrays.copyOf(samples, count), errors);
+                }));
+            }
+        }
+
+        long errors = 0;
+        long[] all = new long[0];
+        for (Future<Result> f : futures) {
+            Result r = f.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + r.latencies().length);
+            System.arraycopy(r.latencies(), 0, all, offset, r.latencies().length);
+            errors += r.errors();
+        }
+        return new Result(all, errors);
+    }
+
+    private static long createAccount(HttpClient http, String baseUrl) throws Exception {
+        String suffix = Long.toString(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L));
+        long customerId = post(http, baseUrl + "/api/customers", """
+                {"firstName":"Load","lastName":"Test","document":"%s"}
+                """.formatted(suffix));
+        return post(http, baseUrl + "/api/accounts", """
+                {"accountNumber":"LT-%s","accountType":"CAJA_AHORRO","initialBalance":1000.00,"customerId":%d}
+                """.formatted(suffix, customerId));
+    }
+
+    private static long post(HttpClient http, String url, String json) throws Exception {
+        HttpResponse<String> resp = http.send(HttpRequest.newBuilder(URI.create(url))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher m = ID.matcher(resp.body());
+        if (resp.statusCode() != 201 || !m.find()) {
+            throw new IllegalStateException("Setup failed on " + url + ": " + resp.statusCode() + " " + resp.body());
+        }
+        return Long.parseLong(m.group(1));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+    }
+
+    private record Result(long[] latencies, long errors) {}
+}
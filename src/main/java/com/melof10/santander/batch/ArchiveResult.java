@@ -0,0 +1,17 @@
+package com.melof10.santander.batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+public record ArchiveResult(
+        LocalDateTime cutoff,
+        long archived,
+        int chunks,
+        long elapsedMs
+) {
+    @JsonProperty
+    public double rowsPerSecond() {
+        return elapsedMs == 0 ? archived : archived * 1000.0 / elapsedMs;
+    }
+}
@@ -0,0 +1,13 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.money.Money;
+
+public record BalanceMismatch(
+        long accountId,
+        Money openingBalance,
+        Money expectedBalance,
+        Money actualBalance,
+        Money difference,
+        long ledgerEntries
+) {
+}
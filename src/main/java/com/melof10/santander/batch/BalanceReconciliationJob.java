@@ -0,0 +1,212 @@
+package com.melof10.santander.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melof10.santander.enums.BatchStatus;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.TransactionArchive;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recomputes every account's balance as opening balance + credits ({@code id_cuenta_destino})
+ * - debits ({@code id_cuenta_origen}), archived transactions included, and reports the accounts
+ * whose stored balance differs.
+ * <p>
+ * Accounts are partitioned by id range across the batch fork-join pool. Each partition reads its
+ * accounts and streams its ledger rows in a read-only repeatable-read transaction, so the balances
+ * and the ledger come from the same snapshot; only one running total per account of the partition
+ * is kept in memory. The summary and the mismatches are written as JSON to
+ * {@code santander.batch.reconciliation.report-dir} and published as metrics.
+ */
+@Slf4j
+@Component
+public class BalanceReconciliationJob {
+
+    public static final String JOB = "balance-reconciliation";
+
+    private static final String METRIC_PREFIX = "santander.batch.reconciliation";
+    private static final DateTimeFormatter RUN_KEY = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate snapshot;
+    private final TransactionArchive archive;
+    private final BatchPool batchPool;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final Path reportDir;
+    private final int partitionSize;
+    private final AtomicLong lastAccounts = new AtomicLong();
+    private final AtomicLong lastMismatches = new AtomicLong();
+
+    public BalanceReconciliationJob(JdbcTemplate jdbc,
+                                    PlatformTransactionManager transactionManager,
+                                    TransactionArchive archive,
+                                    BatchPool batchPool,
+                                    ObjectMapper objectMapper,
+                                    MeterRegistry registry,
+                                    @Value("${santander.batch.reconciliation.report-dir}") Path reportDir,
+                                    @Value("${santander.batch.chunk-size}") int partitionSize) {
+        this.jdbc = new JdbcTemplate(jdbc.getDataSource());
+        this.jdbc.setFetchSize(partitionSize);
+        this.snapshot = new TransactionTemplate(transactionManager);
+        this.snapshot.setReadOnly(true);
+        this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.archive = archive;
+        this.batchPool = batchPool;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.reportDir = reportDir;
+        this.partitionSize = partitionSize;
+        Gauge.builder(METRIC_PREFIX + ".accounts", lastAccounts, AtomicLong::get).register(registry);
+        Gauge.builder(METRIC_PREFIX + ".mismatches", lastMismatches, AtomicLong::get).register(registry);
+    }
+
+    public ReconciliationReport run() {
+        long started = System.nanoTime();
+        String runKey = LocalDateTime.now().format(RUN_KEY);
+
+        Long[] bounds = jdbc.queryForObject("select min(id), max(id) from cuenta",
+                (rs, i) -> new Long[]{rs.getObject(1, Long.class), rs.getObject(2, Long.class)});
+        List<Callable<Partition>> tasks = new ArrayList<>();
+        if (bounds != null && bounds[0] != null) {
+            ContextSnapshot context = ContextSnapshotFactory.builder().build().captureAll();
+            for (long start = bounds[0]; start <= bounds[1]; start += partitionSize) {
+                long from = start;
+                long to = Math.min(start + partitionSize - 1, bounds[1]);
+                tasks.add(context.wrap(() -> reconcile(from, to)));
+            }
+        }
+
+        long accounts = 0;
+        long entries = 0;
+        long netDifference = 0;
+        int failed = 0;
+        List<BalanceMismatch> mismatches = new ArrayList<>();
+        for (Future<Partition> partition : batchPool.invokeAll(tasks)) {
+            try {
+                Partition p = partition.get();
+                accounts += p.accounts();
+                entries += p.ledgerEntries();
+                netDifference += p.netDifference();
+                mismatches.addAll(p.mismatches());
+            } catch (ExecutionException e) {
+                failed++;
+                log.error("Partición de conciliación fallida ({}): {}", runKey, e.getCause().toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed++;
+            }
+        }
+        mismatches.sort(Comparator.comparingLong(BalanceMismatch::accountId));
+
+        long elapsed = System.nanoTime() - started;
+        Path file = reportDir.resolve("reconciliation-" + runKey + ".json");
+        ReconciliationReport report = new ReconciliationReport(runKey, failed == 0 ? BatchStatus.COMPLETED : BatchStatus.FAILED,
+                accounts, entries, mismatches.size(), Money.ofCents(netDifference), tasks.size(), failed,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), file.toString());
+        write(file, new ReportFile(report, mismatches));
+
+        lastAccounts.set(accounts);
+        lastMismatches.set(mismatches.size());
+        Timer.builder(METRIC_PREFIX).tag("status", report.status().name()).register(registry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Conciliación {}: {} cuentas, {} movimientos, {} diferencias ({}) en {} ms -> {}",
+                runKey, accounts, entries, mismatches.size(), report.netDifference(), report.elapsedMs(), file);
+        return report;
+    }
+
+    private Partition reconcile(long from, long to) {
+        return snapshot.execute(status -> {
+            // id -> {saldo inicial, saldo actual, neto del libro, movimientos}, en centavos
+            Map<Long, long[]> ledger = new HashMap<>();
+            jdbc.query("select id, opening_balance, balance from cuenta where id between ? and ?",
+                    rs -> {
+                        ledger.put(rs.getLong(1), new long[]{
+                                Money.of(rs.getBigDecimal(2)).toCents(), Money.of(rs.getBigDecimal(3)).toCents(), 0, 0});
+                    },
+                    from, to);
+            long[] entries = new long[1];
+            for (String table : archive.tables(null)) {
+                jdbc.query("select id_cuenta_destino, amount from " + table + " where id_cuenta_destino between ? and ?",
+                        rs -> {
+                            if (post(ledger, rs.getLong(1), Money.of(rs.getBigDecimal(2)).toCents())) {
+                                entries[0]++;
+                            }
+                        },
+                        from, to);
+                jdbc.query("select id_cuenta_origen, amount from " + table + " where id_cuenta_origen between ? and ?",
+                        rs -> {
+                            if (post(ledger, rs.getLong(1), -Money.of(rs.getBigDecimal(2)).toCents())) {
+                                entries[0]++;
+                            }
+                        },
+                        from, to);
+            }
+
+            List<BalanceMismatch> mismatches = new ArrayList<>();
+            long netDifference = 0;
+            for (Map.Entry<Long, long[]> account : ledger.entrySet()) {
+                long[] totals = account.getValue();
+                long expected = totals[0] + totals[2];
+                if (expected != totals[1]) {
+                    netDifference += totals[1] - expected;
+                    mismatches.add(new BalanceMismatch(account.getKey(), Money.ofCents(totals[0]), Money.ofCents(expected),
+                            Money.ofCents(totals[1]), Money.ofCents(totals[1] - expected), totals[3]));
+                }
+            }
+            return new Partition(ledger.size(), entries[0], netDifference, mismatches);
+        });
+    }
+
+    private static boolean post(Map<Long, long[]> ledger, long accountId, long cents) {
+        long[] totals = ledger.get(accountId);
+        if (totals == null) {
+            return false;
+        }
+        totals[2] += cents;
+        totals[3]++;
+        return true;
+    }
+
+    private void write(Path file, ReportFile content) {
+        try {
+            Files.createDirectories(file.getParent());
+            objectMapper.writeValue(file.toFile(), content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el reporte de conciliación " + file, e);
+        }
+    }
+
+    private record Partition(long accounts, long ledgerEntries, long netDifference, List<BalanceMismatch> mismatches) {
+    }
+
+    record ReportFile(ReconciliationReport summary, List<BalanceMismatch> mismatches) {
+    }
+}
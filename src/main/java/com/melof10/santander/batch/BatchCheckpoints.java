@@ -0,0 +1,32 @@
+package com.melof10.santander.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Committed chunks of each batch run ({@code lote_bloque}). {@link #record} must run inside the
+ * chunk's own transaction so the checkpoint and the chunk's writes commit or roll back together.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchCheckpoints {
+
+    private final JdbcTemplate jdbc;
+
+    public Map<Long, Long> committed(String job, String runKey) {
+        Map<Long, Long> chunks = new TreeMap<>();
+        jdbc.query("select chunk_start, chunk_end from lote_bloque where job = ? and run_key = ?",
+                rs -> { chunks.put(rs.getLong(1), rs.getLong(2)); }, job, runKey);
+        return chunks;
+    }
+
+    public void record(String job, String runKey, long chunkStart, long chunkEnd, int items) {
+        jdbc.update("insert into lote_bloque (job, run_key, chunk_start, chunk_end, items, committed_at) values (?, ?, ?, ?, ?, ?)",
+                job, runKey, chunkStart, chunkEnd, items, LocalDateTime.now());
+    }
+}
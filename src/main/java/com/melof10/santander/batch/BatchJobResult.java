@@ -0,0 +1,20 @@
+package com.melof10.santander.batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.melof10.santander.enums.BatchStatus;
+
+public record BatchJobResult(
+        String job,
+        String runKey,
+        BatchStatus status,
+        long items,
+        int chunks,
+        int skippedChunks,
+        int failedChunks,
+        long elapsedMs
+) {
+    @JsonProperty
+    public double itemsPerSecond() {
+        return elapsedMs == 0 ? items : items * 1000.0 / elapsedMs;
+    }
+}
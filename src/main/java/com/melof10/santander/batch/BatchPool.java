@@ -0,0 +1,41 @@
+package com.melof10.santander.batch;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+
+/**
+ * Fork-join pool shared by the batch jobs. Its parallelism has to stay below the Hikari pool, since
+ * each chunk holds a connection during its transaction. The pool is kept behind this holder instead
+ * of being a bean itself: an {@code Executor} bean makes Boot back off from creating
+ * {@code applicationTaskExecutor}, which MVC async handling relies on.
+ */
+@Component
+public class BatchPool implements DisposableBean {
+
+    private final ForkJoinPool pool;
+
+    public BatchPool(@Value("${santander.batch.parallelism}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism, fj -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(fj);
+            thread.setName("batch-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) {
+        return pool.invokeAll(tasks);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,232 @@
+package com.melof10.santander.batch;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.melof10.santander.controller.request.CustomerCreateRequest;
+import com.melof10.santander.exception.BusinessException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports customers from a CSV with a header row ({@code firstName,lastName,document,email,phone};
+ * email and phone are optional).
+ * <p>
+ * Rows are parsed one at a time and validated with the constraints of {@link CustomerCreateRequest}.
+ * Documents repeated in the file are rejected against an in-memory set; the valid rows are then
+ * checked against {@code cliente} with one {@code IN} query per batch and inserted with a JDBC
+ * batch in their own transaction. If a concurrent insert wins the race for a document, that batch
+ * is retried row by row so only the conflicting rows are rejected. Every rejected row is reported
+ * with its line and reason, up to {@code santander.batch.import.max-errors}.
+ */
+@Slf4j
+@Component
+public class CustomerCsvImporter {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("firstName", "lastName", "document");
+
+    private static final String INSERT =
+            "insert into cliente (first_name, last_name, document, email, phone, version) values (?, ?, ?, ?, ?, 0)";
+
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public CustomerCsvImporter(JdbcTemplate jdbc,
+                               NamedParameterJdbcTemplate namedJdbc,
+                               TransactionTemplate transactionTemplate,
+                               Validator validator,
+                               @Value("${santander.batch.import.batch-size}") int batchSize,
+                               @Value("${santander.batch.import.max-errors}") int maxErrors) {
+        this.jdbc = jdbc;
+        this.namedJdbc = namedJdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public CustomerImportResult importCsv(Reader source) {
+        long started = System.nanoTime();
+        Report report = new Report(maxErrors);
+        Set<String> seen = new HashSet<>();
+        List<Row> batch = new ArrayList<>(batchSize);
+        long line = 1;
+        try (MappingIterator<String[]> rows = csvMapper.readerFor(String[].class)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                .with(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .readValues(source)) {
+            if (!rows.hasNextValue()) {
+                throw new BusinessException("El CSV está vacío");
+            }
+            Map<String, Integer> columns = columns(rows.nextValue());
+            while (rows.hasNextValue()) {
+                // physical line where the record starts, so skipped empty lines and quoted line breaks count
+                line = rows.getCurrentLocation().getLineNr();
+                CustomerCreateRequest request = toRequest(rows.nextValue(), columns);
+                report.rows++;
+                String invalid = validate(request);
+                if (invalid != null) {
+                    report.reject(line, request.getDocument(), invalid);
+                } else if (!seen.add(request.getDocument())) {
+                    report.reject(line, request.getDocument(), "Documento repetido en el archivo");
+                } else {
+                    batch.add(new Row(line, request));
+                    if (batch.size() == batchSize) {
+                        flush(batch, report);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            report.error(line, null, "CSV mal formado, se detuvo la importación: " + e.getMessage());
+        }
+        flush(batch, report);
+
+        CustomerImportResult result = new CustomerImportResult(report.rows, report.imported, report.rejected,
+                List.copyOf(report.errors), report.truncated,
+                (System.nanoTime() - started) / 1_000_000);
+        log.info("Importación de clientes: {} filas, {} importadas, {} rechazadas en {} ms",
+                result.rows(), result.imported(), result.rejected(), result.elapsedMs());
+        return result;
+    }
+
+    private static Map<String, Integer> columns(String[] header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            String name = header[i].replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.put(name, i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column.toLowerCase(Locale.ROOT)))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new BusinessException("Faltan columnas en el CSV: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static CustomerCreateRequest toRequest(String[] values, Map<String, Integer> columns) {
+        return CustomerCreateRequest.builder()
+                .firstName(value(values, columns, "firstName"))
+                .lastName(value(values, columns, "lastName"))
+                .document(value(values, columns, "document"))
+                .email(value(values, columns, "email"))
+                .phone(value(values, columns, "phone"))
+                .build();
+    }
+
+    private static String value(String[] values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+        if (index == null || index >= values.length) {
+            return null;
+        }
+        String value = values[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private String validate(CustomerCreateRequest request) {
+        Set<ConstraintViolation<CustomerCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void flush(List<Row> batch, Report report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>(namedJdbc.queryForList(
+                "select document from cliente where document in (:documents)",
+                Map.of("documents", batch.stream().map(row -> row.request().getDocument()).toList()),
+                String.class));
+        List<Row> fresh = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            if (existing.contains(row.request().getDocument())) {
+                report.reject(row.line(), row.request().getDocument(), "El documento ya existe");
+            } else {
+                fresh.add(row);
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbc.batchUpdate(INSERT, fresh, fresh.size(), (ps, row) -> bind(ps, row.request())));
+            report.imported += fresh.size();
+        } catch (DataIntegrityViolationException e) {
+            for (Row row : fresh) {
+                try {
+                    jdbc.update(INSERT, ps -> bind(ps, row.request()));
+                    report.imported++;
+                } catch (DataIntegrityViolationException duplicate) {
+                    report.reject(row.line(), row.request().getDocument(), "El documento ya existe");
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private static void bind(PreparedStatement ps, CustomerCreateRequest request) throws SQLException {
+        ps.setString(1, request.getFirstName());
+        ps.setString(2, request.getLastName());
+        ps.setString(3, request.getDocument());
+        ps.setString(4, request.getEmail());
+        ps.setString(5, request.getPhone());
+    }
+
+    private record Row(long line, CustomerCreateRequest request) {
+    }
+
+    private static final class Report {
+
+        private final int maxErrors;
+        private final List<CustomerImportError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long rejected;
+        private boolean truncated;
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void reject(long line, String document, String reason) {
+            rejected++;
+            error(line, document, reason);
+        }
+
+        private void error(long line, String document, String reason) {
+            if (errors.size() < maxErrors) {
+                errors.add(new CustomerImportError(line, document, reason));
+            } else {
+                truncated = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.melof10.santander.batch;
+
+public record CustomerImportError(
+        long line,
+        String document,
+        String reason
+) {
+}
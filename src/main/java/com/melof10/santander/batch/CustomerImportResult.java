@@ -0,0 +1,19 @@
+package com.melof10.santander.batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record CustomerImportResult(
+        long rows,
+        long imported,
+        long rejected,
+        List<CustomerImportError> errors,
+        boolean errorsTruncated,
+        long elapsedMs
+) {
+    @JsonProperty
+    public double rowsPerSecond() {
+        return elapsedMs == 0 ? rows : rows * 1000.0 / elapsedMs;
+    }
+}
@@ -0,0 +1,47 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.service.ICustomerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line import: {@code java -jar santander.jar --santander.batch.import.customers-file=clientes.csv}
+ * imports the file, logs the rejected rows and exits with 0 when every row was imported, 1 otherwise.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("santander.batch.import.customers-file")
+@RequiredArgsConstructor
+public class CustomerImportRunner implements ApplicationRunner {
+
+    private final ICustomerService customerService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${santander.batch.import.customers-file}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        CustomerImportResult result;
+        try (Reader csv = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            result = customerService.importCsv(csv);
+        }
+        result.errors().forEach(error ->
+                log.warn("Línea {} ({}): {}", error.line(), error.document(), error.reason()));
+        int exitCode = result.rejected() == 0 && result.errors().isEmpty() ? 0 : 1;
+        System.exit(SpringApplication.exit(context, (ExitCodeGenerator) () -> exitCode));
+    }
+}
@@ -0,0 +1,157 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.enums.BatchStatus;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.readmodel.BalanceReadModel;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Posts one day of interest to every {@code CAJA_AHORRO} account with a positive balance.
+ * <p>
+ * The id space is cut into fixed-width ranges aligned to the chunk size; each range is a fork-join
+ * task that streams its accounts, computes the interest and, in one short transaction, batches the
+ * relative balance updates (bumping the account version), the {@code DEPOSITO} transactions and the
+ * chunk checkpoint, then refreshes those accounts in the balance read model. Rows are updated in
+ * id order (the same order transfers lock them) and only for the length of a chunk.
+ * Re-running a business date skips the chunks already committed, so a failed run resumes where it
+ * stopped and a finished one posts nothing twice.
+ */
+@Slf4j
+@Component
+public class InterestAccrualJob {
+
+    public static final String JOB = "interest-accrual";
+
+    private static final BigDecimal DAYS_PER_YEAR = BigDecimal.valueOf(365);
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchCheckpoints checkpoints;
+    private final BatchPool batchPool;
+    private final BalanceReadModel balanceReadModel;
+    private final BigDecimal annualRate;
+    private final int chunkSize;
+
+    public InterestAccrualJob(JdbcTemplate jdbc,
+                              TransactionTemplate transactionTemplate,
+                              BatchCheckpoints checkpoints,
+                              BatchPool batchPool,
+                              BalanceReadModel balanceReadModel,
+                              @Value("${santander.batch.interest.annual-rate}") BigDecimal annualRate,
+                              @Value("${santander.batch.chunk-size}") int chunkSize) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.checkpoints = checkpoints;
+        this.batchPool = batchPool;
+        this.balanceReadModel = balanceReadModel;
+        this.annualRate = annualRate;
+        this.chunkSize = chunkSize;
+    }
+
+    public BatchJobResult run(LocalDate businessDate) {
+        long started = System.nanoTime();
+        String runKey = businessDate.toString();
+        BigDecimal dailyRate = annualRate.divide(DAYS_PER_YEAR, MathContext.DECIMAL64);
+        Timestamp postedAt = Timestamp.valueOf(businessDate.atTime(LocalTime.of(23, 59, 59)));
+
+        Map<Long, Long> committed = checkpoints.committed(JOB, runKey);
+        long width = committed.isEmpty()
+                ? chunkSize
+                : committed.entrySet().iterator().next().getValue() - committed.keySet().iterator().next() + 1;
+
+        Long[] bounds = jdbc.queryForObject("select min(id), max(id) from cuenta where account_type = ?",
+                (rs, i) -> new Long[]{rs.getObject(1, Long.class), rs.getObject(2, Long.class)},
+                AccountType.CAJA_AHORRO.name());
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        int skipped = 0;
+        if (bounds != null && bounds[0] != null) {
+            ContextSnapshot context = ContextSnapshotFactory.builder().build().captureAll();
+            for (long start = bounds[0] / width * width; start <= bounds[1]; start += width) {
+                if (committed.containsKey(start)) {
+                    skipped++;
+                    continue;
+                }
+                long from = start;
+                long to = start + width - 1;
+                tasks.add(context.wrap(() -> accrueChunk(runKey, from, to, dailyRate, postedAt)));
+            }
+        }
+
+        long items = 0;
+        int failed = 0;
+        for (Future<Integer> chunk : batchPool.invokeAll(tasks)) {
+            try {
+                items += chunk.get();
+            } catch (ExecutionException e) {
+                failed++;
+                log.error("Bloque de intereses fallido ({}): {}", runKey, e.getCause().toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed++;
+            }
+        }
+
+        BatchJobResult result = new BatchJobResult(JOB, runKey, failed == 0 ? BatchStatus.COMPLETED : BatchStatus.FAILED,
+                items, tasks.size() + skipped, skipped, failed, (System.nanoTime() - started) / 1_000_000);
+        log.info("Intereses {}: {} cuentas, {} bloques ({} ya aplicados, {} fallidos) en {} ms",
+                runKey, items, result.chunks(), skipped, failed, result.elapsedMs());
+        return result;
+    }
+
+    private int accrueChunk(String runKey, long from, long to, BigDecimal dailyRate, Timestamp postedAt) {
+        List<long[]> posted = transactionTemplate.execute(status -> {
+            List<long[]> accruals = new ArrayList<>();
+            jdbc.query("select id, balance from cuenta where account_type = ? and id between ? and ? and balance > 0 and deleted_at is null order by id",
+                    rs -> {
+                        long interest = interestCents(Money.of(rs.getBigDecimal(2)).toCents(), dailyRate);
+                        if (interest > 0) {
+                            accruals.add(new long[]{rs.getLong(1), interest});
+                        }
+                    },
+                    AccountType.CAJA_AHORRO.name(), from, to);
+
+            jdbc.batchUpdate("update cuenta set balance = balance + ?, version = version + 1 where id = ?", accruals, accruals.size(),
+                    (ps, accrual) -> {
+                        ps.setBigDecimal(1, Money.ofCents(accrual[1]).toBigDecimal());
+                        ps.setLong(2, accrual[0]);
+                    });
+            jdbc.batchUpdate("insert into transaccion (date, amount, type, id_cuenta_destino) values (?, ?, ?, ?)",
+                    accruals, accruals.size(),
+                    (ps, accrual) -> {
+                        ps.setTimestamp(1, postedAt);
+                        ps.setBigDecimal(2, Money.ofCents(accrual[1]).toBigDecimal());
+                        ps.setString(3, TransactionType.DEPOSITO.name());
+                        ps.setLong(4, accrual[0]);
+                    });
+            checkpoints.record(JOB, runKey, from, to, accruals.size());
+            return accruals;
+        });
+        balanceReadModel.refresh(posted.stream().map(accrual -> accrual[0]).toList());
+        return posted.size();
+    }
+
+    static long interestCents(long balanceCents, BigDecimal dailyRate) {
+        return BigDecimal.valueOf(balanceCents).multiply(dailyRate).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+    }
+}
@@ -0,0 +1,184 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.enums.BatchStatus;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.TransactionArchive;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Writes the statement of every account with movements in a month.
+ * <p>
+ * All the month's movements are read in one streaming query ordered by account and date; a
+ * transfer appears once as a debit of its source and once as a credit of its destination. Only the
+ * current account's lines are accumulated: when the account changes its statement is handed to a
+ * fixed writer pool with a bounded queue, and when the queue is full the reading thread writes it
+ * itself. Memory therefore depends on the busiest account and the queue size, not on how many
+ * accounts there are. Files go to {@code <output-dir>/<yyyy-MM>/<id / 1000>/<id>.<ext>}.
+ */
+@Slf4j
+@Component
+public class MonthlyStatementJob {
+
+    public static final String JOB = "monthly-statements";
+
+    private static final String MOVEMENTS = """
+            select t.id_cuenta_origen, c.account_number, t.id, t.date, t.type, -t.amount
+            from %1$s t join cuenta c on c.id = t.id_cuenta_origen
+            where t.date >= ? and t.date < ? and c.deleted_at is null
+            union all
+            select t.id_cuenta_destino, c.account_number, t.id, t.date, t.type, t.amount
+            from %1$s t join cuenta c on c.id = t.id_cuenta_destino
+            where t.date >= ? and t.date < ? and c.deleted_at is null
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate readOnly;
+    private final TransactionArchive archive;
+    private final Path outputDir;
+    private final List<StatementFormat> formats;
+    private final int writers;
+    private final int queueCapacity;
+
+    public MonthlyStatementJob(JdbcTemplate jdbc,
+                               PlatformTransactionManager transactionManager,
+                               TransactionArchive archive,
+                               @Value("${santander.batch.statements.output-dir}") Path outputDir,
+                               @Value("${santander.batch.statements.formats}") List<StatementFormat> formats,
+                               @Value("${santander.batch.statements.writers}") int writers,
+                               @Value("${santander.batch.statements.queue-capacity}") int queueCapacity,
+                               @Value("${santander.batch.chunk-size}") int fetchSize) {
+        this.jdbc = new JdbcTemplate(jdbc.getDataSource());
+        this.jdbc.setFetchSize(fetchSize);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.archive = archive;
+        this.outputDir = outputDir;
+        this.formats = List.copyOf(formats);
+        this.writers = writers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public StatementRunResult run(YearMonth period) {
+        long started = System.nanoTime();
+        Path dir = outputDir.resolve(period.toString());
+        Timestamp from = Timestamp.valueOf(period.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(period.plusMonths(1).atDay(1).atStartOfDay());
+
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(writers, writers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> new Thread(task, "statement-writer-" + threads.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        AtomicLong files = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        StatementCursor cursor = new StatementCursor(period, statement -> pool.execute(() -> write(dir, statement, files, failed)));
+        boolean interrupted = false;
+        try {
+            readOnly.executeWithoutResult(status -> {
+                if (archive.reaches(from.toLocalDateTime())) {
+                    jdbc.query(MOVEMENTS.formatted(TransactionArchive.HOT) + "union all\n"
+                            + MOVEMENTS.formatted(TransactionArchive.COLD) + "order by 1, 4, 3", cursor,
+                            from, to, from, to, from, to, from, to);
+                } else {
+                    jdbc.query(MOVEMENTS.formatted(TransactionArchive.HOT) + "order by 1, 4, 3", cursor, from, to, from, to);
+                }
+                cursor.flush();
+            });
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+            }
+        }
+
+        StatementRunResult result = new StatementRunResult(period,
+                failed.get() == 0 && !interrupted ? BatchStatus.COMPLETED : BatchStatus.FAILED,
+                cursor.accounts, cursor.lines, files.get(), failed.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), dir.toString());
+        log.info("Resúmenes {}: {} cuentas, {} movimientos, {} archivos ({} cuentas fallidas) en {} ms ({} cuentas/s)",
+                period, result.accounts(), result.transactions(), result.files(), result.failedAccounts(),
+                result.elapsedMs(), Math.round(result.accountsPerSecond()));
+        return result;
+    }
+
+    private void write(Path dir, Statement statement, AtomicLong files, AtomicLong failed) {
+        try {
+            Path shard = Files.createDirectories(dir.resolve(Long.toString(statement.accountId() / 1000)));
+            for (StatementFormat format : formats) {
+                try (OutputStream out = new BufferedOutputStream(
+                        Files.newOutputStream(shard.resolve(statement.accountId() + "." + format.extension())))) {
+                    format.write(statement, out);
+                }
+                files.incrementAndGet();
+            }
+        } catch (IOException e) {
+            failed.incrementAndGet();
+            log.warn("No se pudo escribir el resumen de la cuenta {}: {}", statement.accountId(), e.toString());
+        }
+    }
+
+    private static final class StatementCursor implements RowCallbackHandler {
+
+        private final YearMonth period;
+        private final Consumer<Statement> sink;
+        private long accountId = -1;
+        private String accountNumber;
+        private List<StatementLine> current = new ArrayList<>();
+        private long accounts;
+        private long lines;
+
+        private StatementCursor(YearMonth period, Consumer<Statement> sink) {
+            this.period = period;
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            if (id != accountId) {
+                flush();
+                accountId = id;
+                accountNumber = rs.getString(2);
+            }
+            current.add(new StatementLine(rs.getLong(3), rs.getTimestamp(4).toLocalDateTime(),
+                    TransactionType.valueOf(rs.getString(5)), Money.of(rs.getBigDecimal(6))));
+            lines++;
+        }
+
+        private void flush() {
+            if (!current.isEmpty()) {
+                sink.accept(new Statement(accountId, accountNumber, period, current));
+                accounts++;
+                current = new ArrayList<>();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.melof10.santander.batch;
+
+public record PurgeResult(
+        long customers,
+        long accounts,
+        long cards,
+        long transactions,
+        long detachedTransactions,
+        long elapsedMs
+) {
+}
@@ -0,0 +1,23 @@
+package com.melof10.santander.batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.melof10.santander.enums.BatchStatus;
+import com.melof10.santander.money.Money;
+
+public record ReconciliationReport(
+        String runKey,
+        BatchStatus status,
+        long accounts,
+        long ledgerEntries,
+        long mismatches,
+        Money netDifference,
+        int partitions,
+        int failedPartitions,
+        long elapsedMs,
+        String reportFile
+) {
+    @JsonProperty
+    public double accountsPerSecond() {
+        return elapsedMs == 0 ? accounts : accounts * 1000.0 / elapsedMs;
+    }
+}
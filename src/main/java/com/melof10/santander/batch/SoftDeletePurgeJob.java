@@ -0,0 +1,123 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.repository.TransactionArchive;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Physically removes the customers, accounts and cards marked with {@code deleted_at}.
+ * <p>
+ * A delete request only sets the marker, which hides the rows from the API at once. This job then
+ * deletes them bottom-up (the transactions of each account, hot and archived, the accounts, the
+ * cards and finally the customers left without children) with set-based statements of at most
+ * {@code santander.batch.purge.chunk-size} rows, each in its own short transaction, so no entity is
+ * loaded and no lock is held for longer than a chunk.
+ * <p>
+ * A transfer whose other side is an account that stays is not deleted: it is still part of that
+ * account's balance, so only the purged side is set to null and the row stays in the ledger.
+ */
+@Slf4j
+@Component
+public class SoftDeletePurgeJob {
+
+    public static final String JOB = "soft-delete-purge";
+
+    private static final String METRIC_PREFIX = "santander.batch.purge";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+    private final int chunkSize;
+
+    public SoftDeletePurgeJob(NamedParameterJdbcTemplate jdbc,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry registry,
+                              @Value("${santander.batch.purge.chunk-size}") int chunkSize) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.registry = registry;
+        this.chunkSize = chunkSize;
+    }
+
+    public synchronized PurgeResult run() {
+        long started = System.nanoTime();
+        long transactions = 0;
+        long detached = 0;
+        long accounts = 0;
+        for (List<Long> ids = ids("cuenta", "deleted_at is not null", Map.of());
+             !ids.isEmpty();
+             ids = ids("cuenta", "deleted_at is not null", Map.of())) {
+            Map<String, List<Long>> params = Map.of("accounts", ids);
+            for (String ledger : List.of(TransactionArchive.HOT, TransactionArchive.COLD)) {
+                detached += detach(ledger, "id_cuenta_origen", "id_cuenta_destino", params);
+                detached += detach(ledger, "id_cuenta_destino", "id_cuenta_origen", params);
+                transactions += purge(ledger, "id_cuenta_origen in (:accounts) or id_cuenta_destino in (:accounts)", params);
+            }
+            accounts += purge("cuenta", "id in (:accounts)", Map.of("accounts", ids));
+        }
+        long cards = purge("tarjeta", "deleted_at is not null", Map.of());
+        long customers = purge("cliente", """
+                deleted_at is not null
+                and not exists (select 1 from cuenta a where a.id_cliente = cliente.id)
+                and not exists (select 1 from tarjeta t where t.id_cliente = cliente.id)""", Map.of());
+
+        long elapsed = System.nanoTime() - started;
+        PurgeResult result = new PurgeResult(customers, accounts, cards, transactions, detached,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+        Timer.builder(METRIC_PREFIX).register(registry).record(elapsed, TimeUnit.NANOSECONDS);
+        count("cliente", customers);
+        count("cuenta", accounts);
+        count("tarjeta", cards);
+        count("transaccion", transactions);
+        if (customers + accounts + cards + transactions + detached > 0) {
+            log.info("Purga de bajas: {} clientes, {} cuentas, {} tarjetas, {} movimientos ({} conservados sin la cuenta purgada) en {} ms",
+                    customers, accounts, cards, transactions, detached, result.elapsedMs());
+        }
+        return result;
+    }
+
+    private long purge(String table, String where, Map<String, ?> params) {
+        return inChunks(table, where, params, "delete from " + table + " where id in (:ids)");
+    }
+
+    private long detach(String ledger, String purgedSide, String otherSide, Map<String, ?> params) {
+        return inChunks(ledger,
+                purgedSide + " in (:accounts) and " + otherSide + " is not null and " + otherSide + " not in (:accounts)",
+                params, "update " + ledger + " set " + purgedSide + " = null where id in (:ids)");
+    }
+
+    private long inChunks(String table, String where, Map<String, ?> params, String statement) {
+        long changed = 0;
+        while (true) {
+            Integer rows = transactionTemplate.execute(status -> {
+                List<Long> ids = ids(table, where, params);
+                return ids.isEmpty() ? 0 : jdbc.update(statement, Map.of("ids", ids));
+            });
+            if (rows == null || rows == 0) {
+                return changed;
+            }
+            changed += rows;
+        }
+    }
+
+    private List<Long> ids(String table, String where, Map<String, ?> params) {
+        Map<String, Object> args = new HashMap<>(params);
+        args.put("limit", chunkSize);
+        return jdbc.queryForList("select id from " + table + " where " + where + " limit :limit", args, Long.class);
+    }
+
+    private void count(String table, long rows) {
+        Counter.builder(METRIC_PREFIX + ".rows").tag("table", table).register(registry).increment(rows);
+    }
+}
@@ -0,0 +1,21 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.money.Money;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public record Statement(
+        long accountId,
+        String accountNumber,
+        YearMonth period,
+        List<StatementLine> lines
+) {
+    public Money credits() {
+        return lines.stream().map(StatementLine::amount).filter(Money::isPositive).reduce(Money.ZERO, Money::plus);
+    }
+
+    public Money debits() {
+        return lines.stream().map(StatementLine::amount).filter(m -> m.signum() < 0).reduce(Money.ZERO, Money::plus);
+    }
+}
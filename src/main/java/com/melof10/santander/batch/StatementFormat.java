@@ -0,0 +1,95 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
+
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * File formats of the monthly statements.
+ * <p>
+ * {@link #BINARY} layout (big-endian, {@link DataOutputStream}): magic {@code STM1}, account id
+ * (long), account number (modified UTF-8), period as {@code yyyyMM} (int), line count (int), then
+ * per line transaction id (long), epoch second UTC (long), type ordinal (byte) and signed cents (long).
+ */
+public enum StatementFormat {
+
+    CSV("csv") {
+        @Override
+        public void write(Statement statement, OutputStream out) throws IOException {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write("account_number,date,transaction_id,type,amount\n");
+            for (StatementLine line : statement.lines()) {
+                writer.write(statement.accountNumber() + ',' + line.date() + ',' + line.transactionId() + ','
+                        + line.type() + ',' + line.amount() + '\n');
+            }
+            writer.flush();
+        }
+    },
+
+    BINARY("stmt") {
+        @Override
+        public void write(Statement statement, OutputStream out) throws IOException {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(MAGIC);
+            data.writeLong(statement.accountId());
+            data.writeUTF(statement.accountNumber());
+            data.writeInt(statement.period().getYear() * 100 + statement.period().getMonthValue());
+            data.writeInt(statement.lines().size());
+            for (StatementLine line : statement.lines()) {
+                data.writeLong(line.transactionId());
+                data.writeLong(line.date().toEpochSecond(ZoneOffset.UTC));
+                data.writeByte(line.type().ordinal());
+                data.writeLong(line.amount().toCents());
+            }
+            data.flush();
+        }
+    };
+
+    private static final int MAGIC = 0x53544D31;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final String extension;
+
+    StatementFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public abstract void write(Statement statement, OutputStream out) throws IOException;
+
+    public static Statement readBinary(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("No es un resumen binario (STM1)");
+        }
+        long accountId = data.readLong();
+        String accountNumber = data.readUTF();
+        int period = data.readInt();
+        int size = data.readInt();
+        List<StatementLine> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lines.add(new StatementLine(
+                    data.readLong(),
+                    LocalDateTime.ofEpochSecond(data.readLong(), 0, ZoneOffset.UTC),
+                    TYPES[data.readByte()],
+                    Money.ofCents(data.readLong())));
+        }
+        return new Statement(accountId, accountNumber, YearMonth.of(period / 100, period % 100), lines);
+    }
+}
@@ -0,0 +1,15 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
+
+import java.time.LocalDateTime;
+
+/** One movement of a statement; {@code amount} is negative for debits. */
+public record StatementLine(
+        long transactionId,
+        LocalDateTime date,
+        TransactionType type,
+        Money amount
+) {
+}
@@ -0,0 +1,22 @@
+package com.melof10.santander.batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.melof10.santander.enums.BatchStatus;
+
+import java.time.YearMonth;
+
+public record StatementRunResult(
+        YearMonth period,
+        BatchStatus status,
+        long accounts,
+        long transactions,
+        long files,
+        long failedAccounts,
+        long elapsedMs,
+        String outputDir
+) {
+    @JsonProperty
+    public double accountsPerSecond() {
+        return elapsedMs == 0 ? accounts : accounts * 1000.0 / elapsedMs;
+    }
+}
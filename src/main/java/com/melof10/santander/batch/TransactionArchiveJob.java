@@ -0,0 +1,99 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.repository.TransactionArchive;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves the transactions dated before a cutoff from {@code transaccion} to
+ * {@code transaccion_archivo}, keeping their ids.
+ * <p>
+ * Each chunk of {@code santander.batch.archive.batch-size} rows is copied and deleted in one short
+ * transaction, so a row is always in exactly one of the two tables and a failed run just leaves
+ * the rest for the next one. The archive horizon is extended to the cutoff before the first chunk
+ * moves, so readers whose range reaches the cutoff already look at both tables.
+ */
+@Slf4j
+@Component
+public class TransactionArchiveJob {
+
+    public static final String JOB = "transaction-archive";
+
+    private static final String METRIC_PREFIX = "santander.batch.archive";
+    private static final String COLUMNS = "id, date, amount, type, id_cuenta_origen, id_cuenta_destino";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionArchive archive;
+    private final MeterRegistry registry;
+    private final int batchSize;
+    private final int retentionDays;
+
+    public TransactionArchiveJob(NamedParameterJdbcTemplate jdbc,
+                                 TransactionTemplate transactionTemplate,
+                                 TransactionArchive archive,
+                                 MeterRegistry registry,
+                                 @Value("${santander.batch.archive.batch-size}") int batchSize,
+                                 @Value("${santander.batch.archive.retention-days}") int retentionDays) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.archive = archive;
+        this.registry = registry;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+    }
+
+    /** Start of the oldest day still kept in the hot table. */
+    public LocalDateTime defaultCutoff() {
+        return LocalDate.now().minusDays(retentionDays).atStartOfDay();
+    }
+
+    public synchronized ArchiveResult run(LocalDateTime cutoff) {
+        long started = System.nanoTime();
+        archive.extendTo(cutoff);
+
+        long archived = 0;
+        int chunks = 0;
+        int moved;
+        while ((moved = moveChunk(cutoff)) > 0) {
+            archived += moved;
+            chunks++;
+        }
+
+        long elapsed = System.nanoTime() - started;
+        ArchiveResult result = new ArchiveResult(cutoff, archived, chunks, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        Timer.builder(METRIC_PREFIX).register(registry).record(elapsed, TimeUnit.NANOSECONDS);
+        Counter.builder(METRIC_PREFIX + ".rows").register(registry).increment(archived);
+        log.info("Archivo de movimientos anteriores a {}: {} filas en {} bloques, {} ms ({} filas/s)",
+                cutoff, archived, chunks, result.elapsedMs(), Math.round(result.rowsPerSecond()));
+        return result;
+    }
+
+    private int moveChunk(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbc.queryForList(
+                    "select id from " + TransactionArchive.HOT + " where date < :cutoff order by id limit :limit",
+                    new MapSqlParameterSource("cutoff", cutoff).addValue("limit", batchSize), Long.class);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", ids).addValue("archivedAt", LocalDateTime.now());
+            jdbc.update("insert into " + TransactionArchive.COLD + " (" + COLUMNS + ", archived_at) select " + COLUMNS
+                    + ", :archivedAt from " + TransactionArchive.HOT + " where id in (:ids)", params);
+            return jdbc.update("delete from " + TransactionArchive.HOT + " where id in (:ids)", params);
+        });
+        return moved != null ? moved : 0;
+    }
+}
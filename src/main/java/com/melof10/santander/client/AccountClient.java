@@ -1,37 +1,190 @@
 package com.melof10.santander.client;
 
 import com.melof10.santander.entity.Account;
-import lombok.RequiredArgsConstructor;
+import com.melof10.santander.jfr.AccountClientCallEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Component
-@RequiredArgsConstructor
 public class AccountClient {
 
+    private static final String METRIC_PREFIX = "santander.account.client";
+    private static final String BY_ID = "byId";
+    private static final String BULK = "bulk";
+
     private final WebClient webClient;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration hedgeDelay;
+    private final int bulkChunkSize;
+
+    private final ConcurrentMap<Long, Mono<Optional<Account>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<String, Timer>> requestTimers;
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+    private final Counter coalescedHits;
+    private final Counter coalescedMisses;
+
+    public AccountClient(WebClient webClient,
+                         Bulkhead accountClientBulkhead,
+                         CircuitBreaker accountClientCircuitBreaker,
+                         @Value("${santander.api.client.hedge-delay-ms}") long hedgeDelayMs,
+                         MeterRegistry registry,
+                         @Value("${santander.api.client.bulk-chunk-size}") int bulkChunkSize) {
+        this.webClient = webClient;
+        this.bulkhead = accountClientBulkhead;
+        this.circuitBreaker = accountClientCircuitBreaker;
+        this.hedgeDelay = Duration.ofMillis(hedgeDelayMs);
+        this.bulkChunkSize = bulkChunkSize;
+
+        this.requestTimers = Map.of(BY_ID, requestTimers(registry, BY_ID), BULK, requestTimers(registry, BULK));
+        this.hedgesFired = Counter.builder(METRIC_PREFIX + ".hedges").tag("result", "fired").register(registry);
+        this.hedgesWon = Counter.builder(METRIC_PREFIX + ".hedges").tag("result", "won").register(registry);
+        this.coalescedHits = Counter.builder(METRIC_PREFIX + ".coalesced").tag("result", "hit").register(registry);
+        this.coalescedMisses = Counter.builder(METRIC_PREFIX + ".coalesced").tag("result", "miss").register(registry);
+        Gauge.builder(METRIC_PREFIX + ".bulkhead.available", bulkhead, Bulkhead::getAvailablePermits).register(registry);
+        Gauge.builder(METRIC_PREFIX + ".circuit.state", circuitBreaker, cb -> cb.getState().ordinal()).register(registry);
+        Gauge.builder(METRIC_PREFIX + ".circuit.failure.rate", circuitBreaker, CircuitBreaker::getFailureRate).register(registry);
+        Gauge.builder(METRIC_PREFIX + ".inflight", inFlight, ConcurrentMap::size).register(registry);
+    }
+
+    public Mono<Account> findAccountById(Long id) {
+        Mono<Optional<Account>> shared = inFlight.get(id);
+        if (shared != null) {
+            coalescedHits.increment();
+        } else {
+            coalescedMisses.increment();
+            shared = inFlight.computeIfAbsent(id, this::fetchById);
+        }
+        return shared.flatMap(Mono::justOrEmpty);
+    }
 
-    @Value("${santander.api.base-url}")
-    private String baseUrl;
+    public Flux<Account> findAccountsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i += bulkChunkSize) {
+            chunks.add(distinct.subList(i, Math.min(i + bulkChunkSize, distinct.size())));
+        }
+        return Flux.fromIterable(chunks)
+                .concatMap(chunk -> hedged(() -> resilient(BULK, fetchByIds(chunk).collectList()))
+                        .flatMapIterable(accounts -> accounts));
+    }
 
     public Optional<Account> getAccountById(Long id) {
-        try {
-            return webClient
-                    .get()
-                    .uri(baseUrl + "/{id}", id)
-                    .retrieve()
-                    .bodyToMono(Account.class)
-                    .blockOptional();
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                return Optional.empty();
-            }
-            throw e;
+        return findAccountById(id).blockOptional();
+    }
+
+    public List<Account> getAccountsByIds(Collection<Long> ids) {
+        return findAccountsByIds(ids).collectList().block();
+    }
+
+    private Mono<Optional<Account>> fetchById(Long id) {
+        Mono<Optional<Account>> call = webClient
+                .get()
+                .uri("/{id}", id)
+                .retrieve()
+                .bodyToMono(Account.class)
+                .map(Optional::of)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(Optional.empty()))
+                .defaultIfEmpty(Optional.empty());
+
+        // Removes only this call: a newer one may already be registered under the same id
+        AtomicReference<Mono<Optional<Account>>> self = new AtomicReference<>();
+        Mono<Optional<Account>> shared = hedged(() -> resilient(BY_ID, call))
+                .doFinally(signal -> inFlight.remove(id, self.get()))
+                .cache();
+        self.set(shared);
+        return shared;
+    }
+
+    private Flux<Account> fetchByIds(List<Long> ids) {
+        return webClient
+                .get()
+                .uri(uri -> uri.queryParam("ids", ids).build())
+                .retrieve()
+                .bodyToFlux(Account.class);
+    }
+
+    private <T> Mono<T> hedged(Supplier<Mono<T>> attempt) {
+        if (hedgeDelay.isZero()) {
+            return attempt.get();
         }
+        Mono<T> hedge = Mono.defer(() -> {
+                    hedgesFired.increment();
+                    return attempt.get();
+                })
+                .delaySubscription(hedgeDelay)
+                .doOnNext(value -> hedgesWon.increment());
+        return Mono.firstWithValue(attempt.get(), hedge)
+                .onErrorMap(NoSuchElementException.class,
+                        e -> e.getCause() == null ? e : Exceptions.unwrapMultiple(e.getCause()).get(0));
+    }
+
+    private <T> Mono<T> resilient(String operation, Mono<T> call) {
+        Map<String, Timer> timers = requestTimers.get(operation);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AccountClientCallEvent event = new AccountClientCallEvent();
+            event.begin();
+            return circuitBreaker.decorate(bulkhead.decorate(call))
+                    .doFinally(signal -> {
+                        String outcome = outcome(signal);
+                        timers.get(outcome).record(Duration.ofNanos(System.nanoTime() - start));
+                        event.end();
+                        if (event.shouldCommit()) {
+                            event.operation = operation;
+                            event.outcome = outcome;
+                            event.commit();
+                        }
+                    });
+        });
+    }
+
+    private static Map<String, Timer> requestTimers(MeterRegistry registry, String operation) {
+        Map<String, Timer> timers = new HashMap<>();
+        for (String outcome : List.of("success", "error", "cancelled")) {
+            timers.put(outcome, Timer.builder(METRIC_PREFIX + ".requests")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+        return timers;
+    }
+
+    // doFinally only ever sees ON_COMPLETE, ON_ERROR or CANCEL
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "success";
+            case ON_ERROR -> "error";
+            default -> "cancelled";
+        };
     }
 }
@@ -0,0 +1,36 @@
+package com.melof10.santander.client;
+
+import com.melof10.santander.exception.UpstreamUnavailableException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.Semaphore;
+
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final Semaphore permits;
+
+    public Bulkhead(String name, int maxConcurrentCalls) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    public <T> Mono<T> decorate(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!permits.tryAcquire()) {
+                return Mono.error(new UpstreamUnavailableException("Bulkhead lleno: " + name));
+            }
+            return call.doFinally(signal -> permits.release());
+        });
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+}
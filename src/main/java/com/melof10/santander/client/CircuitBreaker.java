@@ -0,0 +1,173 @@
+package com.melof10.santander.client;
+
+import com.melof10.santander.exception.UpstreamUnavailableException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Count-based circuit breaker: the failure rate is computed over the last {@code windowSize}
+ * calls and, once it reaches the threshold, calls are rejected for {@code openDuration}. After
+ * that a limited number of probe calls decide whether to close again or stay open. Each permit
+ * remembers the half-open round it was a probe for, so calls admitted earlier (while closed, or as
+ * probes of a previous round) neither free probe slots nor decide the outcome of the current round.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    static final int DENIED = -1;
+    static final int NOT_A_PROBE = 0;
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final Predicate<Throwable> recordFailure;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] window;
+    private int position;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenRound;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                          Duration openDuration, int halfOpenProbes, Predicate<Throwable> recordFailure) {
+        this(name, windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenProbes, recordFailure, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                   Duration openDuration, int halfOpenProbes, Predicate<Throwable> recordFailure, LongSupplier nanoClock) {
+        this.name = name;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.recordFailure = recordFailure;
+        this.nanoClock = nanoClock;
+    }
+
+    public <T> Mono<T> decorate(Mono<T> call) {
+        return Mono.defer(() -> {
+            int permit = tryAcquirePermission();
+            if (permit == DENIED) {
+                return Mono.error(new UpstreamUnavailableException("Circuito abierto: " + name));
+            }
+            return call
+                    .doOnSuccess(value -> onSuccess(permit))
+                    .doOnError(error -> {
+                        if (recordFailure.test(error)) {
+                            onFailure(permit);
+                        } else {
+                            onSuccess(permit);
+                        }
+                    })
+                    .doOnCancel(() -> onCancel(permit));
+        });
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && openElapsed()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized float getFailureRate() {
+        return recorded == 0 ? 0f : failures * 100f / recorded;
+    }
+
+    /** {@link #DENIED}, {@link #NOT_A_PROBE} or the half-open round the call is a probe for. */
+    synchronized int tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return NOT_A_PROBE;
+        }
+        if (state == State.OPEN) {
+            if (!openElapsed()) {
+                return DENIED;
+            }
+            state = State.HALF_OPEN;
+            halfOpenRound++;
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+        if (probesInFlight < halfOpenProbes) {
+            probesInFlight++;
+            return halfOpenRound;
+        }
+        return DENIED;
+    }
+
+    synchronized void onSuccess(int permit) {
+        if (state == State.HALF_OPEN) {
+            if (isCurrentProbe(permit)) {
+                probesInFlight--;
+                if (++probeSuccesses >= halfOpenProbes) {
+                    close();
+                }
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure(int permit) {
+        if (state == State.HALF_OPEN) {
+            if (isCurrentProbe(permit)) {
+                open();
+            }
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+                open();
+            }
+        }
+    }
+
+    synchronized void onCancel(int permit) {
+        if (state == State.HALF_OPEN && isCurrentProbe(permit)) {
+            probesInFlight--;
+        }
+    }
+
+    private boolean isCurrentProbe(int permit) {
+        return permit != NOT_A_PROBE && permit == halfOpenRound;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[position]) failures--;
+        } else {
+            recorded++;
+        }
+        window[position] = failure;
+        if (failure) failures++;
+        position = (position + 1) % window.length;
+    }
+
+    private boolean openElapsed() {
+        return nanoClock.getAsLong() - openedAt >= openDurationNanos;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
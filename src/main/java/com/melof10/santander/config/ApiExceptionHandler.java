@@ -2,9 +2,14 @@ package com.melof10.santander.config;
 
 import com.melof10.santander.controller.response.ErrorResponse;
 import com.melof10.santander.exception.BusinessException;
+import com.melof10.santander.exception.InvalidFieldsException;
 import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.exception.PreconditionFailedException;
+import com.melof10.santander.exception.UpstreamUnavailableException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -43,6 +48,53 @@ public class ApiExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUpstreamUnavailable(UpstreamUnavailableException ex, HttpServletRequest req) {
+        ErrorResponse body = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                ex.getMessage(),
+                req.getRequestURI(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFields(InvalidFieldsException ex, HttpServletRequest req) {
+        return errorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), req, ex.getAllowed());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(PreconditionFailedException ex, HttpServletRequest req) {
+        return errorResponse(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), req);
+    }
+
+    // Another writer committed between our read and our flush: a stale If-Match as well, or a plain conflict without one.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex, HttpServletRequest req) {
+        HttpStatus status = req.getHeader(HttpHeaders.IF_MATCH) != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return errorResponse(status, "El recurso fue modificado por otra operación", req);
+    }
+
+    private ResponseEntity<ErrorResponse> errorResponse(HttpStatus status, String message, HttpServletRequest req) {
+        return errorResponse(status, message, req, null);
+    }
+
+    private ResponseEntity<ErrorResponse> errorResponse(HttpStatus status, String message, HttpServletRequest req,
+                                                        List<String> details) {
+        ErrorResponse body = new ErrorResponse(
+                Instant.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                req.getRequestURI(),
+                details
+        );
+        return ResponseEntity.status(status).body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleUnexpected(Exception ex, HttpServletRequest req) {
         ErrorResponse body = new ErrorResponse(
@@ -0,0 +1,9 @@
+package com.melof10.santander.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class BatchConfig {
+}
@@ -0,0 +1,103 @@
+package com.melof10.santander.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitterReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBodyReturnValueHandler;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams the {@link Flux} results of the /api/v2 exports as CBOR or Smile. Spring MVC only streams
+ * a {@code Flux} as NDJSON or SSE and collects it into a list for any other type; here the elements
+ * are written into one open-ended array as they are read, so a large statement needs no more memory
+ * in a binary format than in NDJSON. Any other type goes to the handler Spring registered.
+ */
+final class BinaryFluxReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    private final List<AbstractJackson2HttpMessageConverter> converters;
+    private final HandlerMethodReturnValueHandler fallback;
+    private final StreamingResponseBodyReturnValueHandler streaming = new StreamingResponseBodyReturnValueHandler();
+
+    private BinaryFluxReturnValueHandler(List<AbstractJackson2HttpMessageConverter> converters,
+                                         HandlerMethodReturnValueHandler fallback) {
+        this.converters = converters;
+        this.fallback = fallback;
+    }
+
+    /** Puts the handler ahead of the built-in ones, which would otherwise claim every {@code Flux}. */
+    static void register(RequestMappingHandlerAdapter adapter, AbstractJackson2HttpMessageConverter... converters) {
+        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+        HandlerMethodReturnValueHandler fallback = handlers.stream()
+                .filter(ResponseBodyEmitterReturnValueHandler.class::isInstance)
+                .findFirst()
+                .orElseThrow();
+        handlers.add(0, new BinaryFluxReturnValueHandler(List.of(converters), fallback));
+        adapter.setReturnValueHandlers(handlers);
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return Flux.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+        AbstractJackson2HttpMessageConverter converter = returnValue == null ? null : preferred(webRequest);
+        if (converter == null) {
+            fallback.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+            return;
+        }
+        Flux<?> items = (Flux<?>) returnValue;
+        ObjectWriter writer = converter.getObjectMapper().writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Closing the stream cancels the Flux, so a failed write (client gone) releases the R2DBC connection
+        StreamingResponseBody body = out -> {
+            try (Stream<?> stream = items.toStream();
+                 SequenceWriter array = writer.writeValuesAsArray(out)) {
+                Iterator<?> it = stream.iterator();
+                while (it.hasNext()) {
+                    array.write(it.next());
+                }
+            }
+        };
+        webRequest.getNativeResponse(HttpServletResponse.class)
+                .setContentType(converter.getSupportedMediaTypes().get(0).toString());
+        streaming.handleReturnValue(body, returnType, mavContainer, webRequest);
+    }
+
+    /** The binary converter for the type the client ranks first, or {@code null} if that is not CBOR or Smile. */
+    private AbstractJackson2HttpMessageConverter preferred(NativeWebRequest webRequest) {
+        String[] accept = webRequest.getHeaderValues(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return null;
+        }
+        List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(Arrays.asList(accept)));
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        MediaType first = accepted.isEmpty() ? null : accepted.get(0);
+        return first == null ? null : converters.stream()
+                .filter(c -> c.getSupportedMediaTypes().stream().anyMatch(first::equalsTypeAndSubtype))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,43 @@
+package com.melof10.santander.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * {@code application/cbor} and {@code application/x-jackson-smile} next to JSON on every endpoint.
+ * Both mappers come from the same {@link Jackson2ObjectMapperBuilder} Spring Boot uses for JSON, so
+ * dates, {@code Money} and the {@code spring.jackson.*} settings behave alike in the three formats.
+ * JSON stays first and is still what a client gets unless it asks for one of the binary types.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public SmartInitializingSingleton binaryFluxStreaming(ObjectProvider<RequestMappingHandlerAdapter> adapter,
+                                                          MappingJackson2CborHttpMessageConverter cbor,
+                                                          MappingJackson2SmileHttpMessageConverter smile) {
+        return () -> adapter.ifAvailable(a -> BinaryFluxReturnValueHandler.register(a, cbor, smile));
+    }
+}
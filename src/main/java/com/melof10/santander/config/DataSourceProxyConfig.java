@@ -0,0 +1,50 @@
+package com.melof10.santander.config;
+
+import com.melof10.santander.diagnostics.SqlDiagnosticsListener;
+import com.melof10.santander.diagnostics.SqlStatementStats;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import net.ttddyy.observation.tracing.JdbcObservationDocumentation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.EnumSet;
+
+/*
+ * Envuelve el DataSource JDBC con datasource-proxy para medir cada sentencia. El log completo de
+ * SQL (reemplazo de spring.jpa.show-sql) se activa con logging.level.santander.sql=DEBUG.
+ * El mismo proxy emite observaciones de conexión y de sentencia (spans jdbc.* en las trazas).
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<SqlStatementStats> stats,
+                                                                 ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    DataSourceObservationListener observations = new DataSourceObservationListener(
+                            () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+                    observations.setSupportedTypes(EnumSet.of(
+                            JdbcObservationDocumentation.CONNECTION, JdbcObservationDocumentation.QUERY));
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("santander")
+                            .listener(new SqlDiagnosticsListener(stats.getObject()))
+                            .listener(observations)
+                            .methodListener(observations)
+                            .logQueryBySlf4j(SLF4JLogLevel.DEBUG, "santander.sql")
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.melof10.santander.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/*
+ * El pool R2DBC no se expone como bean ConnectionFactory: si existiera, Spring Boot dejaría de
+ * autoconfigurar el DataSource JDBC que usan JPA y las escrituras.
+ */
+@Configuration
+public class R2dbcConfig implements DisposableBean {
+
+    private ConnectionPool readConnectionPool;
+
+    @Bean
+    public DatabaseClient readDatabaseClient(
+            @Value("${santander.r2dbc.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${santander.r2dbc.pool.initial-size}") int initialSize,
+            @Value("${santander.r2dbc.pool.max-size}") int maxSize,
+            MeterRegistry registry) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        readConnectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("santander-read")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(Duration.ofMinutes(30))
+                .build());
+        new ConnectionPoolMetrics(readConnectionPool, "santander-read", Tags.empty()).bindTo(registry);
+        return DatabaseClient.create(readConnectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (readConnectionPool != null) {
+            readConnectionPool.dispose();
+        }
+    }
+}
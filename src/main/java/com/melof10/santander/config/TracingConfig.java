@@ -0,0 +1,60 @@
+package com.melof10.santander.config;
+
+import com.melof10.santander.tracing.FileSpanExporter;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.propagation.Propagator;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import net.ttddyy.observation.tracing.ConnectionTracingObservationHandler;
+import net.ttddyy.observation.tracing.QueryTracingObservationHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.MicrometerTracingAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import java.nio.file.Path;
+
+/*
+ * Exportadores locales de trazas (sin collector): "log" escribe cada span en el log y "file" agrega
+ * una línea JSON por span en santander.tracing.file. Los handlers JDBC nombran los spans de
+ * conexión y de sentencia que emite el DataSource (ver DataSourceProxyConfig); como extienden el
+ * handler de envío de Micrometer, Boot deja de crear el genérico y se declara acá para que WebClient
+ * siga propagando traceparent.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "santander.tracing.exporter", havingValue = "log")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "santander.tracing.exporter", havingValue = "file")
+    public SpanExporter fileSpanExporter(@Value("${santander.tracing.file}") String file) {
+        return new FileSpanExporter(Path.of(file));
+    }
+
+    @Bean
+    @Order(0)
+    public QueryTracingObservationHandler jdbcQueryTracingObservationHandler(Tracer tracer) {
+        return new QueryTracingObservationHandler(tracer);
+    }
+
+    @Bean
+    @Order(0)
+    public ConnectionTracingObservationHandler jdbcConnectionTracingObservationHandler(Tracer tracer) {
+        return new ConnectionTracingObservationHandler(tracer);
+    }
+
+    @Bean
+    @Order(MicrometerTracingAutoConfiguration.SENDER_TRACING_OBSERVATION_HANDLER_ORDER)
+    public PropagatingSenderTracingObservationHandler<?> propagatingSenderTracingObservationHandler(
+            Tracer tracer, Propagator propagator) {
+        return new PropagatingSenderTracingObservationHandler<>(tracer, propagator);
+    }
+}
@@ -1,15 +1,77 @@
 package com.melof10.santander.config;
 
+import com.melof10.santander.client.Bulkhead;
+import com.melof10.santander.client.CircuitBreaker;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider accountConnectionProvider(
+            @Value("${santander.api.client.max-connections}") int maxConnections,
+            @Value("${santander.api.client.pending-acquire-max-count}") int pendingAcquireMaxCount,
+            @Value("${santander.api.client.pending-acquire-timeout-ms}") long pendingAcquireTimeoutMs,
+            @Value("${santander.api.client.max-idle-time-ms}") long maxIdleTimeMs) {
+        return ConnectionProvider.builder("santander-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .evictInBackground(Duration.ofMillis(maxIdleTimeMs))
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
-        return builder.build();
+    public Bulkhead accountClientBulkhead(
+            @Value("${santander.api.client.bulkhead.max-concurrent-calls}") int maxConcurrentCalls) {
+        return new Bulkhead("account-client", maxConcurrentCalls);
     }
-}
 
+    @Bean
+    public CircuitBreaker accountClientCircuitBreaker(
+            @Value("${santander.api.client.circuit-breaker.window-size}") int windowSize,
+            @Value("${santander.api.client.circuit-breaker.minimum-calls}") int minimumCalls,
+            @Value("${santander.api.client.circuit-breaker.failure-rate-threshold}") int failureRateThreshold,
+            @Value("${santander.api.client.circuit-breaker.open-duration-ms}") long openDurationMs,
+            @Value("${santander.api.client.circuit-breaker.half-open-probes}") int halfOpenProbes) {
+        return new CircuitBreaker(
+                "account-client",
+                windowSize,
+                minimumCalls,
+                failureRateThreshold,
+                Duration.ofMillis(openDurationMs),
+                halfOpenProbes,
+                error -> !(error instanceof WebClientResponseException e && e.getStatusCode().is4xxClientError()));
+    }
+
+    @Bean
+    public WebClient webClient(
+            WebClient.Builder builder,
+            ConnectionProvider accountConnectionProvider,
+            @Value("${santander.api.base-url}") String baseUrl,
+            @Value("${santander.api.client.connect-timeout-ms}") int connectTimeoutMs,
+            @Value("${santander.api.client.response-timeout-ms}") long responseTimeoutMs,
+            @Value("${santander.api.client.max-in-memory-size}") int maxInMemorySize) {
+        HttpClient httpClient = HttpClient.create(accountConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        return builder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.melof10.santander.controller.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountBulkCreateRequest {
+
+    private boolean generateNumbers;
+
+    @NotEmpty @Size(max = 5000)
+    private List<AccountCreateRequest> accounts;
+}
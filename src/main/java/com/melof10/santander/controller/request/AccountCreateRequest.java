@@ -23,6 +23,7 @@ public class AccountCreateRequest {
     private AccountType accountType;
 
     @NotNull @PositiveOrZero
+    @Digits(integer = 16, fraction = 2)
     private BigDecimal initialBalance;
 
     @NotNull
@@ -19,5 +19,6 @@ public class AccountUpdateRequest {
     private AccountType accountType;
 
     @NotNull @PositiveOrZero
+    @Digits(integer = 16, fraction = 2)
     private BigDecimal balance;
 }
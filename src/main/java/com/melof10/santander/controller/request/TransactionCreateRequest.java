@@ -19,6 +19,7 @@ public class TransactionCreateRequest {
     private TransactionType type;
 
     @NotNull @Positive
+    @Digits(integer = 16, fraction = 2)
     private BigDecimal amount;
 
     private Long sourceAccountId;
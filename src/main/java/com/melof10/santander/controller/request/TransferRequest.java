@@ -1,5 +1,6 @@
 package com.melof10.santander.controller.request;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
@@ -23,6 +24,7 @@ public class TransferRequest {
 
     @NotNull
     @Positive
+    @Digits(integer = 16, fraction = 2)
     private BigDecimal amount;
 }
 
@@ -0,0 +1,9 @@
+package com.melof10.santander.controller.response;
+
+import com.melof10.santander.money.Money;
+
+public record AccountBalance(
+        Long accountId,
+        Money balance,
+        long version
+) {}
@@ -0,0 +1,15 @@
+package com.melof10.santander.controller.response;
+
+import com.melof10.santander.enums.AccountType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record AccountView(
+        Long id,
+        String accountNumber,
+        AccountType accountType,
+        BigDecimal balance,
+        LocalDate openDate,
+        Long customerId
+) {}
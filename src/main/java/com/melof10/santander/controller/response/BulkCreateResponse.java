@@ -0,0 +1,10 @@
+package com.melof10.santander.controller.response;
+
+import java.util.List;
+
+public record BulkCreateResponse(
+        int requested,
+        int created,
+        int rejected,
+        List<BulkItemResult> results
+) {}
@@ -0,0 +1,8 @@
+package com.melof10.santander.controller.response;
+
+public record BulkItemResult(
+        int index,
+        Long id,
+        String number,
+        String error
+) {}
@@ -0,0 +1,15 @@
+package com.melof10.santander.controller.response;
+
+import com.melof10.santander.enums.CardType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record CardView(
+        Long id,
+        String cardNumber,
+        CardType cardType,
+        LocalDate expirationDate,
+        BigDecimal creditLimit,
+        Long customerId
+) {}
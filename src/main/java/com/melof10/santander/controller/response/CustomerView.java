@@ -0,0 +1,10 @@
+package com.melof10.santander.controller.response;
+
+public record CustomerView(
+        Long id,
+        String firstName,
+        String lastName,
+        String document,
+        String email,
+        String phone
+) {}
@@ -0,0 +1,15 @@
+package com.melof10.santander.controller.response;
+
+import com.melof10.santander.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record TransactionView(
+        Long id,
+        LocalDateTime date,
+        BigDecimal amount,
+        TransactionType type,
+        Long sourceAccountId,
+        Long destinationAccountId
+) {}
@@ -0,0 +1,8 @@
+package com.melof10.santander.controller.response;
+
+import com.melof10.santander.entity.Customer;
+
+public record VersionedCustomer(
+        Customer customer,
+        String versionTag
+) {}
@@ -1,16 +1,28 @@
 package com.melof10.santander.controller.rest;
 
+import com.melof10.santander.controller.request.AccountBulkCreateRequest;
 import com.melof10.santander.controller.request.AccountCreateRequest;
 import com.melof10.santander.controller.request.AccountUpdateRequest;
+import com.melof10.santander.controller.response.AccountBalance;
+import com.melof10.santander.controller.response.BulkCreateResponse;
+import com.melof10.santander.controller.response.TransactionView;
 import com.melof10.santander.entity.Account;
+import com.melof10.santander.event.AccountEventBus;
 import com.melof10.santander.service.IAccountService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/accounts")
@@ -18,6 +30,7 @@ import java.util.List;
 public class AccountController {
 
     private final IAccountService service;
+    private final AccountEventBus eventBus;
 
     @PostMapping
     public ResponseEntity<Account> create(@Valid @RequestBody AccountCreateRequest req) {
@@ -25,19 +38,58 @@ public class AccountController {
         return ResponseEntity.created(URI.create("/api/accounts/" + saved.getId())).body(saved);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateResponse> createBulk(@Valid @RequestBody AccountBulkCreateRequest req) {
+        return ResponseEntity.ok(service.createBulk(req));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Account> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getById(id));
+    public ResponseEntity<Account> getById(@PathVariable Long id, WebRequest request) {
+        if (ETags.notModified(request, () -> service.getVersionTag(id))) {
+            return null;
+        }
+        Account a = service.getById(id);
+        return ResponseEntity.ok().eTag(ETags.of(a.getVersion())).body(a);
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getSparseById(@PathVariable Long id, @RequestParam List<String> fields) {
+        return ResponseEntity.ok(service.getById(id, fields));
+    }
+
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<AccountBalance> getBalance(@PathVariable Long id) {
+        return ResponseEntity.ok(service.getBalance(id));
+    }
+
+    // Straight to the bus: the service timers and spans would otherwise last as long as the connection.
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TransactionView>> events(@PathVariable Long id) {
+        return eventBus.subscribe(id);
     }
 
     @GetMapping
-    public ResponseEntity<List<Account>> getAll() {
-        return ResponseEntity.ok(service.getAll());
+    public ResponseEntity<List<Account>> getAll(@RequestParam(required = false) List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return ResponseEntity.ok(service.getAll());
+        }
+        return ResponseEntity.ok(service.getByIds(ids));
+    }
+
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllSparse(@RequestParam(required = false) List<Long> ids,
+                                                                  @RequestParam List<String> fields) {
+        if (ids == null || ids.isEmpty()) {
+            return ResponseEntity.ok(service.getAll(fields));
+        }
+        return ResponseEntity.ok(service.getByIds(ids, fields));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Account> update(@PathVariable Long id, @Valid @RequestBody AccountUpdateRequest req) {
-        return ResponseEntity.ok(service.update(id, req));
+    public ResponseEntity<Account> update(@PathVariable Long id, @Valid @RequestBody AccountUpdateRequest req,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Account a = service.update(id, req, ETags.parse(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(a.getVersion())).body(a);
     }
 
     @DeleteMapping("/{id}")
@@ -51,8 +103,14 @@ public class AccountController {
         return ResponseEntity.ok(service.getByCustomerId(customerId));
     }
 
+    @GetMapping(value = "/by-customer/{customerId}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getSparseByCustomer(@PathVariable Long customerId,
+                                                                         @RequestParam List<String> fields) {
+        return ResponseEntity.ok(service.getByCustomerId(customerId, fields));
+    }
+
     @GetMapping("/self/{id}")
-    public ResponseEntity<Account> selfCall(@PathVariable Long id) {
-        return ResponseEntity.ok(service.selfGet(id));
+    public Mono<ResponseEntity<Account>> selfCall(@PathVariable Long id) {
+        return service.selfGet(id).map(ResponseEntity::ok);
     }
 }
@@ -0,0 +1,57 @@
+package com.melof10.santander.controller.rest;
+
+import com.melof10.santander.batch.ArchiveResult;
+import com.melof10.santander.batch.BatchJobResult;
+import com.melof10.santander.batch.PurgeResult;
+import com.melof10.santander.batch.ReconciliationReport;
+import com.melof10.santander.batch.StatementRunResult;
+import com.melof10.santander.readmodel.BalanceCheckResult;
+import com.melof10.santander.service.IBatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+public class BatchController {
+
+    private final IBatchService service;
+
+    @PostMapping("/interest")
+    public ResponseEntity<BatchJobResult> accrueInterest(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(service.accrueInterest(date != null ? date : LocalDate.now().minusDays(1)));
+    }
+
+    @PostMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReport> reconcileBalances() {
+        return ResponseEntity.ok(service.reconcileBalances());
+    }
+
+    @PostMapping("/statements")
+    public ResponseEntity<StatementRunResult> generateStatements(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth period) {
+        return ResponseEntity.ok(service.generateStatements(period != null ? period : YearMonth.now().minusMonths(1)));
+    }
+
+    @PostMapping("/purge")
+    public ResponseEntity<PurgeResult> purgeDeleted() {
+        return ResponseEntity.ok(service.purgeDeleted());
+    }
+
+    @PostMapping("/archive")
+    public ResponseEntity<ArchiveResult> archiveTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before) {
+        return ResponseEntity.ok(service.archiveTransactions(before));
+    }
+
+    @PostMapping("/balance-check")
+    public ResponseEntity<BalanceCheckResult> checkBalanceReadModel() {
+        return ResponseEntity.ok(service.checkBalanceReadModel());
+    }
+}
@@ -1,16 +1,21 @@
 package com.melof10.santander.controller.rest;
 
+import com.melof10.santander.controller.request.CardBulkCreateRequest;
 import com.melof10.santander.controller.request.CardCreateRequest;
 import com.melof10.santander.controller.request.CardUpdateRequest;
+import com.melof10.santander.controller.response.BulkCreateResponse;
 import com.melof10.santander.entity.Card;
 import com.melof10.santander.service.ICardService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/cards")
@@ -25,9 +30,23 @@ public class CardController {
         return ResponseEntity.created(URI.create("/api/cards/" + saved.getId())).body(saved);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateResponse> createBulk(@Valid @RequestBody CardBulkCreateRequest req) {
+        return ResponseEntity.ok(service.createBulk(req));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Card> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getById(id));
+    public ResponseEntity<Card> getById(@PathVariable Long id, WebRequest request) {
+        if (ETags.notModified(request, () -> service.getVersionTag(id))) {
+            return null;
+        }
+        Card card = service.getById(id);
+        return ResponseEntity.ok().eTag(ETags.of(card.getVersion())).body(card);
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getSparseById(@PathVariable Long id, @RequestParam List<String> fields) {
+        return ResponseEntity.ok(service.getById(id, fields));
     }
 
     @GetMapping
@@ -35,9 +54,16 @@ public class CardController {
         return ResponseEntity.ok(service.getAll());
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllSparse(@RequestParam List<String> fields) {
+        return ResponseEntity.ok(service.getAll(fields));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Card> update(@PathVariable Long id, @Valid @RequestBody CardUpdateRequest req) {
-        return ResponseEntity.ok(service.update(id, req));
+    public ResponseEntity<Card> update(@PathVariable Long id, @Valid @RequestBody CardUpdateRequest req,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Card card = service.update(id, req, ETags.parse(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(card.getVersion())).body(card);
     }
 
     @DeleteMapping("/{id}")
@@ -50,5 +76,10 @@ public class CardController {
     public ResponseEntity<List<Card>> getByCustomer(@PathVariable Long customerId) {
         return ResponseEntity.ok(service.getByCustomerId(customerId));
     }
-}
 
+    @GetMapping(value = "/by-customer/{customerId}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getSparseByCustomer(@PathVariable Long customerId,
+                                                                         @RequestParam List<String> fields) {
+        return ResponseEntity.ok(service.getByCustomerId(customerId, fields));
+    }
+}
@@ -1,16 +1,22 @@
 package com.melof10.santander.controller.rest;
 
+import com.melof10.santander.batch.CustomerImportResult;
 import com.melof10.santander.controller.request.CustomerCreateRequest;
 import com.melof10.santander.controller.request.CustomerUpdateRequest;
+import com.melof10.santander.controller.response.VersionedCustomer;
 import com.melof10.santander.entity.Customer;
 import com.melof10.santander.service.ICustomerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.Reader;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -25,9 +31,24 @@ public class CustomerController {
         return ResponseEntity.created(URI.create("/api/customers/" + saved.getId())).body(saved);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "text/plain"})
+    public ResponseEntity<CustomerImportResult> importCsv(Reader csv) {
+        return ResponseEntity.ok(service.importCsv(csv));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Customer> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getById(id));
+    public ResponseEntity<Customer> getById(@PathVariable Long id, WebRequest request) {
+        // The tag also covers the accounts and cards serialized with the customer, so it is always computed.
+        String tag = service.getVersionTag(id);
+        if (request.checkNotModified(ETags.of(tag))) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(ETags.of(tag)).body(service.getById(id));
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getSparseById(@PathVariable Long id, @RequestParam List<String> fields) {
+        return ResponseEntity.ok(service.getById(id, fields));
     }
 
     @GetMapping
@@ -35,9 +56,16 @@ public class CustomerController {
         return ResponseEntity.ok(service.getAll());
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllSparse(@RequestParam List<String> fields) {
+        return ResponseEntity.ok(service.getAll(fields));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Customer> update(@PathVariable Long id, @Valid @RequestBody CustomerUpdateRequest req) {
-        return ResponseEntity.ok(service.update(id, req));
+    public ResponseEntity<Customer> update(@PathVariable Long id, @Valid @RequestBody CustomerUpdateRequest req,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        VersionedCustomer updated = service.update(id, req, ETags.parse(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updated.versionTag())).body(updated.customer());
     }
 
     @DeleteMapping("/{id}")
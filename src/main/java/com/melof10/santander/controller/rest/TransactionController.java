@@ -1,15 +1,22 @@
 package com.melof10.santander.controller.rest;
 import com.melof10.santander.controller.request.TransactionCreateRequest;
 import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.controller.response.TransactionView;
 import com.melof10.santander.entity.Transaction;
 import com.melof10.santander.service.ITransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -35,11 +42,36 @@ public class TransactionController {
         return ResponseEntity.ok(service.getById(id));
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getSparseById(@PathVariable Long id, @RequestParam List<String> fields) {
+        return ResponseEntity.ok(service.getById(id, fields));
+    }
+
     @GetMapping
     public ResponseEntity<List<Transaction>> getAll() {
         return ResponseEntity.ok(service.getAll());
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllSparse(@RequestParam List<String> fields) {
+        return ResponseEntity.ok(service.getAll(fields));
+    }
+
+    @GetMapping("/statement")
+    public ResponseEntity<PagedModel<TransactionView>> getStatement(
+            @RequestParam Long accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @PageableDefault(size = 50) Pageable pageable) {
+        return ResponseEntity.ok(new PagedModel<>(service.getStatement(accountId, from, to, pageable)));
+    }
+
+    @GetMapping("/recent")
+    public ResponseEntity<List<TransactionView>> getRecent(@RequestParam Long accountId,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(service.getRecent(accountId, limit));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         service.delete(id);
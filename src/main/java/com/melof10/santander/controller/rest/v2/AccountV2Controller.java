@@ -0,0 +1,49 @@
+package com.melof10.santander.controller.rest.v2;
+
+import com.melof10.santander.controller.response.AccountView;
+import com.melof10.santander.controller.response.TransactionView;
+import com.melof10.santander.service.IReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static com.melof10.santander.config.BinaryFormatsConfig.APPLICATION_SMILE_VALUE;
+
+@RestController
+@RequestMapping("/api/v2/accounts")
+@RequiredArgsConstructor
+public class AccountV2Controller {
+
+    private final IReadService service;
+
+    @GetMapping("/{id}")
+    public Mono<AccountView> getById(@PathVariable Long id) {
+        return service.getAccount(id);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public Flux<AccountView> getAll() {
+        return service.getAccounts();
+    }
+
+    @GetMapping(value = "/by-customer/{customerId}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public Flux<AccountView> getByCustomer(@PathVariable Long customerId) {
+        return service.getAccountsByCustomer(customerId);
+    }
+
+    @GetMapping(value = "/{id}/statement", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public Flux<TransactionView> getStatement(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return service.getStatement(id, from, to);
+    }
+}
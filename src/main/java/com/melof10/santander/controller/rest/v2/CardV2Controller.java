@@ -0,0 +1,36 @@
+package com.melof10.santander.controller.rest.v2;
+
+import com.melof10.santander.controller.response.CardView;
+import com.melof10.santander.service.IReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.melof10.santander.config.BinaryFormatsConfig.APPLICATION_SMILE_VALUE;
+
+@RestController
+@RequestMapping("/api/v2/cards")
+@RequiredArgsConstructor
+public class CardV2Controller {
+
+    private final IReadService service;
+
+    @GetMapping("/{id}")
+    public Mono<CardView> getById(@PathVariable Long id) {
+        return service.getCard(id);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public Flux<CardView> getAll() {
+        return service.getCards();
+    }
+
+    @GetMapping(value = "/by-customer/{customerId}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public Flux<CardView> getByCustomer(@PathVariable Long customerId) {
+        return service.getCardsByCustomer(customerId);
+    }
+}
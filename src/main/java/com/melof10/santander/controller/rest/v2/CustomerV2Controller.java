@@ -0,0 +1,35 @@
+package com.melof10.santander.controller.rest.v2;
+
+import com.melof10.santander.controller.response.CustomerView;
+import com.melof10.santander.service.IReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.melof10.santander.config.BinaryFormatsConfig.APPLICATION_SMILE_VALUE;
+
+@RestController
+@RequestMapping("/api/v2/customers")
+@RequiredArgsConstructor
+public class CustomerV2Controller {
+
+    private final IReadService service;
+
+    @GetMapping("/{id}")
+    public Mono<CustomerView> getById(@PathVariable Long id) {
+        return service.getCustomer(id);
+    }
+
+    @GetMapping("/by-document/{document}")
+    public Mono<CustomerView> getByDocument(@PathVariable String document) {
+        return service.getCustomerByDocument(document);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public Flux<CustomerView> getAll() {
+        return service.getCustomers();
+    }
+}
@@ -0,0 +1,30 @@
+package com.melof10.santander.controller.rest.v2;
+
+import com.melof10.santander.controller.response.TransactionView;
+import com.melof10.santander.service.IReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.melof10.santander.config.BinaryFormatsConfig.APPLICATION_SMILE_VALUE;
+
+@RestController
+@RequestMapping("/api/v2/transactions")
+@RequiredArgsConstructor
+public class TransactionV2Controller {
+
+    private final IReadService service;
+
+    @GetMapping("/{id}")
+    public Mono<TransactionView> getById(@PathVariable Long id) {
+        return service.getTransaction(id);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public Flux<TransactionView> getAll() {
+        return service.getTransactions();
+    }
+}
@@ -0,0 +1,36 @@
+package com.melof10.santander.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class SqlDiagnosticsListener implements QueryExecutionListener {
+
+    private static final String START = "santander.startNanos";
+
+    private final SqlStatementStats stats;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        long elapsedNanos = start != null
+                ? System.nanoTime() - start
+                : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        for (QueryInfo query : queryInfoList) {
+            List<?> parameters = query.getParametersList().stream()
+                    .flatMap(set -> set.stream().map(p -> p.getArgs()[p.getArgs().length - 1]))
+                    .toList();
+            stats.record(query.getQuery(), elapsedNanos / queryInfoList.size(), parameters, execInfo.isSuccess());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.melof10.santander.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the outermost service method as the origin of the statements it issues; outside of an
+ * HTTP request it also opens the tracking scope so repeated statements are still reported.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class SqlOriginAspect {
+
+    private final SqlStatementStats stats;
+
+    @Around("execution(public * com.melof10.santander.service.impl.*ServiceImpl.*(..))")
+    public Object trackOrigin(ProceedingJoinPoint pjp) throws Throwable {
+        String method = pjp.getTarget().getClass().getSimpleName() + "." + pjp.getSignature().getName();
+        SqlTracker.Scope opened = SqlTracker.open(method);
+        SqlTracker.Scope scope = SqlTracker.current();
+        boolean entered = scope.enter(method);
+        try {
+            return pjp.proceed();
+        } finally {
+            if (entered) {
+                scope.exit();
+            }
+            if (opened != null) {
+                SqlTracker.close(opened);
+                stats.report(opened);
+            }
+        }
+    }
+}
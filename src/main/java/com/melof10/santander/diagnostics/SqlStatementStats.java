@@ -0,0 +1,218 @@
+package com.melof10.santander.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Latency per statement shape (SQL with literals and IN-lists collapsed), slow-query samples and
+ * repeated-statement (N+1) reports. Each shape gets a {@code santander.sql} timer tagged with a
+ * digest of its text; {@code /actuator/sqlstats} maps the ids back to the SQL text. Past
+ * {@code santander.sql.max-shapes} distinct shapes, new ones share the {@code other} timer. Slow
+ * queries are reported by shape, without bind values, unless {@code santander.sql.log-parameters}
+ * is on.
+ */
+@Slf4j
+@Component
+public class SqlStatementStats {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final int MAX_SAMPLES = 50;
+    private static final String OVERFLOW_ID = "other";
+
+    private final MeterRegistry registry;
+    private final long slowThresholdNanos;
+    private final int nPlusOneThreshold;
+    private final int maxShapes;
+    private final boolean logParameters;
+
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final Map<String, Shape> shapesById = new ConcurrentHashMap<>();
+    private final Shape overflow;
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final Deque<RepeatedStatement> repeatedStatements = new ArrayDeque<>();
+
+    public SqlStatementStats(MeterRegistry registry,
+                             @Value("${santander.sql.slow-threshold-ms}") long slowThresholdMs,
+                             @Value("${santander.sql.n-plus-one-threshold}") int nPlusOneThreshold,
+                             @Value("${santander.sql.max-shapes}") int maxShapes,
+                             @Value("${santander.sql.log-parameters}") boolean logParameters) {
+        this.registry = registry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.maxShapes = maxShapes;
+        this.logParameters = logParameters;
+        this.overflow = register(OVERFLOW_ID, OVERFLOW_ID, "(formas por encima de santander.sql.max-shapes)");
+    }
+
+    public void record(String sql, long elapsedNanos, List<?> parameters, boolean success) {
+        Shape shape = shape(normalize(sql));
+        shape.timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (!success) {
+            shape.errors.increment();
+        }
+
+        SqlTracker.Scope scope = SqlTracker.current();
+        if (scope != null) {
+            scope.count(shape.id);
+        }
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            String origin = SqlTracker.origin();
+            String text = logParameters ? sql : normalize(sql);
+            String values = logParameters ? String.valueOf(parameters) : redact(parameters);
+            log.warn("Consulta lenta ({} ms) en {}: {} parámetros={}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), origin, text, values);
+            add(slowQueries, new SlowQuery(Instant.now(), shape.id, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    text, values, origin));
+        }
+    }
+
+    public void report(SqlTracker.Scope scope) {
+        scope.getStatements().forEach((id, count) -> {
+            if (count < nPlusOneThreshold) {
+                return;
+            }
+            Shape shape = shapesById.get(id);
+            if (shape == null || !"select".equals(shape.type)) {
+                return;
+            }
+            shape.repeated.increment();
+            log.warn("Posible N+1 en {}: {} ejecuciones de {}", scope.getLabel(), count, shape.sql);
+            add(repeatedStatements, new RepeatedStatement(Instant.now(), id, count, shape.sql, scope.getLabel()));
+        });
+    }
+
+    public Map<String, Object> snapshot() {
+        List<Map<String, Object>> statements = Stream.concat(shapes.values().stream(),
+                        overflow.timer.count() > 0 ? Stream.of(overflow) : Stream.empty())
+                .sorted(Comparator.comparingDouble((Shape s) -> s.timer.totalTime(TimeUnit.MILLISECONDS)).reversed())
+                .map(Shape::describe)
+                .toList();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("slowThresholdMs", TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos));
+        result.put("nPlusOneThreshold", nPlusOneThreshold);
+        result.put("statements", statements);
+        synchronized (this) {
+            result.put("slowQueries", List.copyOf(slowQueries));
+            result.put("repeatedStatements", List.copyOf(repeatedStatements));
+        }
+        return result;
+    }
+
+    public synchronized void clearSamples() {
+        slowQueries.clear();
+        repeatedStatements.clear();
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /** 128 bits of the SHA-256 of the shape, so two shapes never share a timer in practice. */
+    static String digest(String sql) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(sql.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String redact(List<?> parameters) {
+        return parameters.isEmpty() ? "[]" : "[" + String.join(", ", Collections.nCopies(parameters.size(), "?")) + "]";
+    }
+
+    private Shape shape(String sql) {
+        Shape shape = shapes.get(sql);
+        if (shape != null) {
+            return shape;
+        }
+        if (shapes.size() >= maxShapes) {
+            return overflow;
+        }
+        return shapes.computeIfAbsent(sql, this::newShape);
+    }
+
+    private Shape newShape(String sql) {
+        String type = sql.isEmpty() ? "other" : sql.split(" ", 2)[0].toLowerCase(Locale.ROOT);
+        return register(digest(sql), type, sql);
+    }
+
+    private Shape register(String id, String type, String sql) {
+        Timer timer = Timer.builder("santander.sql")
+                .tag("query", id)
+                .tag("type", type)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+        Counter errors = Counter.builder("santander.sql.errors").tag("query", id).register(registry);
+        Counter repeated = Counter.builder("santander.sql.repeated").tag("query", id).register(registry);
+        Shape shape = new Shape(id, type, sql, timer, errors, repeated);
+        shapesById.put(id, shape);
+        return shape;
+    }
+
+    private synchronized <T> void add(Deque<T> samples, T sample) {
+        if (samples.size() == MAX_SAMPLES) {
+            samples.removeFirst();
+        }
+        samples.addLast(sample);
+    }
+
+    private record Shape(String id, String type, String sql, Timer timer, Counter errors, Counter repeated) {
+
+        Map<String, Object> describe() {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<String, Object> percentiles = new LinkedHashMap<>();
+            for (ValueAtPercentile p : snapshot.percentileValues()) {
+                percentiles.put("p" + Math.round(p.percentile() * 100), p.value(TimeUnit.MILLISECONDS));
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("id", id);
+            result.put("type", type);
+            result.put("sql", sql);
+            result.put("count", snapshot.count());
+            result.put("errors", (long) errors.count());
+            result.put("repeated", (long) repeated.count());
+            result.put("totalMs", snapshot.total(TimeUnit.MILLISECONDS));
+            result.put("meanMs", snapshot.mean(TimeUnit.MILLISECONDS));
+            result.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+            result.put("percentilesMs", percentiles);
+            return result;
+        }
+    }
+
+    public record SlowQuery(Instant at, String id, long elapsedMs, String sql, String parameters, String origin) {}
+
+    public record RepeatedStatement(Instant at, String id, int count, String sql, String scope) {}
+}
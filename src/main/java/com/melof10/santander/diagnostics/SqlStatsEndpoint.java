@@ -0,0 +1,27 @@
+package com.melof10.santander.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+public class SqlStatsEndpoint {
+
+    private final SqlStatementStats stats;
+
+    @ReadOperation
+    public Map<String, Object> sqlStats() {
+        return stats.snapshot();
+    }
+
+    @DeleteOperation
+    public void clearSamples() {
+        stats.clearSamples();
+    }
+}
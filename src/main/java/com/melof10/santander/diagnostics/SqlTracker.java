@@ -0,0 +1,81 @@
+package com.melof10.santander.diagnostics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread SQL tracking scope: an HTTP request (or a service call outside of one) opens it, the
+ * outermost service method is recorded as the origin of the statements, and identical statement
+ * shapes are counted so repeated ones can be reported when the scope closes.
+ */
+public final class SqlTracker {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlTracker() {
+    }
+
+    public static Scope open(String label) {
+        Scope current = CURRENT.get();
+        if (current != null) {
+            return null;
+        }
+        Scope scope = new Scope(label);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static void close(Scope scope) {
+        if (scope != null && CURRENT.get() == scope) {
+            CURRENT.remove();
+        }
+    }
+
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    public static String origin() {
+        Scope scope = CURRENT.get();
+        return scope == null || scope.origin == null ? "-" : scope.origin;
+    }
+
+    public static final class Scope {
+
+        private final String label;
+        private String origin;
+        private final Map<String, Integer> statements = new HashMap<>();
+
+        private Scope(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getOrigin() {
+            return origin;
+        }
+
+        boolean enter(String method) {
+            if (origin != null) {
+                return false;
+            }
+            origin = method;
+            return true;
+        }
+
+        void exit() {
+            origin = null;
+        }
+
+        void count(String shapeId) {
+            statements.merge(shapeId, 1, Integer::sum);
+        }
+
+        public Map<String, Integer> getStatements() {
+            return statements;
+        }
+    }
+}
@@ -3,11 +3,13 @@ package com.melof10.santander.entity;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.money.Money;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
@@ -18,6 +20,7 @@ import java.util.List;
                 @Index(name = "idx_cuenta_cliente", columnList = "id_cliente")
         }
 )
+@SQLRestriction("deleted_at is null")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,11 +41,22 @@ public class Account {
     private AccountType accountType;
 
     @Column(nullable = false, precision = 18, scale = 2)
-    private BigDecimal balance;
+    private Money balance;
+
+    @Column(nullable = false, precision = 18, scale = 2, updatable = false)
+    private Money openingBalance;
 
     @Column(nullable = false)
     private LocalDate openDate;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "deleted_at")
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_cliente", nullable = false)
     @JsonBackReference
@@ -59,6 +73,7 @@ public class Account {
     @PrePersist
     public void initDefaults() {
         if (openDate == null) openDate = LocalDate.now();
-        if (balance == null) balance = BigDecimal.ZERO;
+        if (balance == null) balance = Money.ZERO;
+        if (openingBalance == null) openingBalance = balance;
     }
 }
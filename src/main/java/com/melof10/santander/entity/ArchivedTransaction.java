@@ -0,0 +1,48 @@
+package com.melof10.santander.entity;
+
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "transaccion_archivo",
+        indexes = {
+                @Index(name = "idx_txa_cuenta_origen", columnList = "id_cuenta_origen, date"),
+                @Index(name = "idx_txa_cuenta_destino", columnList = "id_cuenta_destino, date"),
+                @Index(name = "idx_txa_fecha", columnList = "date")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ArchivedTransaction {
+
+    @Id
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime date;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private Money amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType type;
+
+    @Column(name = "id_cuenta_origen")
+    private Long sourceAccountId;
+
+    @Column(name = "id_cuenta_destino")
+    private Long destinationAccountId;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
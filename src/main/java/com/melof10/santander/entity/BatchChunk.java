@@ -0,0 +1,48 @@
+package com.melof10.santander.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chunk of a batch run that was committed together with its writes. Restarting a run skips the
+ * chunks already recorded here; the unique key keeps two concurrent runs from posting one chunk twice.
+ */
+@Entity
+@Table(
+        name = "lote_bloque",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_lote_bloque", columnNames = {"job", "run_key", "chunk_start"})
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class BatchChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(nullable = false, length = 40)
+    private String job;
+
+    @Column(nullable = false, length = 40)
+    private String runKey;
+
+    @Column(nullable = false)
+    private Long chunkStart;
+
+    @Column(nullable = false)
+    private Long chunkEnd;
+
+    @Column(nullable = false)
+    private Integer items;
+
+    @Column(nullable = false)
+    private LocalDateTime committedAt;
+}
@@ -1,12 +1,15 @@
 package com.melof10.santander.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.melof10.santander.enums.CardType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(
@@ -16,6 +19,7 @@ import java.time.LocalDate;
                 @Index(name = "idx_tarjeta_cliente", columnList = "id_cliente")
         }
 )
+@SQLRestriction("deleted_at is null")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -41,6 +45,14 @@ public class Card {
     @Column(precision = 18, scale = 2)
     private BigDecimal creditLimit;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "deleted_at")
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_cliente", nullable = false)
     @JsonBackReference
@@ -1,9 +1,12 @@
 package com.melof10.santander.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
@@ -13,6 +16,7 @@ import java.util.List;
                 @Index(name = "idx_cliente_documento", columnList = "document", unique = true)
         }
 )
+@SQLRestriction("deleted_at is null")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -40,6 +44,14 @@ public class Customer {
     @Column(length = 20)
     private String phone;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "deleted_at")
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<Account> accounts;
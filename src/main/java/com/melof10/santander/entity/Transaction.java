@@ -1,10 +1,10 @@
 package com.melof10.santander.entity;
 
 import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -32,7 +32,7 @@ public class Transaction {
     private LocalDateTime date;
 
     @Column(nullable = false, precision = 18, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
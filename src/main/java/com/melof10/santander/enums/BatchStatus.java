@@ -0,0 +1,3 @@
+package com.melof10.santander.enums;
+
+public enum BatchStatus { COMPLETED, FAILED }
@@ -0,0 +1,9 @@
+package com.melof10.santander.event;
+
+import com.melof10.santander.entity.Account;
+
+/**
+ * Published by the services whenever they change the balance of an account. Listeners that need
+ * the new version read it after commit, once the flush has incremented it on the entity.
+ */
+public record AccountBalanceChanged(Account account) {}
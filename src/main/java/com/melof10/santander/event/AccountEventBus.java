@@ -0,0 +1,128 @@
+package com.melof10.santander.event;
+
+import com.melof10.santander.controller.response.TransactionView;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Transaction;
+import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.readmodel.BalanceReadModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans the committed movements out to the {@code GET /api/accounts/{id}/events} subscribers of the
+ * accounts they touch.
+ * <p>
+ * The only producer is the after-commit listener, so a subscriber never sees a rolled back movement.
+ * Publishing never blocks: each subscriber has its own buffer of {@code santander.events.buffer-size}
+ * events, drained by the response writer, and a subscriber whose buffer is full is handled by
+ * {@code santander.events.overflow}. All streams share one heartbeat timer, which keeps idle
+ * connections open through proxies and lets the server notice the clients that went away.
+ */
+@Component
+public class AccountEventBus {
+
+    private static final String METRIC_PREFIX = "santander.events";
+
+    private final ConcurrentMap<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final BalanceReadModel balanceReadModel;
+    private final int bufferSize;
+    private final SlowConsumerPolicy overflow;
+    private final Flux<ServerSentEvent<TransactionView>> heartbeats;
+    private final Counter delivered;
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    public AccountEventBus(BalanceReadModel balanceReadModel,
+                           MeterRegistry registry,
+                           @Value("${santander.events.buffer-size}") int bufferSize,
+                           @Value("${santander.events.overflow}") SlowConsumerPolicy overflow,
+                           @Value("${santander.events.heartbeat-seconds}") long heartbeatSeconds) {
+        this.balanceReadModel = balanceReadModel;
+        this.bufferSize = bufferSize;
+        this.overflow = overflow;
+        this.heartbeats = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                .map(tick -> ServerSentEvent.<TransactionView>builder().comment("").build())
+                .share();
+        this.delivered = Counter.builder(METRIC_PREFIX + ".delivered").register(registry);
+        this.dropped = Counter.builder(METRIC_PREFIX + ".dropped").register(registry);
+        this.disconnected = Counter.builder(METRIC_PREFIX + ".disconnected").register(registry);
+        Gauge.builder(METRIC_PREFIX + ".subscribers", subscribers, AtomicInteger::get).register(registry);
+    }
+
+    public Flux<ServerSentEvent<TransactionView>> subscribe(Long accountId) {
+        if (balanceReadModel.get(accountId).isEmpty()) {
+            throw new NotFoundException("Cuenta no encontrada: " + accountId);
+        }
+        return Flux.defer(() -> {
+            Subscription subscription = new Subscription(
+                    Sinks.many().unicast().onBackpressureBuffer(Queues.<TransactionView>get(bufferSize).get()),
+                    Sinks.one());
+            subscriptions.compute(accountId, (id, set) -> {
+                Set<Subscription> target = set != null ? set : ConcurrentHashMap.newKeySet();
+                target.add(subscription);
+                return target;
+            });
+            subscribers.incrementAndGet();
+            Flux<ServerSentEvent<TransactionView>> movements = subscription.movements().asFlux()
+                    .map(view -> ServerSentEvent.builder(view).id(String.valueOf(view.id())).event(view.type().name()).build());
+            return Flux.merge(1, movements, heartbeats)
+                    .takeUntilOther(subscription.closed().asMono())
+                    .doFinally(signal -> unsubscribe(accountId, subscription));
+        });
+    }
+
+    @TransactionalEventListener
+    public void on(TransactionRecorded event) {
+        Transaction tx = event.transaction();
+        Long source = tx.getSourceAccount() != null ? tx.getSourceAccount().getId() : null;
+        Long destination = tx.getDestinationAccount() != null ? tx.getDestinationAccount().getId() : null;
+        TransactionView view = new TransactionView(tx.getId(), tx.getDate(), tx.getAmount().toBigDecimal(), tx.getType(),
+                source, destination);
+        publish(source, view);
+        publish(destination, view);
+    }
+
+    private void publish(Long accountId, TransactionView view) {
+        Set<Subscription> targets = accountId != null ? subscriptions.get(accountId) : null;
+        if (targets == null) {
+            return;
+        }
+        for (Subscription subscription : targets) {
+            Sinks.EmitResult result;
+            // Commits of the same account can run on several threads; the sink takes one producer at a time.
+            synchronized (subscription) {
+                result = subscription.movements().tryEmitNext(view);
+            }
+            if (result.isSuccess()) {
+                delivered.increment();
+            } else if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                dropped.increment();
+                if (overflow == SlowConsumerPolicy.DISCONNECT && subscription.closed().tryEmitValue(true).isSuccess()) {
+                    disconnected.increment();
+                }
+            }
+        }
+    }
+
+    private void unsubscribe(Long accountId, Subscription subscription) {
+        subscriptions.computeIfPresent(accountId, (id, set) -> set.remove(subscription) && set.isEmpty() ? null : set);
+        subscribers.decrementAndGet();
+    }
+
+    private record Subscription(Sinks.Many<TransactionView> movements, Sinks.One<Boolean> closed) {}
+}
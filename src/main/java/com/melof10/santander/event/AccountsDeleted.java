@@ -0,0 +1,6 @@
+package com.melof10.santander.event;
+
+import java.util.Collection;
+
+/** Published when accounts are soft-deleted, directly or together with their customer. */
+public record AccountsDeleted(Collection<Long> accountIds) {}
@@ -0,0 +1,9 @@
+package com.melof10.santander.event;
+
+/** What {@link AccountEventBus} does when a subscriber's buffer is full. */
+public enum SlowConsumerPolicy {
+    /** Discard the new event and keep the subscriber. */
+    DROP,
+    /** Close the subscriber's stream; the client reconnects and catches up with the recent movements. */
+    DISCONNECT
+}
@@ -0,0 +1,6 @@
+package com.melof10.santander.event;
+
+import com.melof10.santander.entity.Transaction;
+
+/** Published by the transaction service for every deposit, withdrawal or transfer it records. */
+public record TransactionRecorded(Transaction transaction) {}
@@ -0,0 +1,19 @@
+package com.melof10.santander.exception;
+
+import java.util.List;
+import java.util.Set;
+
+public class InvalidFieldsException extends RuntimeException {
+
+    private final List<String> allowed;
+
+    public InvalidFieldsException(String msg, Set<String> allowed) {
+        super(msg);
+        this.allowed = List.copyOf(allowed);
+    }
+
+    public List<String> getAllowed() {
+        return allowed;
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.melof10.santander.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String msg) {
+        super(msg);
+    }
+
+}
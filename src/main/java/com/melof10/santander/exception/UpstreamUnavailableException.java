@@ -0,0 +1,9 @@
+package com.melof10.santander.exception;
+
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String msg) {
+        super(msg);
+    }
+
+}
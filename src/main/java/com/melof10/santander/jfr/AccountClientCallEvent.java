@@ -0,0 +1,21 @@
+package com.melof10.santander.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.melof10.santander.AccountClientCall")
+@Label("Account Client Call")
+@Description("HTTP call made by AccountClient, from subscription to termination")
+@Category({"Santander", "Client"})
+@StackTrace(false)
+public class AccountClientCallEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Outcome")
+    public String outcome;
+}
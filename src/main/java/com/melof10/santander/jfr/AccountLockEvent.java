@@ -0,0 +1,19 @@
+package com.melof10.santander.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.melof10.santander.AccountLock")
+@Label("Account Lock")
+@Description("Pessimistic write lock acquisition through AccountRepository.findById")
+@Category({"Santander", "Persistence"})
+public class AccountLockEvent extends jdk.jfr.Event {
+
+    @Label("Account")
+    public long accountId;
+
+    @Label("Found")
+    public boolean found;
+}
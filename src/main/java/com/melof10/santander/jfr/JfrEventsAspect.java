@@ -0,0 +1,125 @@
+package com.melof10.santander.jfr;
+
+import com.melof10.santander.controller.request.TransactionCreateRequest;
+import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.metrics.ServiceMetricsAspect;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Emits the custom JFR events. Each advice checks {@code isEnabled()} first, so without an active
+ * recording that enables them the only cost is a short-lived allocation and a flag check.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class JfrEventsAspect {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal THOUSAND = BigDecimal.valueOf(1_000);
+    private static final BigDecimal TEN_THOUSAND = BigDecimal.valueOf(10_000);
+    private static final BigDecimal HUNDRED_THOUSAND = BigDecimal.valueOf(100_000);
+
+    @Around("execution(* com.melof10.santander.service.impl.TransactionServiceImpl.create(..))"
+            + " || execution(* com.melof10.santander.service.impl.TransactionServiceImpl.transfer(..))")
+    public Object recordTransaction(ProceedingJoinPoint pjp) throws Throwable {
+        TransactionEvent event = new TransactionEvent();
+        if (!event.isEnabled()) {
+            return pjp.proceed();
+        }
+        event.begin();
+        Throwable error = null;
+        try {
+            return pjp.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = pjp.getSignature().getName();
+                event.outcome = ServiceMetricsAspect.outcome(error);
+                Object request = pjp.getArgs()[0];
+                if (request instanceof TransferRequest req) {
+                    event.type = TransactionType.TRANSFERENCIA.name();
+                    event.sourceAccountId = orZero(req.getSourceAccountId());
+                    event.destinationAccountId = orZero(req.getDestinationAccountId());
+                    event.amountBucket = amountBucket(req.getAmount());
+                } else if (request instanceof TransactionCreateRequest req) {
+                    event.type = req.getType() == null ? null : req.getType().name();
+                    event.sourceAccountId = orZero(req.getSourceAccountId());
+                    event.destinationAccountId = orZero(req.getDestinationAccountId());
+                    event.amountBucket = amountBucket(req.getAmount());
+                }
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* com.melof10.santander.repository.AccountRepository.findById(..))")
+    public Object recordAccountLock(ProceedingJoinPoint pjp) throws Throwable {
+        AccountLockEvent event = new AccountLockEvent();
+        if (!event.isEnabled()) {
+            return pjp.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = pjp.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.accountId = pjp.getArgs()[0] instanceof Long id ? id : 0L;
+                event.found = result instanceof Optional<?> o && o.isPresent();
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint pjp) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return pjp.proceed();
+        }
+        event.begin();
+        Throwable error = null;
+        try {
+            return pjp.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Class<?>[] interfaces = pjp.getThis().getClass().getInterfaces();
+                event.repository = interfaces.length > 0 ? interfaces[0].getSimpleName() : pjp.getSignature().getDeclaringTypeName();
+                event.method = pjp.getSignature().getName();
+                event.outcome = error == null ? "success" : error.getClass().getSimpleName();
+                event.commit();
+            }
+        }
+    }
+
+    static String amountBucket(BigDecimal amount) {
+        if (amount == null) return null;
+        if (amount.compareTo(HUNDRED) < 0) return "<100";
+        if (amount.compareTo(THOUSAND) < 0) return "100-1K";
+        if (amount.compareTo(TEN_THOUSAND) < 0) return "1K-10K";
+        if (amount.compareTo(HUNDRED_THOUSAND) < 0) return "10K-100K";
+        return ">=100K";
+    }
+
+    private static long orZero(Long id) {
+        return id == null ? 0L : id;
+    }
+}
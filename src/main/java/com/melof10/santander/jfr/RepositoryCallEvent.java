@@ -0,0 +1,22 @@
+package com.melof10.santander.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.melof10.santander.RepositoryCall")
+@Label("Repository Call")
+@Description("Call to a Spring Data JPA repository method")
+@Category({"Santander", "Persistence"})
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,33 @@
+package com.melof10.santander.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.melof10.santander.Transaction")
+@Label("Transaction")
+@Description("Execution of a deposit, withdrawal or transfer, including the commit")
+@Category({"Santander", "Service"})
+@StackTrace(false)
+public class TransactionEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Type")
+    public String type;
+
+    @Label("Source Account")
+    public long sourceAccountId;
+
+    @Label("Destination Account")
+    public long destinationAccountId;
+
+    @Label("Amount Bucket")
+    public String amountBucket;
+
+    @Label("Outcome")
+    public String outcome;
+}
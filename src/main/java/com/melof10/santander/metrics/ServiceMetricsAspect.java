@@ -0,0 +1,117 @@
+package com.melof10.santander.metrics;
+
+import com.melof10.santander.entity.Transaction;
+import com.melof10.santander.exception.BusinessException;
+import com.melof10.santander.exception.DuplicateResourceException;
+import com.melof10.santander.exception.InvalidFieldsException;
+import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.exception.PreconditionFailedException;
+import com.melof10.santander.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Observes every public service method as {@code santander.service} (tagged by service, method and
+ * outcome), which yields both the timer and a {@code Service.method} span, times the pessimistic
+ * {@code AccountRepository.findById} ({@code santander.account.lock.wait}) and records the amount of
+ * each created transaction by type ({@code santander.transactions.amount}).
+ * Runs outside the transactional proxy so the timings include the commit. For Mono/Flux results the
+ * observation is stopped on termination and handed to the Reactor context, so the WebClient calls
+ * made by the publisher become its child spans.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private static final Set<String> CREATING_METHODS = Set.of("create", "transfer");
+
+    private final MeterRegistry registry;
+    private final ObservationRegistry observationRegistry;
+
+    @Around("execution(public * com.melof10.santander.service.impl.*ServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint pjp) throws Throwable {
+        String service = pjp.getTarget().getClass().getSimpleName().replace("Impl", "");
+        String method = pjp.getSignature().getName();
+        Observation observation = Observation.createNotStarted("santander.service", observationRegistry)
+                .contextualName(service + "." + method)
+                .lowCardinalityKeyValue("service", service)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        Object result;
+        try (Observation.Scope scope = observation.openScope()) {
+            result = pjp.proceed();
+        } catch (Throwable e) {
+            stop(observation, outcome(e), e);
+            throw e;
+        }
+
+        if (result instanceof Mono<?> mono) {
+            return mono
+                    .doOnSuccess(value -> stop(observation, outcome(null), null))
+                    .doOnError(e -> stop(observation, outcome(e), e))
+                    .doOnCancel(() -> stop(observation, "cancelled", null))
+                    .contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation));
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux
+                    .doOnComplete(() -> stop(observation, outcome(null), null))
+                    .doOnError(e -> stop(observation, outcome(e), e))
+                    .doOnCancel(() -> stop(observation, "cancelled", null))
+                    .contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation));
+        }
+        stop(observation, outcome(null), null);
+        if (CREATING_METHODS.contains(method) && result instanceof Transaction tx && tx.getAmount() != null) {
+            DistributionSummary.builder("santander.transactions.amount")
+                    .tag("type", tx.getType().name())
+                    .register(registry)
+                    .record(tx.getAmount().toBigDecimal().doubleValue());
+        }
+        return result;
+    }
+
+    @Around("execution(* com.melof10.santander.repository.AccountRepository.findById(..))")
+    public Object timeLockWait(ProceedingJoinPoint pjp) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            return pjp.proceed();
+        } finally {
+            sample.stop(registry.timer("santander.account.lock.wait"));
+        }
+    }
+
+    private static void stop(Observation observation, String outcome, Throwable error) {
+        observation.lowCardinalityKeyValue("outcome", outcome);
+        if (error != null) {
+            observation.error(error);
+        }
+        observation.stop();
+    }
+
+    public static String outcome(Throwable error) {
+        if (error == null) return "success";
+        if (error instanceof NotFoundException) return "not_found";
+        if (error instanceof BusinessException) return "business";
+        if (error instanceof DuplicateResourceException) return "duplicate";
+        if (error instanceof UpstreamUnavailableException) return "upstream_unavailable";
+        if (error instanceof PreconditionFailedException) return "precondition_failed";
+        if (error instanceof InvalidFieldsException) return "invalid_fields";
+        return "error";
+    }
+}
@@ -0,0 +1,44 @@
+package com.melof10.santander.money;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+public class MoneyDeserializer extends StdDeserializer<Money> {
+
+    public MoneyDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
+        JsonToken token = p.currentToken();
+        BigDecimal amount;
+        if (token == JsonToken.VALUE_NUMBER_INT && p.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            try {
+                return Money.ofCents(Math.multiplyExact(p.getLongValue(), 100L));
+            } catch (ArithmeticException e) {
+                return (Money) ctx.handleWeirdNumberValue(Money.class, p.getNumberValue(), e.getMessage());
+            }
+        } else if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            amount = p.getDecimalValue();
+        } else if (token == JsonToken.VALUE_STRING) {
+            try {
+                amount = new BigDecimal(p.getText().trim());
+            } catch (NumberFormatException e) {
+                return (Money) ctx.handleWeirdStringValue(Money.class, p.getText(), "no es un monto válido");
+            }
+        } else {
+            return (Money) ctx.handleUnexpectedToken(Money.class, p);
+        }
+        try {
+            return Money.of(amount);
+        } catch (ArithmeticException e) {
+            return (Money) ctx.handleWeirdNumberValue(Money.class, amount, "monto con más de 2 decimales o fuera de rango");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.melof10.santander.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public class MoneySerializer extends StdSerializer<Money> {
+
+    public MoneySerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        // CBOR and Smile write a preformatted number as text; they get the decimal itself.
+        if (gen.canWriteFormattedNumbers()) {
+            gen.writeNumber(value.toString());
+        } else {
+            gen.writeNumber(value.toBigDecimal());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.melof10.santander.numbering;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Server-side account and card numbers.
+ * <p>
+ * Account numbers are 22-digit CBUs: bank and branch code plus check digit, then a random
+ * 13-digit account plus check digit (weights 3-1-7-9 from the rightmost digit). Card numbers are
+ * the configured BIN, random digits and a Luhn check digit.
+ */
+@Component
+public class NumberGenerator {
+
+    public static final int CARD_LENGTH = 16;
+
+    private static final int[] CBU_WEIGHTS = {3, 1, 7, 9};
+    private static final int MAX_ROUNDS = 5;
+
+    private final String cardBin;
+    private final String cbuPrefix;
+
+    public NumberGenerator(@Value("${santander.issuance.card-bin}") String cardBin,
+                           @Value("${santander.issuance.bank-code}") String bankCode,
+                           @Value("${santander.issuance.branch-code}") String branchCode) {
+        if (!cardBin.matches("\\d{6,8}") || !bankCode.matches("\\d{3}") || !branchCode.matches("\\d{4}")) {
+            throw new IllegalArgumentException("BIN, banco o sucursal inválidos: " + cardBin + "/" + bankCode + "/" + branchCode);
+        }
+        this.cardBin = cardBin;
+        String bankBlock = bankCode + branchCode;
+        this.cbuPrefix = bankBlock + cbuCheckDigit(bankBlock);
+    }
+
+    public String nextCardNumber() {
+        String payload = cardBin + randomDigits(CARD_LENGTH - cardBin.length() - 1);
+        return payload + luhnCheckDigit(payload);
+    }
+
+    public String nextAccountNumber() {
+        String account = randomDigits(13);
+        return cbuPrefix + account + cbuCheckDigit(account);
+    }
+
+    /**
+     * Assigns {@code next} numbers to {@code items} in parallel and regenerates the ones that repeat
+     * within the batch or already exist ({@code taken} is queried once per round).
+     */
+    public <T> void assign(List<T> items, BiConsumer<T, String> setNumber, Function<T, String> number,
+                           Supplier<String> next, Function<Collection<String>, Collection<String>> taken) {
+        List<T> pending = items;
+        for (int round = 0; round < MAX_ROUNDS && !pending.isEmpty(); round++) {
+            pending.parallelStream().forEach(item -> setNumber.accept(item, next.get()));
+            Set<String> conflicts = new HashSet<>(taken.apply(pending.stream().map(number).toList()));
+            Set<String> seen = new HashSet<>();
+            for (T item : items) {
+                if (!seen.add(number.apply(item))) {
+                    conflicts.add(number.apply(item));
+                }
+            }
+            pending = pending.stream().filter(item -> conflicts.contains(number.apply(item))).toList();
+        }
+    }
+
+    public static boolean isLuhnValid(String number) {
+        return number != null && number.matches("\\d{2,19}")
+                && luhnCheckDigit(number.substring(0, number.length() - 1)) == number.charAt(number.length() - 1) - '0';
+    }
+
+    public static boolean isValidCbu(String cbu) {
+        return cbu != null && cbu.matches("\\d{22}")
+                && cbuCheckDigit(cbu.substring(0, 7)) == cbu.charAt(7) - '0'
+                && cbuCheckDigit(cbu.substring(8, 21)) == cbu.charAt(21) - '0';
+    }
+
+    static int luhnCheckDigit(String payload) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            int digit = payload.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) digit -= 9;
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    static int cbuCheckDigit(String digits) {
+        int sum = 0;
+        for (int i = digits.length() - 1, k = 0; i >= 0; i--, k++) {
+            sum += (digits.charAt(i) - '0') * CBU_WEIGHTS[k % CBU_WEIGHTS.length];
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static String randomDigits(int length) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder digits = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            digits.append((char) ('0' + random.nextInt(10)));
+        }
+        return digits.toString();
+    }
+}
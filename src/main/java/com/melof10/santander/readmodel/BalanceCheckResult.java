@@ -0,0 +1,16 @@
+package com.melof10.santander.readmodel;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record BalanceCheckResult(
+        long checked,
+        long missing,
+        long stale,
+        long orphaned,
+        long elapsedMs
+) {
+    @JsonProperty
+    public long repaired() {
+        return missing + stale + orphaned;
+    }
+}
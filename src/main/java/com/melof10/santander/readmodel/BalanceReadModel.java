@@ -0,0 +1,139 @@
+package com.melof10.santander.readmodel;
+
+import com.melof10.santander.controller.response.AccountBalance;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.event.AccountBalanceChanged;
+import com.melof10.santander.event.AccountsDeleted;
+import com.melof10.santander.money.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory balance and version of every live account, served by {@code GET /api/accounts/{id}/balance}
+ * without touching the database.
+ * <p>
+ * It is rebuilt from {@code cuenta} at startup and kept current by the services' events, applied
+ * after commit so a rolled back write is never seen. An entry is only replaced by one with a higher
+ * version, so events and reloads may arrive in any order. A miss (an account written outside the
+ * services) is loaded from the database once; {@link #check} compares the whole model with the
+ * table and repairs what differs.
+ */
+@Slf4j
+@Component
+public class BalanceReadModel implements SmartInitializingSingleton {
+
+    private static final String METRIC_PREFIX = "santander.readmodel.balance";
+    private static final String SELECT = "select id, balance, version from cuenta where deleted_at is null";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ConcurrentMap<Long, AccountBalance> balances = new ConcurrentHashMap<>();
+    private final Counter misses;
+
+    public BalanceReadModel(NamedParameterJdbcTemplate jdbc, MeterRegistry registry) {
+        this.jdbc = jdbc;
+        this.misses = Counter.builder(METRIC_PREFIX + ".misses").register(registry);
+        Gauge.builder(METRIC_PREFIX + ".size", balances, Map::size).register(registry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.nanoTime();
+        jdbc.query(SELECT, rs -> {
+            apply(row(rs));
+        });
+        log.info("Modelo de saldos cargado: {} cuentas en {} ms",
+                balances.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    public Optional<AccountBalance> get(Long accountId) {
+        AccountBalance balance = balances.get(accountId);
+        if (balance != null) {
+            return Optional.of(balance);
+        }
+        misses.increment();
+        return jdbc.query(SELECT + " and id = :id", Map.of("id", accountId), (rs, i) -> row(rs)).stream()
+                .findFirst()
+                .map(this::apply);
+    }
+
+    /** Reloads accounts whose balance was changed with plain SQL, after that change committed. */
+    public void refresh(Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        Set<Long> gone = new HashSet<>(accountIds);
+        jdbc.query(SELECT + " and id in (:ids)", Map.of("ids", accountIds), rs -> {
+            gone.remove(apply(row(rs)).accountId());
+        });
+        gone.forEach(balances::remove);
+    }
+
+    @TransactionalEventListener
+    public void on(AccountBalanceChanged event) {
+        Account account = event.account();
+        apply(new AccountBalance(account.getId(), account.getBalance(), account.getVersion()));
+    }
+
+    @TransactionalEventListener
+    public void on(AccountsDeleted event) {
+        event.accountIds().forEach(balances::remove);
+    }
+
+    /**
+     * Compares every live account with the model: adds the missing ones, replaces entries older than
+     * the table (or with the same version and another balance) and drops the deleted accounts.
+     */
+    public BalanceCheckResult check() {
+        long started = System.nanoTime();
+        Set<Long> seen = new HashSet<>();
+        long[] counts = new long[2];
+        jdbc.query(SELECT, rs -> {
+            AccountBalance stored = row(rs);
+            seen.add(stored.accountId());
+            AccountBalance current = balances.get(stored.accountId());
+            if (current == null) {
+                counts[0]++;
+            } else if (current.version() < stored.version()
+                    || current.version() == stored.version() && !current.balance().equals(stored.balance())) {
+                counts[1]++;
+                balances.remove(stored.accountId(), current);
+            }
+            apply(stored);
+        });
+        long orphaned = balances.keySet().stream().filter(id -> !seen.contains(id) && balances.remove(id) != null).count();
+
+        BalanceCheckResult result = new BalanceCheckResult(seen.size(), counts[0], counts[1], orphaned,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (result.repaired() > 0) {
+            log.warn("Modelo de saldos corregido: {} faltantes, {} desactualizadas, {} dadas de baja sobre {} cuentas",
+                    result.missing(), result.stale(), result.orphaned(), result.checked());
+        }
+        return result;
+    }
+
+    private AccountBalance apply(AccountBalance balance) {
+        return balances.merge(balance.accountId(), balance,
+                (current, next) -> next.version() > current.version() ? next : current);
+    }
+
+    private static AccountBalance row(ResultSet rs) throws SQLException {
+        return new AccountBalance(rs.getLong(1), Money.of(rs.getBigDecimal(2)), rs.getLong(3));
+    }
+}
@@ -4,8 +4,12 @@ import com.melof10.santander.entity.Account;
 import com.melof10.santander.enums.AccountType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,13 +17,32 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    /** Both number checks read the table directly, so accounts already marked as deleted are included. */
+    @Query(nativeQuery = true, value = "select count(*) > 0 from cuenta where account_number = :accountNumber")
     boolean existsByAccountNumber(String accountNumber);
 
+    @Query(nativeQuery = true, value = "select account_number from cuenta where account_number in (:accountNumbers)")
+    List<String> findExistingAccountNumbers(Collection<String> accountNumbers);
+
     List<Account> findByCustomer_Id(Long customerId);
 
+    @Query("SELECT a.id FROM Account a WHERE a.customer.id = :customerId")
+    List<Long> findIdsByCustomerId(Long customerId);
+
     List<Account> findByCustomer_IdAndAccountType(Long customerId, AccountType accountType);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<Account> findById(Long id);
+
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findUnlockedById(Long id);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.deletedAt = :deletedAt WHERE a.id = :id AND a.deletedAt IS NULL")
+    int softDeleteById(Long id, LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.deletedAt = :deletedAt WHERE a.customer.id = :customerId AND a.deletedAt IS NULL")
+    int softDeleteByCustomerId(Long customerId, LocalDateTime deletedAt);
 }
 
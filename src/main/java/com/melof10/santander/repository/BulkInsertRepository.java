@@ -0,0 +1,90 @@
+package com.melof10.santander.repository;
+
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Card;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * JDBC batch inserts for bulk issuance. JPA cannot batch inserts of {@code IDENTITY} entities, so
+ * rows are sent in batches of {@code santander.issuance.batch-size} and the generated ids are set
+ * back on the entities. Runs in the caller's transaction.
+ */
+@Repository
+public class BulkInsertRepository {
+
+    private static final String INSERT_ACCOUNT = """
+            insert into cuenta (account_number, account_type, balance, opening_balance, open_date, id_cliente, version)
+            values (?, ?, ?, ?, ?, ?, 0)""";
+    private static final String INSERT_CARD = """
+            insert into tarjeta (card_number, card_type, expiration_date, credit_limit, id_cliente, version)
+            values (?, ?, ?, ?, ?, 0)""";
+
+    private final JdbcTemplate jdbc;
+    private final int batchSize;
+
+    public BulkInsertRepository(JdbcTemplate jdbc, @Value("${santander.issuance.batch-size}") int batchSize) {
+        this.jdbc = jdbc;
+        this.batchSize = batchSize;
+    }
+
+    public void insertAccounts(List<Account> accounts) {
+        accounts.forEach(a -> {
+            a.initDefaults();
+            a.setVersion(0L);
+        });
+        insert(INSERT_ACCOUNT, accounts, (ps, a) -> {
+            ps.setString(1, a.getAccountNumber());
+            ps.setString(2, a.getAccountType().name());
+            ps.setBigDecimal(3, a.getBalance().toBigDecimal());
+            ps.setBigDecimal(4, a.getOpeningBalance().toBigDecimal());
+            ps.setDate(5, Date.valueOf(a.getOpenDate()));
+            ps.setLong(6, a.getCustomer().getId());
+        }, Account::setId);
+    }
+
+    public void insertCards(List<Card> cards) {
+        cards.forEach(c -> c.setVersion(0L));
+        insert(INSERT_CARD, cards, (ps, c) -> {
+            ps.setString(1, c.getCardNumber());
+            ps.setString(2, c.getCardType().name());
+            ps.setDate(3, Date.valueOf(c.getExpirationDate()));
+            ps.setBigDecimal(4, c.getCreditLimit());
+            ps.setLong(5, c.getCustomer().getId());
+        }, Card::setId);
+    }
+
+    private <T> void insert(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> bind, BiConsumer<T, Long> setId) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<T> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbc.batchUpdate(con -> con.prepareStatement(sql, new String[]{"id"}), new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    bind.setValues(ps, batch.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            }, keys);
+            List<Map<String, Object>> ids = keys.getKeyList();
+            for (int i = 0; i < batch.size(); i++) {
+                setId.accept(batch.get(i), ((Number) ids.get(i).values().iterator().next()).longValue());
+            }
+        }
+    }
+}
@@ -3,7 +3,11 @@ package com.melof10.santander.repository;
 import com.melof10.santander.entity.Card;
 import com.melof10.santander.enums.CardType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,10 +15,21 @@ public interface CardRepository extends JpaRepository<Card, Long> {
 
     Optional<Card> findByCardNumber(String cardNumber);
 
+    @Query(nativeQuery = true, value = "select count(*) > 0 from tarjeta where card_number = :cardNumber")
     boolean existsByCardNumber(String cardNumber);
 
+    @Query(nativeQuery = true, value = "select card_number from tarjeta where card_number in (:cardNumbers)")
+    List<String> findExistingCardNumbers(Collection<String> cardNumbers);
+
     List<Card> findByCustomer_Id(Long customerId);
 
+    @Query("SELECT c.version FROM Card c WHERE c.id = :id")
+    Optional<Long> findVersionById(Long id);
+
     List<Card> findByCustomer_IdAndCardType(Long customerId, CardType cardType);
+
+    @Modifying
+    @Query("UPDATE Card c SET c.deletedAt = :deletedAt WHERE c.customer.id = :customerId AND c.deletedAt IS NULL")
+    int softDeleteByCustomerId(Long customerId, LocalDateTime deletedAt);
 }
 
@@ -4,15 +4,39 @@ import com.melof10.santander.entity.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     Optional<Customer> findByDocument(String document);
 
+    /** Native so that soft-deleted customers count: the unique index keeps their document until the purge. */
+    @Query(nativeQuery = true, value = "select count(*) > 0 from cliente where document = :document")
     boolean existsByDocument(String document);
 
     Page<Customer> findByLastNameContainingIgnoreCase(String lastName, Pageable pageable);
+
+    /**
+     * Version tag of the customer representation, which embeds its accounts and cards: the customer
+     * version plus, per child table, the row count, the highest id and the sum of versions. Versions
+     * and ids only grow, so any update, addition or deletion of a child changes the tag.
+     */
+    @Query(nativeQuery = true, value = """
+            select concat_ws('.', c.version, a.n, a.last_id, a.versions, t.n, t.last_id, t.versions)
+            from cliente c
+            cross join (select count(*) n, coalesce(max(id), 0) last_id, coalesce(sum(version), 0) versions
+                        from cuenta where id_cliente = :id and deleted_at is null) a
+            cross join (select count(*) n, coalesce(max(id), 0) last_id, coalesce(sum(version), 0) versions
+                        from tarjeta where id_cliente = :id and deleted_at is null) t
+            where c.id = :id and c.deleted_at is null""")
+    Optional<String> findVersionTagById(Long id);
+
+    @Modifying
+    @Query("UPDATE Customer c SET c.deletedAt = :deletedAt WHERE c.id = :id AND c.deletedAt IS NULL")
+    int softDeleteById(Long id, LocalDateTime deletedAt);
 }
 
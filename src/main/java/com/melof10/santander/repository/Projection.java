@@ -0,0 +1,125 @@
+package com.melof10.santander.repository;
+
+import com.melof10.santander.exception.InvalidFieldsException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The properties each resource can return through {@code ?fields=}, with the column and Java type
+ * behind each one. Property names are the ones of the full JSON representation, except for the
+ * account ids of a transaction, which are flattened as in {@code TransactionView}.
+ */
+public enum Projection {
+
+    CUSTOMER("cliente", true, null, Map.of(
+            "id", new Column("id", Long.class),
+            "firstName", new Column("first_name", String.class),
+            "lastName", new Column("last_name", String.class),
+            "document", new Column("document", String.class),
+            "email", new Column("email", String.class),
+            "phone", new Column("phone", String.class),
+            "version", new Column("version", Long.class))),
+
+    ACCOUNT("cuenta", true, "id_cliente", Map.of(
+            "id", new Column("id", Long.class),
+            "accountNumber", new Column("account_number", String.class),
+            "accountType", new Column("account_type", String.class),
+            "balance", new Column("balance", BigDecimal.class),
+            "openingBalance", new Column("opening_balance", BigDecimal.class),
+            "openDate", new Column("open_date", LocalDate.class),
+            "version", new Column("version", Long.class))),
+
+    CARD("tarjeta", true, "id_cliente", Map.of(
+            "id", new Column("id", Long.class),
+            "cardNumber", new Column("card_number", String.class),
+            "cardType", new Column("card_type", String.class),
+            "expirationDate", new Column("expiration_date", LocalDate.class),
+            "creditLimit", new Column("credit_limit", BigDecimal.class),
+            "version", new Column("version", Long.class))),
+
+    TRANSACTION(TransactionArchive.HOT, false, null, Map.of(
+            "id", new Column("id", Long.class),
+            "date", new Column("date", LocalDateTime.class),
+            "amount", new Column("amount", BigDecimal.class),
+            "type", new Column("type", String.class),
+            "sourceAccountId", new Column("id_cuenta_origen", Long.class),
+            "destinationAccountId", new Column("id_cuenta_destino", Long.class)));
+
+    public record Column(String name, Class<?> type) {
+    }
+
+    /** A requested property and the column it is read from. */
+    public record Field(String property, Column column) {
+    }
+
+    private final String table;
+    private final boolean softDeleted;
+    private final String customerColumn;
+    private final Map<String, Column> columns;
+
+    Projection(String table, boolean softDeleted, String customerColumn, Map<String, Column> columns) {
+        this.table = table;
+        this.softDeleted = softDeleted;
+        this.customerColumn = customerColumn;
+        this.columns = columns;
+    }
+
+    String table() {
+        return table;
+    }
+
+    /** Condition every query adds, so rows marked as deleted stay hidden as they are from JPA. */
+    String visible() {
+        return softDeleted ? "deleted_at is null" : "1 = 1";
+    }
+
+    String customerColumn() {
+        if (customerColumn == null) {
+            throw new IllegalStateException(name() + " no pertenece a un cliente");
+        }
+        return customerColumn;
+    }
+
+    public Set<String> properties() {
+        return new TreeSet<>(columns.keySet());
+    }
+
+    /**
+     * The requested properties in request order, without blanks or repeats.
+     *
+     * @throws InvalidFieldsException when none is left or one of them does not exist
+     */
+    public List<Field> resolve(List<String> requested) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : requested) {
+            if (!name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+        if (names.isEmpty()) {
+            throw new InvalidFieldsException("El parámetro fields está vacío", properties());
+        }
+        List<Field> fields = new ArrayList<>(names.size());
+        List<String> unknown = new ArrayList<>();
+        for (String name : names) {
+            Column column = columns.get(name);
+            if (column == null) {
+                unknown.add(name);
+            } else {
+                fields.add(new Field(name, column));
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new InvalidFieldsException("Campos inexistentes: " + String.join(", ", unknown), properties());
+        }
+        return fields;
+    }
+}
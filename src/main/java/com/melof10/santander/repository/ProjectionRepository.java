@@ -0,0 +1,69 @@
+package com.melof10.santander.repository;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldsets ({@code ?fields=}) read straight from the tables. Only the requested columns are
+ * selected, always in the same column order so every field ordering shares one statement shape, and
+ * each row becomes a map keyed by property in the requested order, so no entity, association or
+ * persistence-context entry is created. Property names are checked against the
+ * {@link Projection} before any SQL is built.
+ */
+@Repository
+public class ProjectionRepository {
+
+    private static final Comparator<Projection.Field> SELECT_ORDER = Comparator.comparing(f -> f.column().name());
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ProjectionRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public List<Map<String, Object>> findAll(Projection projection, List<String> fields) {
+        return query(projection, fields, "1 = 1", Map.of());
+    }
+
+    public Optional<Map<String, Object>> findById(Projection projection, List<String> fields, Long id) {
+        return query(projection, fields, "id = :id", Map.of("id", id)).stream().findFirst();
+    }
+
+    public List<Map<String, Object>> findByIds(Projection projection, List<String> fields, Collection<Long> ids) {
+        return query(projection, fields, "id in (:ids)", Map.of("ids", ids));
+    }
+
+    public List<Map<String, Object>> findByCustomerId(Projection projection, List<String> fields, Long customerId) {
+        return query(projection, fields, projection.customerColumn() + " = :customerId", Map.of("customerId", customerId));
+    }
+
+    private List<Map<String, Object>> query(Projection projection, List<String> requested, String where, Map<String, ?> params) {
+        List<Projection.Field> fields = projection.resolve(requested);
+        List<Projection.Field> selected = fields.stream().sorted(SELECT_ORDER).toList();
+        String columns = selected.stream().map(f -> f.column().name()).collect(Collectors.joining(", "));
+        String sql = "select " + columns + " from " + projection.table()
+                + " where " + projection.visible() + " and " + where + " order by id";
+        return jdbc.query(sql, params, rowMapper(fields, selected));
+    }
+
+    private static RowMapper<Map<String, Object>> rowMapper(List<Projection.Field> fields, List<Projection.Field> selected) {
+        int[] positions = fields.stream().mapToInt(f -> selected.indexOf(f) + 1).toArray();
+        return (rs, rowNum) -> {
+            Map<String, Object> row = LinkedHashMap.newLinkedHashMap(fields.size());
+            for (int i = 0; i < fields.size(); i++) {
+                Projection.Field field = fields.get(i);
+                row.put(field.property(), rs.getObject(positions[i], field.column().type()));
+            }
+            return row;
+        };
+    }
+}
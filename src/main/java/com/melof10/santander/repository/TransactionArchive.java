@@ -0,0 +1,68 @@
+package com.melof10.santander.repository;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Hot/cold split of the ledger. {@code transaccion} keeps the recent rows and
+ * {@code transaccion_archivo} the ones moved by the archive job, all older than {@link #horizon()}.
+ * Ledger queries build their SQL through {@link #select} so the archive is only read when the
+ * requested range starts before the horizon.
+ */
+@Component
+public class TransactionArchive implements SmartInitializingSingleton {
+
+    public static final String HOT = "transaccion";
+    public static final String COLD = "transaccion_archivo";
+
+    private final JdbcTemplate jdbc;
+    private final AtomicReference<LocalDateTime> horizon = new AtomicReference<>();
+
+    public TransactionArchive(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        LocalDateTime newest = jdbc.queryForObject("select max(date) from " + COLD, LocalDateTime.class);
+        if (newest != null) {
+            extendTo(newest.plusNanos(1));
+        }
+    }
+
+    /** Every archived row is dated before the horizon; {@code null} while nothing was archived. */
+    public LocalDateTime horizon() {
+        return horizon.get();
+    }
+
+    /** Called by the archive job before it moves rows dated before {@code cutoff}. */
+    public void extendTo(LocalDateTime cutoff) {
+        horizon.accumulateAndGet(cutoff, (current, next) -> current == null || next.isAfter(current) ? next : current);
+    }
+
+    public boolean reaches(LocalDateTime from) {
+        LocalDateTime current = horizon.get();
+        return current != null && (from == null || from.isBefore(current));
+    }
+
+    /** The ledger tables a query starting at {@code from} ({@code null}: no lower bound) has to read. */
+    public List<String> tables(LocalDateTime from) {
+        return reaches(from) ? List.of(HOT, COLD) : List.of(HOT);
+    }
+
+    /**
+     * {@code select <columns> from <table> where <where>} over {@link #tables}, joined with
+     * {@code union all}. The condition is repeated in each branch so both tables use their indexes.
+     */
+    public String select(String columns, String where, LocalDateTime from) {
+        return tables(from).stream()
+                .map(table -> "select " + columns + " from " + table + " where " + where)
+                .collect(Collectors.joining(" union all "));
+    }
+}
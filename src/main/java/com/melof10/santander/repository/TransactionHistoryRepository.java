@@ -0,0 +1,19 @@
+package com.melof10.santander.repository;
+
+import com.melof10.santander.controller.response.TransactionView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Ledger history of an account across the hot table and the archive: the archive is only queried
+ * when the date range (or, for {@link #findRecent}, the number of rows asked for) reaches it.
+ */
+public interface TransactionHistoryRepository {
+
+    Page<TransactionView> findStatement(Long accountId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    List<TransactionView> findRecent(Long accountId, int limit);
+}
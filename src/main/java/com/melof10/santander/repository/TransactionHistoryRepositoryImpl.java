@@ -0,0 +1,63 @@
+package com.melof10.santander.repository;
+
+import com.melof10.santander.controller.response.TransactionView;
+import com.melof10.santander.enums.TransactionType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class TransactionHistoryRepositoryImpl implements TransactionHistoryRepository {
+
+    private static final String COLUMNS = "id, date, amount, type, id_cuenta_origen, id_cuenta_destino";
+    private static final String BY_ACCOUNT = "(id_cuenta_origen = :accountId or id_cuenta_destino = :accountId)";
+    private static final String ORDER = " order by date desc, id desc";
+
+    private static final RowMapper<TransactionView> VIEW = (rs, i) -> new TransactionView(
+            rs.getLong("id"),
+            rs.getObject("date", LocalDateTime.class),
+            rs.getBigDecimal("amount"),
+            TransactionType.valueOf(rs.getString("type")),
+            rs.getObject("id_cuenta_origen", Long.class),
+            rs.getObject("id_cuenta_destino", Long.class));
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionArchive archive;
+
+    TransactionHistoryRepositoryImpl(NamedParameterJdbcTemplate jdbc, TransactionArchive archive) {
+        this.jdbc = jdbc;
+        this.archive = archive;
+    }
+
+    @Override
+    public Page<TransactionView> findStatement(Long accountId, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        String rows = archive.select(COLUMNS, BY_ACCOUNT + " and date between :from and :to", from);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accountId", accountId)
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+        List<TransactionView> page = jdbc.query(rows + ORDER + " limit :limit offset :offset", params, VIEW);
+        return PageableExecutionUtils.getPage(page, pageable,
+                () -> jdbc.queryForObject("select count(*) from (" + rows + ") t", params, Long.class));
+    }
+
+    @Override
+    public List<TransactionView> findRecent(Long accountId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accountId", accountId)
+                .addValue("limit", limit);
+        List<TransactionView> recent = jdbc.query(
+                "select " + COLUMNS + " from " + TransactionArchive.HOT + " where " + BY_ACCOUNT + ORDER + " limit :limit", params, VIEW);
+        if (recent.size() < limit && archive.horizon() != null) {
+            recent = jdbc.query(archive.select(COLUMNS, BY_ACCOUNT, null) + ORDER + " limit :limit", params, VIEW);
+        }
+        return recent;
+    }
+}
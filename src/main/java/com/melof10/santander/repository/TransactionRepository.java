@@ -10,8 +10,9 @@ import org.springframework.data.jpa.repository.Query;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionHistoryRepository {
 
     Page<Transaction> findBySourceAccount_IdOrDestinationAccount_IdOrderByDateDesc(
             Long sourceAccountId, Long destinationAccountId, Pageable pageable);
@@ -45,5 +46,14 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
            left join fetch t.destinationAccount
            """)
     List<Transaction> findAllWithAccounts();
+
+    @Query("""
+           select t
+           from Transaction t
+           left join fetch t.sourceAccount
+           left join fetch t.destinationAccount
+           where t.id = :id
+           """)
+    Optional<Transaction> findWithAccountsById(Long id);
 }
 
@@ -0,0 +1,57 @@
+package com.melof10.santander.repository.reactive;
+
+import com.melof10.santander.controller.response.AccountView;
+import com.melof10.santander.enums.AccountType;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Repository
+@RequiredArgsConstructor
+public class AccountReadRepository {
+
+    private static final String SELECT = """
+            SELECT id, account_number, account_type, balance, open_date, id_cliente
+            FROM cuenta
+            WHERE deleted_at IS NULL
+            """;
+
+    private final DatabaseClient readDatabaseClient;
+
+    public Mono<AccountView> findById(Long id) {
+        return readDatabaseClient.sql(SELECT + " AND id = :id")
+                .bind("id", id)
+                .map(AccountReadRepository::map)
+                .one();
+    }
+
+    public Flux<AccountView> findAll() {
+        return readDatabaseClient.sql(SELECT + " ORDER BY id")
+                .map(AccountReadRepository::map)
+                .all();
+    }
+
+    public Flux<AccountView> findByCustomerId(Long customerId) {
+        return readDatabaseClient.sql(SELECT + " AND id_cliente = :customerId ORDER BY id")
+                .bind("customerId", customerId)
+                .map(AccountReadRepository::map)
+                .all();
+    }
+
+    private static AccountView map(Readable row) {
+        return new AccountView(
+                row.get("id", Long.class),
+                row.get("account_number", String.class),
+                AccountType.valueOf(row.get("account_type", String.class)),
+                row.get("balance", BigDecimal.class),
+                row.get("open_date", LocalDate.class),
+                row.get("id_cliente", Long.class)
+        );
+    }
+}
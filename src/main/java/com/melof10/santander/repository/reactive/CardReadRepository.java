@@ -0,0 +1,57 @@
+package com.melof10.santander.repository.reactive;
+
+import com.melof10.santander.controller.response.CardView;
+import com.melof10.santander.enums.CardType;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Repository
+@RequiredArgsConstructor
+public class CardReadRepository {
+
+    private static final String SELECT = """
+            SELECT id, card_number, card_type, expiration_date, credit_limit, id_cliente
+            FROM tarjeta
+            WHERE deleted_at IS NULL
+            """;
+
+    private final DatabaseClient readDatabaseClient;
+
+    public Mono<CardView> findById(Long id) {
+        return readDatabaseClient.sql(SELECT + " AND id = :id")
+                .bind("id", id)
+                .map(CardReadRepository::map)
+                .one();
+    }
+
+    public Flux<CardView> findAll() {
+        return readDatabaseClient.sql(SELECT + " ORDER BY id")
+                .map(CardReadRepository::map)
+                .all();
+    }
+
+    public Flux<CardView> findByCustomerId(Long customerId) {
+        return readDatabaseClient.sql(SELECT + " AND id_cliente = :customerId ORDER BY id")
+                .bind("customerId", customerId)
+                .map(CardReadRepository::map)
+                .all();
+    }
+
+    private static CardView map(Readable row) {
+        return new CardView(
+                row.get("id", Long.class),
+                row.get("card_number", String.class),
+                CardType.valueOf(row.get("card_type", String.class)),
+                row.get("expiration_date", LocalDate.class),
+                row.get("credit_limit", BigDecimal.class),
+                row.get("id_cliente", Long.class)
+        );
+    }
+}
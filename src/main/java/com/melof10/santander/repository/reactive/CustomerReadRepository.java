@@ -0,0 +1,53 @@
+package com.melof10.santander.repository.reactive;
+
+import com.melof10.santander.controller.response.CustomerView;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerReadRepository {
+
+    private static final String SELECT = """
+            SELECT id, first_name, last_name, document, email, phone
+            FROM cliente
+            WHERE deleted_at IS NULL
+            """;
+
+    private final DatabaseClient readDatabaseClient;
+
+    public Mono<CustomerView> findById(Long id) {
+        return readDatabaseClient.sql(SELECT + " AND id = :id")
+                .bind("id", id)
+                .map(CustomerReadRepository::map)
+                .one();
+    }
+
+    public Mono<CustomerView> findByDocument(String document) {
+        return readDatabaseClient.sql(SELECT + " AND document = :document")
+                .bind("document", document)
+                .map(CustomerReadRepository::map)
+                .one();
+    }
+
+    public Flux<CustomerView> findAll() {
+        return readDatabaseClient.sql(SELECT + " ORDER BY id")
+                .map(CustomerReadRepository::map)
+                .all();
+    }
+
+    private static CustomerView map(Readable row) {
+        return new CustomerView(
+                row.get("id", Long.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("document", String.class),
+                row.get("email", String.class),
+                row.get("phone", String.class)
+        );
+    }
+}
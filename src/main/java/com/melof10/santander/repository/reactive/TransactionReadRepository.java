@@ -0,0 +1,63 @@
+package com.melof10.santander.repository.reactive;
+
+import com.melof10.santander.controller.response.TransactionView;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.repository.TransactionArchive;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+@RequiredArgsConstructor
+public class TransactionReadRepository {
+
+    private static final String COLUMNS = "id, date, amount, type, id_cuenta_origen, id_cuenta_destino";
+    private static final String SELECT = """
+            SELECT id, date, amount, type, id_cuenta_origen, id_cuenta_destino
+            FROM transaccion
+            """;
+
+    private final DatabaseClient readDatabaseClient;
+    private final TransactionArchive transactionArchive;
+
+    public Mono<TransactionView> findById(Long id) {
+        return readDatabaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(TransactionReadRepository::map)
+                .one();
+    }
+
+    public Flux<TransactionView> findAll() {
+        return readDatabaseClient.sql(SELECT + " ORDER BY id")
+                .map(TransactionReadRepository::map)
+                .all();
+    }
+
+    public Flux<TransactionView> findStatementBetweenDates(Long accountId, LocalDateTime from, LocalDateTime to) {
+        return readDatabaseClient.sql(transactionArchive.select(COLUMNS, """
+                        (id_cuenta_origen = :accountId OR id_cuenta_destino = :accountId)
+                          AND date BETWEEN :from AND :to""", from) + " ORDER BY date DESC")
+                .bind("accountId", accountId)
+                .bind("from", from)
+                .bind("to", to)
+                .map(TransactionReadRepository::map)
+                .all();
+    }
+
+    private static TransactionView map(Readable row) {
+        return new TransactionView(
+                row.get("id", Long.class),
+                row.get("date", LocalDateTime.class),
+                row.get("amount", BigDecimal.class),
+                TransactionType.valueOf(row.get("type", String.class)),
+                row.get("id_cuenta_origen", Long.class),
+                row.get("id_cuenta_destino", Long.class)
+        );
+    }
+}
@@ -1,19 +1,33 @@
 package com.melof10.santander.service;
 
+import com.melof10.santander.controller.request.AccountBulkCreateRequest;
 import com.melof10.santander.controller.request.AccountCreateRequest;
 import com.melof10.santander.controller.request.AccountUpdateRequest;
+import com.melof10.santander.controller.response.AccountBalance;
+import com.melof10.santander.controller.response.BulkCreateResponse;
 import com.melof10.santander.entity.Account;
 
+import reactor.core.publisher.Mono;
+
 import java.util.List;
+import java.util.Map;
 
 public interface IAccountService {
 
     Account create(AccountCreateRequest req);
-    Account update(Long id, AccountUpdateRequest req);
+    BulkCreateResponse createBulk(AccountBulkCreateRequest req);
+    Account update(Long id, AccountUpdateRequest req, List<String> expectedVersionTags);
     void delete(Long id);
     Account getById(Long id);
+    AccountBalance getBalance(Long id);
+    String getVersionTag(Long id);
     List<Account> getAll();
+    Map<String, Object> getById(Long id, List<String> fields);
+    List<Map<String, Object>> getAll(List<String> fields);
+    List<Map<String, Object>> getByIds(List<Long> ids, List<String> fields);
+    List<Map<String, Object>> getByCustomerId(Long customerId, List<String> fields);
+    List<Account> getByIds(List<Long> ids);
     List<Account> getByCustomerId(Long customerId);
-    Account selfGet(Long id);
+    Mono<Account> selfGet(Long id);
 }
 
@@ -0,0 +1,21 @@
+package com.melof10.santander.service;
+
+import com.melof10.santander.batch.ArchiveResult;
+import com.melof10.santander.batch.BatchJobResult;
+import com.melof10.santander.batch.PurgeResult;
+import com.melof10.santander.batch.ReconciliationReport;
+import com.melof10.santander.batch.StatementRunResult;
+import com.melof10.santander.readmodel.BalanceCheckResult;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+public interface IBatchService {
+
+    BatchJobResult accrueInterest(LocalDate businessDate);
+    ReconciliationReport reconcileBalances();
+    StatementRunResult generateStatements(YearMonth period);
+    PurgeResult purgeDeleted();
+    ArchiveResult archiveTransactions(LocalDate before);
+    BalanceCheckResult checkBalanceReadModel();
+}
@@ -1,18 +1,26 @@
 package com.melof10.santander.service;
 
+import com.melof10.santander.controller.request.CardBulkCreateRequest;
 import com.melof10.santander.controller.request.CardCreateRequest;
 import com.melof10.santander.controller.request.CardUpdateRequest;
+import com.melof10.santander.controller.response.BulkCreateResponse;
 import com.melof10.santander.entity.Card;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ICardService {
 
     Card create(CardCreateRequest req);
-    Card update(Long id, CardUpdateRequest req);
+    BulkCreateResponse createBulk(CardBulkCreateRequest req);
+    Card update(Long id, CardUpdateRequest req, List<String> expectedVersionTags);
     void delete(Long id);
     Card getById(Long id);
+    String getVersionTag(Long id);
     List<Card> getAll();
+    Map<String, Object> getById(Long id, List<String> fields);
+    List<Map<String, Object>> getAll(List<String> fields);
+    List<Map<String, Object>> getByCustomerId(Long customerId, List<String> fields);
     List<Card> getByCustomerId(Long customerId);
 }
 
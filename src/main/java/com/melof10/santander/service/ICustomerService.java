@@ -1,18 +1,26 @@
 package com.melof10.santander.service;
 
+import com.melof10.santander.batch.CustomerImportResult;
 import com.melof10.santander.controller.request.CustomerCreateRequest;
 import com.melof10.santander.controller.request.CustomerUpdateRequest;
+import com.melof10.santander.controller.response.VersionedCustomer;
 import com.melof10.santander.entity.Customer;
 
+import java.io.Reader;
 import java.util.List;
+import java.util.Map;
 
 public interface ICustomerService {
 
     Customer create(CustomerCreateRequest req);
-    Customer update(Long id, CustomerUpdateRequest req);
+    VersionedCustomer update(Long id, CustomerUpdateRequest req, List<String> expectedVersionTags);
     void delete(Long id);
     Customer getById(Long id);
+    String getVersionTag(Long id);
     List<Customer> getAll();
+    Map<String, Object> getById(Long id, List<String> fields);
+    List<Map<String, Object>> getAll(List<String> fields);
     Customer getByDocument(String document);
+    CustomerImportResult importCsv(Reader csv);
 }
 
@@ -0,0 +1,29 @@
+package com.melof10.santander.service;
+
+import com.melof10.santander.controller.response.AccountView;
+import com.melof10.santander.controller.response.CardView;
+import com.melof10.santander.controller.response.CustomerView;
+import com.melof10.santander.controller.response.TransactionView;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface IReadService {
+
+    Mono<AccountView> getAccount(Long id);
+    Flux<AccountView> getAccounts();
+    Flux<AccountView> getAccountsByCustomer(Long customerId);
+    Flux<TransactionView> getStatement(Long accountId, LocalDateTime from, LocalDateTime to);
+
+    Mono<CardView> getCard(Long id);
+    Flux<CardView> getCards();
+    Flux<CardView> getCardsByCustomer(Long customerId);
+
+    Mono<CustomerView> getCustomer(Long id);
+    Mono<CustomerView> getCustomerByDocument(String document);
+    Flux<CustomerView> getCustomers();
+
+    Mono<TransactionView> getTransaction(Long id);
+    Flux<TransactionView> getTransactions();
+}
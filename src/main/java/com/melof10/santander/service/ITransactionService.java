@@ -2,9 +2,14 @@ package com.melof10.santander.service;
 
 import com.melof10.santander.controller.request.TransactionCreateRequest;
 import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.controller.response.TransactionView;
 import com.melof10.santander.entity.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface ITransactionService {
 
@@ -12,6 +17,10 @@ public interface ITransactionService {
     Transaction transfer(TransferRequest req);
     Transaction getById(Long id);
     List<Transaction> getAll();
+    Map<String, Object> getById(Long id, List<String> fields);
+    List<Map<String, Object>> getAll(List<String> fields);
+    Page<TransactionView> getStatement(Long accountId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+    List<TransactionView> getRecent(Long accountId, int limit);
     void delete(Long id);
 }
 
@@ -1,20 +1,38 @@
 package com.melof10.santander.service.impl;
 
 import com.melof10.santander.client.AccountClient;
+import com.melof10.santander.controller.request.AccountBulkCreateRequest;
 import com.melof10.santander.controller.request.AccountCreateRequest;
 import com.melof10.santander.controller.request.AccountUpdateRequest;
+import com.melof10.santander.controller.response.AccountBalance;
+import com.melof10.santander.controller.response.BulkCreateResponse;
 import com.melof10.santander.entity.Account;
 import com.melof10.santander.entity.Customer;
+import com.melof10.santander.event.AccountBalanceChanged;
+import com.melof10.santander.event.AccountsDeleted;
 import com.melof10.santander.exception.DuplicateResourceException;
 import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.numbering.NumberGenerator;
+import com.melof10.santander.readmodel.BalanceReadModel;
 import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.BulkInsertRepository;
 import com.melof10.santander.repository.CustomerRepository;
+import com.melof10.santander.repository.Projection;
+import com.melof10.santander.repository.ProjectionRepository;
 import com.melof10.santander.service.IAccountService;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +42,12 @@ public class AccountServiceImpl implements IAccountService {
     private final AccountRepository accountRepository;
     private final CustomerRepository customerRepository;
     private final AccountClient accountClient;
+    private final BulkInsertRepository bulkInsertRepository;
+    private final ProjectionRepository projectionRepository;
+    private final NumberGenerator numberGenerator;
+    private final Validator validator;
+    private final BalanceReadModel balanceReadModel;
+    private final ApplicationEventPublisher events;
 
     @Override
     public Account create(AccountCreateRequest req) {
@@ -36,27 +60,57 @@ public class AccountServiceImpl implements IAccountService {
         Account a = Account.builder()
                 .accountNumber(req.getAccountNumber())
                 .accountType(req.getAccountType())
-                .balance(req.getInitialBalance())
+                .balance(Money.of(req.getInitialBalance()))
                 .customer(customer)
                 .build();
-        return accountRepository.save(a);
+        Account saved = accountRepository.save(a);
+        events.publishEvent(new AccountBalanceChanged(saved));
+        return saved;
     }
 
     @Override
-    public Account update(Long id, AccountUpdateRequest req) {
-        Account a = accountRepository.findById(id)
+    public BulkCreateResponse createBulk(AccountBulkCreateRequest req) {
+        if (req.isGenerateNumbers()) {
+            numberGenerator.assign(
+                    req.getAccounts().stream().filter(a -> a != null && !StringUtils.hasText(a.getAccountNumber())).toList(),
+                    AccountCreateRequest::setAccountNumber, AccountCreateRequest::getAccountNumber,
+                    numberGenerator::nextAccountNumber, accountRepository::findExistingAccountNumbers);
+        }
+        BulkItems<AccountCreateRequest> items = new BulkItems<>(req.getAccounts(), validator);
+        items.rejectDuplicates(AccountCreateRequest::getAccountNumber, "Número de cuenta repetido en el pedido");
+        Map<Long, Customer> customers = items.resolveCustomers(AccountCreateRequest::getCustomerId, customerRepository);
+        items.rejectExisting(AccountCreateRequest::getAccountNumber, accountRepository::findExistingAccountNumbers, "La cuenta ya existe");
+        return items.create(r -> Account.builder()
+                        .accountNumber(r.getAccountNumber())
+                        .accountType(r.getAccountType())
+                        .balance(Money.of(r.getInitialBalance()))
+                        .customer(customers.get(r.getCustomerId()))
+                        .build(),
+                accounts -> {
+                    bulkInsertRepository.insertAccounts(accounts);
+                    accounts.forEach(a -> events.publishEvent(new AccountBalanceChanged(a)));
+                },
+                Account::getId, AccountCreateRequest::getAccountNumber);
+    }
+
+    @Override
+    public Account update(Long id, AccountUpdateRequest req, List<String> expectedVersionTags) {
+        Account a = accountRepository.findUnlockedById(id)
                 .orElseThrow(() -> new NotFoundException("Cuenta no encontrada: " + id));
+        VersionTags.require(expectedVersionTags, String.valueOf(a.getVersion()), "la cuenta " + id);
         a.setAccountType(req.getAccountType());
-        a.setBalance(req.getBalance());
-        return accountRepository.save(a);
+        a.setBalance(Money.of(req.getBalance()));
+        Account saved = accountRepository.save(a);
+        events.publishEvent(new AccountBalanceChanged(saved));
+        return saved;
     }
 
     @Override
     public void delete(Long id) {
-        if (!accountRepository.existsById(id)) {
+        if (accountRepository.softDeleteById(id, LocalDateTime.now()) == 0) {
             throw new NotFoundException("Cuenta no encontrada: " + id);
         }
-        accountRepository.deleteById(id);
+        events.publishEvent(new AccountsDeleted(List.of(id)));
     }
 
     @Override
@@ -66,12 +120,56 @@ public class AccountServiceImpl implements IAccountService {
                 .orElseThrow(() -> new NotFoundException("Cuenta no encontrada: " + id));
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AccountBalance getBalance(Long id) {
+        return balanceReadModel.get(id)
+                .orElseThrow(() -> new NotFoundException("Cuenta no encontrada: " + id));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String getVersionTag(Long id) {
+        return String.valueOf(getBalance(id).version());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Account> getAll() {
         return accountRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getById(Long id, List<String> fields) {
+        return projectionRepository.findById(Projection.ACCOUNT, fields, id)
+                .orElseThrow(() -> new NotFoundException("Cuenta no encontrada: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAll(List<String> fields) {
+        return projectionRepository.findAll(Projection.ACCOUNT, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getByIds(List<Long> ids, List<String> fields) {
+        return projectionRepository.findByIds(Projection.ACCOUNT, fields, ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getByCustomerId(Long customerId, List<String> fields) {
+        return projectionRepository.findByCustomerId(Projection.ACCOUNT, fields, customerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Account> getByIds(List<Long> ids) {
+        return accountRepository.findAllById(ids);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Account> getByCustomerId(Long customerId) {
@@ -79,9 +177,9 @@ public class AccountServiceImpl implements IAccountService {
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public Account selfGet(Long id) {
-        return accountClient.getAccountById(id)
-                .orElseThrow(() -> new NotFoundException("Cuenta no encontrada (self-call): " + id));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<Account> selfGet(Long id) {
+        return accountClient.findAccountById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Cuenta no encontrada (self-call): " + id)));
     }
 }
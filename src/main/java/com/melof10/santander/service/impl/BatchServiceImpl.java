@@ -0,0 +1,106 @@
+package com.melof10.santander.service.impl;
+
+import com.melof10.santander.batch.ArchiveResult;
+import com.melof10.santander.batch.BalanceReconciliationJob;
+import com.melof10.santander.batch.BatchJobResult;
+import com.melof10.santander.batch.InterestAccrualJob;
+import com.melof10.santander.batch.MonthlyStatementJob;
+import com.melof10.santander.batch.PurgeResult;
+import com.melof10.santander.batch.ReconciliationReport;
+import com.melof10.santander.batch.SoftDeletePurgeJob;
+import com.melof10.santander.batch.StatementRunResult;
+import com.melof10.santander.batch.TransactionArchiveJob;
+import com.melof10.santander.exception.BusinessException;
+import com.melof10.santander.readmodel.BalanceCheckResult;
+import com.melof10.santander.readmodel.BalanceReadModel;
+import com.melof10.santander.service.IBatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@Service
+@RequiredArgsConstructor
+public class BatchServiceImpl implements IBatchService {
+
+    private final InterestAccrualJob interestAccrualJob;
+    private final BalanceReconciliationJob balanceReconciliationJob;
+    private final MonthlyStatementJob monthlyStatementJob;
+    private final SoftDeletePurgeJob softDeletePurgeJob;
+    private final TransactionArchiveJob transactionArchiveJob;
+    private final BalanceReadModel balanceReadModel;
+
+    @Override
+    public BatchJobResult accrueInterest(LocalDate businessDate) {
+        if (businessDate.isAfter(LocalDate.now())) {
+            throw new BusinessException("No se pueden liquidar intereses de una fecha futura: " + businessDate);
+        }
+        return interestAccrualJob.run(businessDate);
+    }
+
+    @Override
+    public ReconciliationReport reconcileBalances() {
+        return balanceReconciliationJob.run();
+    }
+
+    @Override
+    public StatementRunResult generateStatements(YearMonth period) {
+        if (!period.isBefore(YearMonth.now())) {
+            throw new BusinessException("Solo se generan resúmenes de meses cerrados: " + period);
+        }
+        return monthlyStatementJob.run(period);
+    }
+
+    @Override
+    public PurgeResult purgeDeleted() {
+        return softDeletePurgeJob.run();
+    }
+
+    @Override
+    public ArchiveResult archiveTransactions(LocalDate before) {
+        if (before == null) {
+            return transactionArchiveJob.run(transactionArchiveJob.defaultCutoff());
+        }
+        if (before.isAfter(LocalDate.now())) {
+            throw new BusinessException("No se pueden archivar movimientos de una fecha futura: " + before);
+        }
+        return transactionArchiveJob.run(before.atStartOfDay());
+    }
+
+    @Override
+    public BalanceCheckResult checkBalanceReadModel() {
+        return balanceReadModel.check();
+    }
+
+    @Scheduled(cron = "${santander.batch.interest.cron}")
+    public void accrueDailyInterest() {
+        accrueInterest(LocalDate.now().minusDays(1));
+    }
+
+    @Scheduled(cron = "${santander.batch.reconciliation.cron}")
+    public void reconcileEndOfDay() {
+        reconcileBalances();
+    }
+
+    @Scheduled(cron = "${santander.batch.statements.cron}")
+    public void generateMonthlyStatements() {
+        generateStatements(YearMonth.now().minusMonths(1));
+    }
+
+    @Scheduled(cron = "${santander.batch.purge.cron}")
+    public void purgeDeletedPeriodically() {
+        purgeDeleted();
+    }
+
+    @Scheduled(cron = "${santander.batch.archive.cron}")
+    public void archiveOldTransactions() {
+        archiveTransactions(null);
+    }
+
+    @Scheduled(cron = "${santander.readmodel.balance.check-cron}")
+    public void checkBalanceReadModelPeriodically() {
+        checkBalanceReadModel();
+    }
+}
@@ -0,0 +1,120 @@
+package com.melof10.santander.service.impl;
+
+import com.melof10.santander.controller.response.BulkCreateResponse;
+import com.melof10.santander.controller.response.BulkItemResult;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.repository.CustomerRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Items of a bulk create. Each check rejects items with a reason and only looks at the ones still
+ * pending, so every item ends up either created or with the first reason it failed.
+ */
+final class BulkItems<T> {
+
+    private final List<T> items;
+    private final String[] errors;
+
+    BulkItems(List<T> items, Validator validator) {
+        this.items = items;
+        this.errors = new String[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            if (item == null) {
+                errors[i] = "Elemento vacío";
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                errors[i] = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+            }
+        }
+    }
+
+    void rejectDuplicates(Function<T, String> key, String reason) {
+        Set<String> seen = new HashSet<>();
+        for (int i : pending()) {
+            String value = key.apply(items.get(i));
+            if (!seen.add(value)) {
+                errors[i] = reason + ": " + value;
+            }
+        }
+    }
+
+    void rejectExisting(Function<T, String> key, Function<Collection<String>, Collection<String>> existing, String reason) {
+        List<Integer> pending = pending();
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<String> found = new HashSet<>(existing.apply(pending.stream().map(i -> key.apply(items.get(i))).toList()));
+        for (int i : pending) {
+            String value = key.apply(items.get(i));
+            if (found.contains(value)) {
+                errors[i] = reason + ": " + value;
+            }
+        }
+    }
+
+    Map<Long, Customer> resolveCustomers(Function<T, Long> customerId, CustomerRepository customerRepository) {
+        List<Integer> pending = pending();
+        Map<Long, Customer> customers = new HashMap<>();
+        if (pending.isEmpty()) {
+            return customers;
+        }
+        Set<Long> ids = pending.stream().map(i -> customerId.apply(items.get(i))).collect(Collectors.toSet());
+        customerRepository.findAllById(ids).forEach(c -> customers.put(c.getId(), c));
+        for (int i : pending) {
+            Long id = customerId.apply(items.get(i));
+            if (!customers.containsKey(id)) {
+                errors[i] = "Cliente no encontrado: " + id;
+            }
+        }
+        return customers;
+    }
+
+    <E> BulkCreateResponse create(Function<T, E> toEntity, Consumer<List<E>> insert,
+                                  Function<E, Long> id, Function<T, String> number) {
+        List<Integer> pending = pending();
+        List<E> entities = pending.stream().map(i -> toEntity.apply(items.get(i))).toList();
+        if (!entities.isEmpty()) {
+            insert.accept(entities);
+        }
+        Map<Integer, E> created = new HashMap<>();
+        for (int k = 0; k < pending.size(); k++) {
+            created.put(pending.get(k), entities.get(k));
+        }
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            E entity = created.get(i);
+            results.add(new BulkItemResult(i, entity != null ? id.apply(entity) : null,
+                    item != null ? number.apply(item) : null, errors[i]));
+        }
+        return new BulkCreateResponse(items.size(), entities.size(), items.size() - entities.size(), results);
+    }
+
+    private List<Integer> pending() {
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] == null) {
+                pending.add(i);
+            }
+        }
+        return pending;
+    }
+}
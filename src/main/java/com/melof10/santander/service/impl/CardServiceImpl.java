@@ -1,19 +1,28 @@
 package com.melof10.santander.service.impl;
 
+import com.melof10.santander.controller.request.CardBulkCreateRequest;
 import com.melof10.santander.controller.request.CardCreateRequest;
 import com.melof10.santander.controller.request.CardUpdateRequest;
+import com.melof10.santander.controller.response.BulkCreateResponse;
 import com.melof10.santander.entity.Card;
 import com.melof10.santander.entity.Customer;
 import com.melof10.santander.exception.DuplicateResourceException;
 import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.numbering.NumberGenerator;
+import com.melof10.santander.repository.BulkInsertRepository;
 import com.melof10.santander.repository.CardRepository;
 import com.melof10.santander.repository.CustomerRepository;
+import com.melof10.santander.repository.Projection;
+import com.melof10.santander.repository.ProjectionRepository;
 import com.melof10.santander.service.ICardService;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +31,10 @@ public class CardServiceImpl implements ICardService {
 
     private final CardRepository cardRepository;
     private final CustomerRepository customerRepository;
+    private final BulkInsertRepository bulkInsertRepository;
+    private final ProjectionRepository projectionRepository;
+    private final NumberGenerator numberGenerator;
+    private final Validator validator;
 
     @Override
     public Card create(CardCreateRequest req) {
@@ -42,9 +55,32 @@ public class CardServiceImpl implements ICardService {
     }
 
     @Override
-    public Card update(Long id, CardUpdateRequest req) {
+    public BulkCreateResponse createBulk(CardBulkCreateRequest req) {
+        if (req.isGenerateNumbers()) {
+            numberGenerator.assign(
+                    req.getCards().stream().filter(c -> c != null && !StringUtils.hasText(c.getCardNumber())).toList(),
+                    CardCreateRequest::setCardNumber, CardCreateRequest::getCardNumber,
+                    numberGenerator::nextCardNumber, cardRepository::findExistingCardNumbers);
+        }
+        BulkItems<CardCreateRequest> items = new BulkItems<>(req.getCards(), validator);
+        items.rejectDuplicates(CardCreateRequest::getCardNumber, "Número de tarjeta repetido en el pedido");
+        Map<Long, Customer> customers = items.resolveCustomers(CardCreateRequest::getCustomerId, customerRepository);
+        items.rejectExisting(CardCreateRequest::getCardNumber, cardRepository::findExistingCardNumbers, "La tarjeta ya existe");
+        return items.create(r -> Card.builder()
+                        .cardNumber(r.getCardNumber())
+                        .cardType(r.getCardType())
+                        .expirationDate(r.getExpirationDate())
+                        .creditLimit(r.getCreditLimit())
+                        .customer(customers.get(r.getCustomerId()))
+                        .build(),
+                bulkInsertRepository::insertCards, Card::getId, CardCreateRequest::getCardNumber);
+    }
+
+    @Override
+    public Card update(Long id, CardUpdateRequest req, List<String> expectedVersionTags) {
         Card card = cardRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Tarjeta no encontrada: " + id));
+        VersionTags.require(expectedVersionTags, String.valueOf(card.getVersion()), "la tarjeta " + id);
         card.setCardType(req.getCardType());
         card.setExpirationDate(req.getExpirationDate());
         card.setCreditLimit(req.getCreditLimit());
@@ -65,11 +101,34 @@ public class CardServiceImpl implements ICardService {
                 .orElseThrow(() -> new NotFoundException("Tarjeta no encontrada: " + id));
     }
 
+    @Override @Transactional(readOnly = true)
+    public String getVersionTag(Long id) {
+        return cardRepository.findVersionById(id)
+                .map(String::valueOf)
+                .orElseThrow(() -> new NotFoundException("Tarjeta no encontrada: " + id));
+    }
+
     @Override @Transactional(readOnly = true)
     public List<Card> getAll() {
         return cardRepository.findAll();
     }
 
+    @Override @Transactional(readOnly = true)
+    public Map<String, Object> getById(Long id, List<String> fields) {
+        return projectionRepository.findById(Projection.CARD, fields, id)
+                .orElseThrow(() -> new NotFoundException("Tarjeta no encontrada: " + id));
+    }
+
+    @Override @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAll(List<String> fields) {
+        return projectionRepository.findAll(Projection.CARD, fields);
+    }
+
+    @Override @Transactional(readOnly = true)
+    public List<Map<String, Object>> getByCustomerId(Long customerId, List<String> fields) {
+        return projectionRepository.findByCustomerId(Projection.CARD, fields, customerId);
+    }
+
     @Override @Transactional(readOnly = true)
     public List<Card> getByCustomerId(Long customerId) {
         return cardRepository.findByCustomer_Id(customerId);
@@ -1,17 +1,30 @@
 package com.melof10.santander.service.impl;
 
+import com.melof10.santander.batch.CustomerCsvImporter;
+import com.melof10.santander.batch.CustomerImportResult;
 import com.melof10.santander.controller.request.CustomerCreateRequest;
 import com.melof10.santander.controller.request.CustomerUpdateRequest;
+import com.melof10.santander.controller.response.VersionedCustomer;
 import com.melof10.santander.entity.Customer;
+import com.melof10.santander.event.AccountsDeleted;
 import com.melof10.santander.exception.DuplicateResourceException;
 import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CardRepository;
 import com.melof10.santander.repository.CustomerRepository;
+import com.melof10.santander.repository.Projection;
+import com.melof10.santander.repository.ProjectionRepository;
 import com.melof10.santander.service.ICustomerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.Reader;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +32,11 @@ import java.util.List;
 public class CustomerServiceImpl implements ICustomerService {
 
     private final CustomerRepository customerRepository;
+    private final AccountRepository accountRepository;
+    private final CardRepository cardRepository;
+    private final ProjectionRepository projectionRepository;
+    private final CustomerCsvImporter customerCsvImporter;
+    private final ApplicationEventPublisher events;
 
     @Override
     public Customer create(CustomerCreateRequest req) {
@@ -36,22 +54,31 @@ public class CustomerServiceImpl implements ICustomerService {
     }
 
     @Override
-    public Customer update(Long id, CustomerUpdateRequest req) {
+    public VersionedCustomer update(Long id, CustomerUpdateRequest req, List<String> expectedVersionTags) {
         Customer c = customerRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Cliente no encontrado: " + id));
+        if (expectedVersionTags != null) {
+            VersionTags.require(expectedVersionTags, getVersionTag(id), "el cliente " + id);
+        }
         c.setFirstName(req.getFirstName());
         c.setLastName(req.getLastName());
         c.setEmail(req.getEmail());
         c.setPhone(req.getPhone());
-        return customerRepository.save(c);
+        // Flushed first so the tag, read in this same transaction, already counts the new version
+        Customer saved = customerRepository.saveAndFlush(c);
+        return new VersionedCustomer(saved, getVersionTag(id));
     }
 
     @Override
     public void delete(Long id) {
-        if (!customerRepository.existsById(id)) {
+        LocalDateTime deletedAt = LocalDateTime.now();
+        if (customerRepository.softDeleteById(id, deletedAt) == 0) {
             throw new NotFoundException("Cliente no encontrado: " + id);
         }
-        customerRepository.deleteById(id);
+        List<Long> accountIds = accountRepository.findIdsByCustomerId(id);
+        accountRepository.softDeleteByCustomerId(id, deletedAt);
+        cardRepository.softDeleteByCustomerId(id, deletedAt);
+        events.publishEvent(new AccountsDeleted(accountIds));
     }
 
     @Override @Transactional(readOnly = true)
@@ -60,15 +87,38 @@ public class CustomerServiceImpl implements ICustomerService {
                 .orElseThrow(() -> new NotFoundException("Cliente no encontrado: " + id));
     }
 
+    @Override @Transactional(readOnly = true)
+    public String getVersionTag(Long id) {
+        return customerRepository.findVersionTagById(id)
+                .orElseThrow(() -> new NotFoundException("Cliente no encontrado: " + id));
+    }
+
     @Override @Transactional(readOnly = true)
     public List<Customer> getAll() {
         return customerRepository.findAll();
     }
 
+    @Override @Transactional(readOnly = true)
+    public Map<String, Object> getById(Long id, List<String> fields) {
+        return projectionRepository.findById(Projection.CUSTOMER, fields, id)
+                .orElseThrow(() -> new NotFoundException("Cliente no encontrado: " + id));
+    }
+
+    @Override @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAll(List<String> fields) {
+        return projectionRepository.findAll(Projection.CUSTOMER, fields);
+    }
+
     @Override @Transactional(readOnly = true)
     public Customer getByDocument(String document) {
         return customerRepository.findByDocument(document)
                 .orElseThrow(() -> new NotFoundException("Cliente no encontrado con documento: " + document));
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CustomerImportResult importCsv(Reader csv) {
+        return customerCsvImporter.importCsv(csv);
+    }
 }
 
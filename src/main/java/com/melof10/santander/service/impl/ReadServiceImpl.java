@@ -0,0 +1,98 @@
+package com.melof10.santander.service.impl;
+
+import com.melof10.santander.controller.response.AccountView;
+import com.melof10.santander.controller.response.CardView;
+import com.melof10.santander.controller.response.CustomerView;
+import com.melof10.santander.controller.response.TransactionView;
+import com.melof10.santander.exception.BusinessException;
+import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.repository.reactive.AccountReadRepository;
+import com.melof10.santander.repository.reactive.CardReadRepository;
+import com.melof10.santander.repository.reactive.CustomerReadRepository;
+import com.melof10.santander.repository.reactive.TransactionReadRepository;
+import com.melof10.santander.service.IReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class ReadServiceImpl implements IReadService {
+
+    private final AccountReadRepository accountReadRepository;
+    private final CardReadRepository cardReadRepository;
+    private final CustomerReadRepository customerReadRepository;
+    private final TransactionReadRepository transactionReadRepository;
+
+    @Override
+    public Mono<AccountView> getAccount(Long id) {
+        return accountReadRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Cuenta no encontrada: " + id)));
+    }
+
+    @Override
+    public Flux<AccountView> getAccounts() {
+        return accountReadRepository.findAll();
+    }
+
+    @Override
+    public Flux<AccountView> getAccountsByCustomer(Long customerId) {
+        return accountReadRepository.findByCustomerId(customerId);
+    }
+
+    @Override
+    public Flux<TransactionView> getStatement(Long accountId, LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            return Flux.error(new BusinessException("Rango de fechas inválido"));
+        }
+        return getAccount(accountId)
+                .thenMany(transactionReadRepository.findStatementBetweenDates(accountId, from, to));
+    }
+
+    @Override
+    public Mono<CardView> getCard(Long id) {
+        return cardReadRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Tarjeta no encontrada: " + id)));
+    }
+
+    @Override
+    public Flux<CardView> getCards() {
+        return cardReadRepository.findAll();
+    }
+
+    @Override
+    public Flux<CardView> getCardsByCustomer(Long customerId) {
+        return cardReadRepository.findByCustomerId(customerId);
+    }
+
+    @Override
+    public Mono<CustomerView> getCustomer(Long id) {
+        return customerReadRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Cliente no encontrado: " + id)));
+    }
+
+    @Override
+    public Mono<CustomerView> getCustomerByDocument(String document) {
+        return customerReadRepository.findByDocument(document)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Cliente no encontrado con documento: " + document)));
+    }
+
+    @Override
+    public Flux<CustomerView> getCustomers() {
+        return customerReadRepository.findAll();
+    }
+
+    @Override
+    public Mono<TransactionView> getTransaction(Long id) {
+        return transactionReadRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Transacción no encontrada: " + id)));
+    }
+
+    @Override
+    public Flux<TransactionView> getTransactions() {
+        return transactionReadRepository.findAll();
+    }
+}
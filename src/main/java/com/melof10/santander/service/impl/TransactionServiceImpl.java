@@ -2,28 +2,43 @@ package com.melof10.santander.service.impl;
 
 import com.melof10.santander.controller.request.TransactionCreateRequest;
 import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.controller.response.TransactionView;
 import com.melof10.santander.entity.Account;
 import com.melof10.santander.entity.Transaction;
 import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.event.AccountBalanceChanged;
+import com.melof10.santander.event.TransactionRecorded;
 import com.melof10.santander.exception.BusinessException;
 import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.money.Money;
 import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.Projection;
+import com.melof10.santander.repository.ProjectionRepository;
 import com.melof10.santander.repository.TransactionRepository;
 import com.melof10.santander.service.ITransactionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TransactionServiceImpl implements ITransactionService {
 
+    private static final int MAX_RECENT = 500;
+
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
+    private final ProjectionRepository projectionRepository;
+    private final ApplicationEventPublisher events;
 
     @Override
     public Transaction create(TransactionCreateRequest req) {
@@ -53,16 +68,18 @@ public class TransactionServiceImpl implements ITransactionService {
                     throw new BusinessException("Depósito: cuenta destino requerida");
                 Account dest = accountRepository.findById(req.getDestinationAccountId())
                         .orElseThrow(() -> new NotFoundException("Cuenta destino no encontrada"));
-                applyDeposit(dest, req.getAmount());
-                return saveTransaction(null, dest, req.getAmount(), TransactionType.DEPOSITO);
+                Money amount = validateAmount(req.getAmount());
+                applyDeposit(dest, amount);
+                return saveTransaction(null, dest, amount, TransactionType.DEPOSITO);
             }
             case EXTRACCION -> {
                 if (req.getSourceAccountId() == null)
                     throw new BusinessException("Extracción: cuenta origen requerida");
                 Account source = accountRepository.findById(req.getSourceAccountId())
                         .orElseThrow(() -> new NotFoundException("Cuenta origen no encontrada"));
-                applyWithdraw(source, req.getAmount());
-                return saveTransaction(source, null, req.getAmount(), TransactionType.EXTRACCION);
+                Money amount = validateAmount(req.getAmount());
+                applyWithdraw(source, amount);
+                return saveTransaction(source, null, amount, TransactionType.EXTRACCION);
             }
             default -> throw new BusinessException("Tipo de transacción no soportado");
         }
@@ -74,60 +91,83 @@ public class TransactionServiceImpl implements ITransactionService {
             throw new BusinessException("Transferencia inválida: cuentas iguales");
         }
 
-        Account source = accountRepository.findById(req.getSourceAccountId())
-                .orElseThrow(() -> new NotFoundException("Cuenta origen no encontrada"));
-        Account dest = accountRepository.findById(req.getDestinationAccountId())
-                .orElseThrow(() -> new NotFoundException("Cuenta destino no encontrada"));
+        // Locks are always taken lowest id first so opposite transfers cannot deadlock.
+        Account source;
+        Account dest;
+        if (req.getSourceAccountId() < req.getDestinationAccountId()) {
+            source = lockSource(req.getSourceAccountId());
+            dest = lockDestination(req.getDestinationAccountId());
+        } else {
+            dest = lockDestination(req.getDestinationAccountId());
+            source = lockSource(req.getSourceAccountId());
+        }
 
-        applyWithdraw(source, req.getAmount());
-        applyDeposit(dest, req.getAmount());
+        Money amount = validateAmount(req.getAmount());
+        applyWithdraw(source, amount);
+        applyDeposit(dest, amount);
 
-        return saveTransaction(source, dest, req.getAmount(), TransactionType.TRANSFERENCIA);
+        return saveTransaction(source, dest, amount, TransactionType.TRANSFERENCIA);
     }
 
-    private void applyDeposit(Account dest, BigDecimal amount) {
-        validateAmount(amount);
-        dest.setBalance(dest.getBalance().add(amount));
-        accountRepository.save(dest);
+    private Account lockSource(Long id) {
+        return accountRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Cuenta origen no encontrada"));
+    }
+
+    private Account lockDestination(Long id) {
+        return accountRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Cuenta destino no encontrada"));
     }
 
-    private void applyWithdraw(Account source, BigDecimal amount) {
-        validateAmount(amount);
+    private void applyDeposit(Account dest, Money amount) {
+        dest.setBalance(dest.getBalance().plus(amount));
+        accountRepository.save(dest);
+        events.publishEvent(new AccountBalanceChanged(dest));
+    }
 
-        BigDecimal balance = source.getBalance() == null ? BigDecimal.ZERO : source.getBalance();
+    private void applyWithdraw(Account source, Money amount) {
+        Money balance = source.getBalance() == null ? Money.ZERO : source.getBalance();
 
         if (balance.signum() <= 0) {
             throw new BusinessException("No tiene más dinero en la cuenta");
         }
 
-        if (balance.compareTo(amount) < 0) {
+        if (balance.isLessThan(amount)) {
             throw new BusinessException("Saldo insuficiente");
         }
 
-        source.setBalance(balance.subtract(amount));
+        source.setBalance(balance.minus(amount));
         accountRepository.save(source);
+        events.publishEvent(new AccountBalanceChanged(source));
     }
 
-    private void validateAmount(BigDecimal amount) {
+    private Money validateAmount(BigDecimal amount) {
         if (amount == null || amount.signum() <= 0) {
             throw new BusinessException("Monto inválido");
         }
+        try {
+            return Money.of(amount);
+        } catch (ArithmeticException e) {
+            throw new BusinessException("Monto inválido");
+        }
     }
 
-    private Transaction saveTransaction(Account source, Account dest, BigDecimal amount, TransactionType type) {
+    private Transaction saveTransaction(Account source, Account dest, Money amount, TransactionType type) {
         Transaction tx = Transaction.builder()
                 .sourceAccount(source)
                 .destinationAccount(dest)
                 .amount(amount)
                 .type(type)
                 .build();
-        return transactionRepository.save(tx);
+        Transaction saved = transactionRepository.save(tx);
+        events.publishEvent(new TransactionRecorded(saved));
+        return saved;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Transaction getById(Long id) {
-        return transactionRepository.findById(id)
+        return transactionRepository.findWithAccountsById(id)
                 .orElseThrow(() -> new NotFoundException("Transacción no encontrada: " + id));
     }
 
@@ -137,6 +177,39 @@ public class TransactionServiceImpl implements ITransactionService {
         return transactionRepository.findAllWithAccounts();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getById(Long id, List<String> fields) {
+        return projectionRepository.findById(Projection.TRANSACTION, fields, id)
+                .orElseThrow(() -> new NotFoundException("Transacción no encontrada: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAll(List<String> fields) {
+        return projectionRepository.findAll(Projection.TRANSACTION, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TransactionView> getStatement(Long accountId, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        if (from.isAfter(to)) {
+            throw new BusinessException("Rango de fechas inválido");
+        }
+        requireAccount(accountId);
+        return transactionRepository.findStatement(accountId, from, to, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionView> getRecent(Long accountId, int limit) {
+        if (limit < 1 || limit > MAX_RECENT) {
+            throw new BusinessException("La cantidad de movimientos debe estar entre 1 y " + MAX_RECENT);
+        }
+        requireAccount(accountId);
+        return transactionRepository.findRecent(accountId, limit);
+    }
+
     @Override
     public void delete(Long id) {
         if (!transactionRepository.existsById(id)) {
@@ -144,4 +217,10 @@ public class TransactionServiceImpl implements ITransactionService {
         }
         transactionRepository.deleteById(id);
     }
+
+    private void requireAccount(Long accountId) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new NotFoundException("Cuenta no encontrada: " + accountId);
+        }
+    }
 }
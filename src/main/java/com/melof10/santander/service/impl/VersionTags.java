@@ -0,0 +1,22 @@
+package com.melof10.santander.service.impl;
+
+import com.melof10.santander.exception.PreconditionFailedException;
+
+import java.util.List;
+
+/**
+ * If-Match check of the PUT endpoints. The entity was loaded before the check, and its
+ * {@code @Version} makes the flush fail if it changes afterwards, so a matching tag is never lost.
+ */
+final class VersionTags {
+
+    private VersionTags() {
+    }
+
+    /** {@code expected} are the strong tags listed by If-Match, {@code null} when there is no precondition. */
+    static void require(List<String> expected, String current, String resource) {
+        if (expected != null && !expected.contains(current)) {
+            throw new PreconditionFailedException("Versión desactualizada de " + resource + ": la actual es " + current);
+        }
+    }
+}
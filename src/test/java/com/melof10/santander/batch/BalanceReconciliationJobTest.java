@@ -0,0 +1,129 @@
+package com.melof10.santander.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.melof10.santander.controller.request.TransactionCreateRequest;
+import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.enums.BatchStatus;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CustomerRepository;
+import com.melof10.santander.service.ITransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:recondb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///recondb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.batch.chunk-size=2",
+        "santander.batch.interest.cron=-",
+        "santander.batch.reconciliation.cron=-",
+        "santander.batch.reconciliation.report-dir=target/reconciliation-reports"
+})
+class BalanceReconciliationJobTest {
+
+    @Autowired private BalanceReconciliationJob job;
+    @Autowired private InterestAccrualJob interestAccrualJob;
+    @Autowired private ITransactionService transactionService;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private MeterRegistry registry;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(Customer.builder()
+                .firstName("Recon")
+                .lastName("Test")
+                .document("RC" + System.nanoTime() % 1_000_000_000L)
+                .build());
+    }
+
+    @Test
+    void run_shouldFindNoMismatches_whenBalancesFollowTheLedger() throws IOException {
+        Account a = account(AccountType.CAJA_AHORRO, "1000.00");
+        Account b = account(AccountType.CUENTA_CORRIENTE, "250.00");
+        Account c = account(AccountType.CAJA_AHORRO, "0.00");
+        transactionService.create(movement(TransactionType.DEPOSITO, "100.50", null, c.getId()));
+        transactionService.create(movement(TransactionType.EXTRACCION, "20.25", b.getId(), null));
+        transactionService.transfer(new TransferRequest(a.getId(), b.getId(), new BigDecimal("300.00")));
+        interestAccrualJob.run(LocalDate.now().minusDays(1));
+
+        ReconciliationReport report = job.run();
+
+        assertThat(report.status()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(report.failedPartitions()).isZero();
+        assertThat(report.accounts()).isGreaterThanOrEqualTo(3);
+        assertThat(report.ledgerEntries()).isGreaterThanOrEqualTo(4);
+        assertThat(mismatchedIds(report)).doesNotContain(a.getId(), b.getId(), c.getId());
+    }
+
+    @Test
+    void run_shouldReportAccountsWhoseBalanceDiffersFromTheLedger() throws IOException {
+        Account tampered = account(AccountType.CUENTA_CORRIENTE, "500.00");
+        transactionService.create(movement(TransactionType.DEPOSITO, "50.00", null, tampered.getId()));
+        jdbc.update("update cuenta set balance = balance + 10.01 where id = ?", tampered.getId());
+
+        ReconciliationReport report = job.run();
+
+        assertThat(report.mismatches()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("santander.batch.reconciliation.mismatches").gauge().value())
+                .isEqualTo((double) report.mismatches());
+        JsonNode mismatch = mismatches(report).stream()
+                .filter(m -> m.get("accountId").asLong() == tampered.getId())
+                .findFirst().orElseThrow();
+        assertThat(Money.of(mismatch.get("expectedBalance").asText())).isEqualTo(Money.of("550.00"));
+        assertThat(Money.of(mismatch.get("actualBalance").asText())).isEqualTo(Money.of("560.01"));
+        assertThat(Money.of(mismatch.get("difference").asText())).isEqualTo(Money.of("10.01"));
+        assertThat(mismatch.get("ledgerEntries").asLong()).isEqualTo(1);
+    }
+
+    private Set<Long> mismatchedIds(ReconciliationReport report) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        mismatches(report).forEach(m -> ids.add(m.get("accountId").asLong()));
+        return Set.copyOf(ids);
+    }
+
+    private List<JsonNode> mismatches(ReconciliationReport report) throws IOException {
+        JsonNode file = objectMapper.readTree(new File(report.reportFile()));
+        assertThat(file.get("summary").get("runKey").asText()).isEqualTo(report.runKey());
+        List<JsonNode> mismatches = new ArrayList<>();
+        file.get("mismatches").forEach(mismatches::add);
+        return mismatches;
+    }
+
+    private Account account(AccountType type, String balance) {
+        return accountRepository.save(Account.builder()
+                .accountNumber("RC-" + System.nanoTime())
+                .accountType(type)
+                .balance(Money.of(balance))
+                .openDate(LocalDate.now())
+                .customer(customer)
+                .build());
+    }
+
+    private static TransactionCreateRequest movement(TransactionType type, String amount, Long source, Long destination) {
+        return new TransactionCreateRequest(type, new BigDecimal(amount), source, destination);
+    }
+}
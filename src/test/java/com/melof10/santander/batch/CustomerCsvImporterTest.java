@@ -0,0 +1,99 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.exception.BusinessException;
+import com.melof10.santander.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:importdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///importdb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.batch.import.batch-size=2",
+        "santander.batch.import.max-errors=3"
+})
+class CustomerCsvImporterTest {
+
+    @Autowired private CustomerCsvImporter importer;
+    @Autowired private CustomerRepository customerRepository;
+
+    @Test
+    void importCsv_shouldInsertValidRowsAndReportRejectedOnes() {
+        customerRepository.save(Customer.builder().firstName("Ya").lastName("Existe").document("IMP-EXISTS").build());
+        String csv = """
+                document,firstName,lastName,email,phone
+                IMP-1,Ana,Gómez,ana@mail.com,1111
+                IMP-2,"Pérez, Juan",López,,
+                IMP-3,,Sin Nombre,x@mail.com,
+                IMP-1,Ana,Repetida,,
+                IMP-EXISTS,Otro,Cliente,,
+                IMP-4,Luis,Díaz,no-es-mail,
+                IMP-5,Eva,Ruiz,eva@mail.com,2222
+                """;
+
+        CustomerImportResult result = importer.importCsv(new StringReader(csv));
+
+        assertThat(result.rows()).isEqualTo(7);
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.rejected()).isEqualTo(4);
+        assertThat(result.errors()).extracting(CustomerImportError::line).containsExactly(4L, 5L, 7L);
+        assertThat(result.errors().get(0).reason()).startsWith("firstName:");
+        assertThat(result.errors().get(1).reason()).isEqualTo("Documento repetido en el archivo");
+        assertThat(result.errors().get(2).reason()).startsWith("email:");
+        assertThat(result.errorsTruncated()).isTrue();
+
+        assertThat(customerRepository.findByDocument("IMP-2")).get()
+                .satisfies(c -> {
+                    assertThat(c.getFirstName()).isEqualTo("Pérez, Juan");
+                    assertThat(c.getEmail()).isNull();
+                });
+        assertThat(customerRepository.findByDocument("IMP-5")).get()
+                .extracting(Customer::getPhone).isEqualTo("2222");
+        assertThat(customerRepository.findByDocument("IMP-4")).isEmpty();
+        assertThat(customerRepository.findByDocument("IMP-EXISTS")).get()
+                .extracting(Customer::getFirstName).isEqualTo("Ya");
+    }
+
+    @Test
+    void importCsv_shouldRejectExistingDocumentsCheckedInBulk() {
+        importer.importCsv(new StringReader("firstName,lastName,document\nRosa,Paz,IMP-10\n"));
+
+        CustomerImportResult result = importer.importCsv(new StringReader("firstName,lastName,document\nRosa,Paz,IMP-10\nLeo,Paz,IMP-11\n"));
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).containsExactly(new CustomerImportError(2, "IMP-10", "El documento ya existe"));
+    }
+
+    @Test
+    void importCsv_shouldReportPhysicalLines_acrossEmptyLinesAndQuotedLineBreaks() {
+        String csv = """
+                firstName,lastName,document
+
+                "Ana
+                María",Gómez,IMP-30
+
+                Luis,,IMP-31
+                """;
+
+        CustomerImportResult result = importer.importCsv(new StringReader(csv));
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).singleElement().extracting(CustomerImportError::line).isEqualTo(6L);
+        assertThat(customerRepository.findByDocument("IMP-30")).get()
+                .extracting(Customer::getFirstName).isEqualTo("Ana\nMaría");
+    }
+
+    @Test
+    void importCsv_shouldFail_whenRequiredColumnsAreMissing() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> importer.importCsv(new StringReader("firstName,document\nAna,IMP-20\n")));
+
+        assertThat(ex.getMessage()).isEqualTo("Faltan columnas en el CSV: lastName");
+    }
+}
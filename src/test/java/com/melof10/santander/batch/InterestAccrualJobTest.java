@@ -0,0 +1,124 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.enums.BatchStatus;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:batchdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///batchdb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.batch.chunk-size=2",
+        "santander.batch.interest.annual-rate=0.365",
+        "santander.batch.interest.cron=-"
+})
+class InterestAccrualJobTest {
+
+    private static final AtomicLong DAYS_BACK = new AtomicLong(10);
+
+    @Autowired private InterestAccrualJob job;
+    @Autowired private BatchCheckpoints checkpoints;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private JdbcTemplate jdbc;
+
+    private Customer customer;
+    private LocalDate businessDate;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(Customer.builder()
+                .firstName("Batch")
+                .lastName("Test")
+                .document("BI" + System.nanoTime() % 1_000_000_000L)
+                .build());
+        businessDate = LocalDate.now().minusDays(DAYS_BACK.getAndIncrement());
+    }
+
+    @Test
+    void run_shouldPostDailyInterestToPositiveSavingsAccountsOnly() {
+        Account savings = account(AccountType.CAJA_AHORRO, "1000.00");
+        Account empty = account(AccountType.CAJA_AHORRO, "0.00");
+        Account checking = account(AccountType.CUENTA_CORRIENTE, "1000.00");
+
+        BatchJobResult result = job.run(businessDate);
+
+        assertThat(result.status()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(result.failedChunks()).isZero();
+        assertThat(balance(savings)).isEqualTo(Money.of("1001.00"));
+        assertThat(balance(empty)).isEqualTo(Money.ZERO);
+        assertThat(balance(checking)).isEqualTo(Money.of("1000.00"));
+        assertThat(jdbc.queryForList("select type from transaccion where id_cuenta_destino = ? and cast(date as date) = ?",
+                String.class, savings.getId(), businessDate)).containsExactly("DEPOSITO");
+    }
+
+    @Test
+    void run_shouldNotPostTwice_whenDateAlreadyProcessed() {
+        Account savings = account(AccountType.CAJA_AHORRO, "500.00");
+
+        BatchJobResult first = job.run(businessDate);
+        BatchJobResult second = job.run(businessDate);
+
+        assertThat(second.items()).isZero();
+        assertThat(second.skippedChunks()).isEqualTo(first.chunks());
+        assertThat(balance(savings)).isEqualTo(Money.of("500.50"));
+    }
+
+    @Test
+    void run_shouldResumeFromCommittedChunks() {
+        List<Account> accounts = List.of(
+                account(AccountType.CAJA_AHORRO, "100.00"),
+                account(AccountType.CAJA_AHORRO, "100.00"),
+                account(AccountType.CAJA_AHORRO, "100.00"),
+                account(AccountType.CAJA_AHORRO, "100.00"));
+        long committedStart = accounts.get(0).getId() / 2 * 2;
+        checkpoints.record(InterestAccrualJob.JOB, businessDate.toString(), committedStart, committedStart + 1, 2);
+
+        BatchJobResult result = job.run(businessDate);
+
+        assertThat(result.skippedChunks()).isEqualTo(1);
+        for (Account account : accounts) {
+            boolean alreadyCommitted = account.getId() <= committedStart + 1;
+            assertThat(balance(account)).isEqualTo(alreadyCommitted ? Money.of("100.00") : Money.of("100.10"));
+        }
+    }
+
+    @Test
+    void interestCents_shouldRoundHalfEven() {
+        BigDecimal dailyRate = new BigDecimal("0.05").divide(BigDecimal.valueOf(365), MathContext.DECIMAL64);
+
+        assertThat(InterestAccrualJob.interestCents(100_000_00, dailyRate)).isEqualTo(1370);
+        assertThat(InterestAccrualJob.interestCents(50, new BigDecimal("0.01"))).isZero();
+        assertThat(InterestAccrualJob.interestCents(150, new BigDecimal("0.01"))).isEqualTo(2);
+    }
+
+    private Account account(AccountType type, String balance) {
+        return accountRepository.save(Account.builder()
+                .accountNumber("BI-" + System.nanoTime())
+                .accountType(type)
+                .balance(Money.of(balance))
+                .openDate(LocalDate.now())
+                .customer(customer)
+                .build());
+    }
+
+    private Money balance(Account account) {
+        return Money.of(jdbc.queryForObject("select balance from cuenta where id = ?", BigDecimal.class, account.getId()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.enums.BatchStatus;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:stmtdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///stmtdb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.batch.interest.cron=-",
+        "santander.batch.reconciliation.cron=-",
+        "santander.batch.statements.cron=-",
+        "santander.batch.statements.output-dir=target/statements-test",
+        "santander.batch.statements.writers=1",
+        "santander.batch.statements.queue-capacity=1"
+})
+class MonthlyStatementJobTest {
+
+    private static final YearMonth PERIOD = YearMonth.of(2020, 1);
+
+    @Autowired private MonthlyStatementJob job;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    void run_shouldWriteOneStatementPerAccountWithMovementsInThePeriod() throws IOException {
+        Customer customer = customerRepository.save(Customer.builder()
+                .firstName("Statement").lastName("Test").document("ST" + System.nanoTime() % 1_000_000_000L).build());
+        Account a = account(customer, "1000.00");
+        Account b = account(customer, "0.00");
+        Account idle = account(customer, "50.00");
+        movement(TransactionType.DEPOSITO, "100.00", null, a, PERIOD.atDay(3).atTime(10, 0));
+        movement(TransactionType.TRANSFERENCIA, "30.50", a, b, PERIOD.atDay(5).atTime(11, 30));
+        movement(TransactionType.EXTRACCION, "10.00", b, null, PERIOD.atDay(7).atTime(9, 15));
+        movement(TransactionType.DEPOSITO, "5.00", null, idle, PERIOD.plusMonths(1).atDay(1).atStartOfDay());
+
+        StatementRunResult result = job.run(PERIOD);
+
+        assertThat(result.status()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(result.accounts()).isEqualTo(2);
+        assertThat(result.transactions()).isEqualTo(4);
+        assertThat(result.files()).isEqualTo(4);
+        assertThat(file(result, idle, "csv")).doesNotExist();
+
+        Statement statementA;
+        try (InputStream in = Files.newInputStream(file(result, a, "stmt"))) {
+            statementA = StatementFormat.readBinary(in);
+        }
+        assertThat(statementA.accountNumber()).isEqualTo(a.getAccountNumber());
+        assertThat(statementA.period()).isEqualTo(PERIOD);
+        assertThat(statementA.lines()).extracting(StatementLine::type)
+                .containsExactly(TransactionType.DEPOSITO, TransactionType.TRANSFERENCIA);
+        assertThat(statementA.lines().get(1).date()).isEqualTo(PERIOD.atDay(5).atTime(11, 30));
+        assertThat(statementA.credits()).isEqualTo(Money.of("100.00"));
+        assertThat(statementA.debits()).isEqualTo(Money.of("-30.50"));
+
+        List<String> csvB = Files.readAllLines(file(result, b, "csv"));
+        assertThat(csvB).containsExactly(
+                "account_number,date,transaction_id,type,amount",
+                b.getAccountNumber() + ",2020-01-05T11:30," + transactionId(b, TransactionType.TRANSFERENCIA) + ",TRANSFERENCIA,30.50",
+                b.getAccountNumber() + ",2020-01-07T09:15," + transactionId(b, TransactionType.EXTRACCION) + ",EXTRACCION,-10.00");
+    }
+
+    private Path file(StatementRunResult result, Account account, String extension) {
+        return Path.of(result.outputDir(), Long.toString(account.getId() / 1000), account.getId() + "." + extension);
+    }
+
+    private long transactionId(Account account, TransactionType type) {
+        return jdbc.queryForObject("select id from transaccion where type = ? and (id_cuenta_origen = ? or id_cuenta_destino = ?)",
+                Long.class, type.name(), account.getId(), account.getId());
+    }
+
+    private Account account(Customer customer, String balance) {
+        return accountRepository.save(Account.builder()
+                .accountNumber("ST-" + System.nanoTime())
+                .accountType(AccountType.CAJA_AHORRO)
+                .balance(Money.of(balance))
+                .openDate(LocalDate.of(2019, 12, 1))
+                .customer(customer)
+                .build());
+    }
+
+    private void movement(TransactionType type, String amount, Account source, Account destination, LocalDateTime date) {
+        jdbc.update("insert into transaccion (date, amount, type, id_cuenta_origen, id_cuenta_destino) values (?, ?, ?, ?, ?)",
+                date, new BigDecimal(amount), type.name(),
+                source != null ? source.getId() : null, destination != null ? destination.getId() : null);
+    }
+}
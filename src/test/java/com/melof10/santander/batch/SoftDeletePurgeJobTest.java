@@ -0,0 +1,186 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.controller.request.AccountBulkCreateRequest;
+import com.melof10.santander.controller.request.AccountCreateRequest;
+import com.melof10.santander.controller.request.CustomerCreateRequest;
+import com.melof10.santander.controller.request.TransactionCreateRequest;
+import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Card;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.enums.CardType;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.exception.DuplicateResourceException;
+import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CardRepository;
+import com.melof10.santander.repository.CustomerRepository;
+import com.melof10.santander.service.IAccountService;
+import com.melof10.santander.service.ICustomerService;
+import com.melof10.santander.service.IReadService;
+import com.melof10.santander.service.ITransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:purgedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///purgedb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.batch.purge.chunk-size=2",
+        "santander.batch.purge.cron=-",
+        "santander.batch.reconciliation.cron=-",
+        "santander.batch.reconciliation.report-dir=target/reconciliation-reports"
+})
+class SoftDeletePurgeJobTest {
+
+    @Autowired private SoftDeletePurgeJob job;
+    @Autowired private BalanceReconciliationJob reconciliationJob;
+    @Autowired private ICustomerService customerService;
+    @Autowired private IAccountService accountService;
+    @Autowired private ITransactionService transactionService;
+    @Autowired private IReadService readService;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    void delete_shouldHideCustomerAtOnce_andPurgeShouldRemoveItsRowsInChunks() {
+        Customer gone = customer("PG-GONE");
+        Account first = account(gone, "1000.00");
+        Account second = account(gone, "0.00");
+        account(gone, "0.00");
+        Card card = card(gone);
+        Customer kept = customer("PG-KEPT");
+        Account other = account(kept, "0.00");
+        for (int i = 0; i < 3; i++) {
+            transactionService.create(new TransactionCreateRequest(TransactionType.DEPOSITO, new BigDecimal("10.00"), null, second.getId()));
+        }
+        transactionService.transfer(new TransferRequest(first.getId(), other.getId(), new BigDecimal("100.00")));
+
+        customerService.delete(gone.getId());
+
+        assertThrows(NotFoundException.class, () -> customerService.getById(gone.getId()));
+        assertThrows(NotFoundException.class, () -> accountService.getById(first.getId()));
+        assertThat(cardRepository.findById(card.getId())).isEmpty();
+        assertThat(accountService.getByCustomerId(gone.getId())).isEmpty();
+        assertThrows(NotFoundException.class, () -> readService.getCustomer(gone.getId()).block());
+        assertThat(rows("cuenta", "id_cliente", gone.getId())).isEqualTo(3);
+
+        PurgeResult result = job.run();
+
+        assertThat(result).isEqualTo(new PurgeResult(1, 3, 1, 3, 1, result.elapsedMs()));
+        assertThat(rows("cliente", "id", gone.getId())).isZero();
+        assertThat(rows("cuenta", "id_cliente", gone.getId())).isZero();
+        assertThat(rows("tarjeta", "id_cliente", gone.getId())).isZero();
+        assertThat(rows("transaccion", "id_cuenta_destino", other.getId())).isOne();
+        assertThat(jdbc.queryForObject("select count(*) from transaccion where id_cuenta_destino = ? and id_cuenta_origen is null",
+                Long.class, other.getId())).isOne();
+        assertThat(accountService.getById(other.getId()).getBalance()).isEqualTo(Money.of("100.00"));
+        assertThat(job.run()).extracting(PurgeResult::customers, PurgeResult::accounts, PurgeResult::cards,
+                        PurgeResult::transactions, PurgeResult::detachedTransactions)
+                .containsExactly(0L, 0L, 0L, 0L, 0L);
+    }
+
+    @Test
+    void delete_shouldHideSingleAccount_andPurgeShouldKeepItsCustomer() {
+        Customer owner = customer("PG-OWNER");
+        Account closed = account(owner, "0.00");
+        Account open = account(owner, "0.00");
+
+        accountService.delete(closed.getId());
+
+        assertThat(accountService.getByCustomerId(owner.getId())).extracting(Account::getId).containsExactly(open.getId());
+        assertThrows(NotFoundException.class, () -> accountService.delete(closed.getId()));
+
+        job.run();
+
+        assertThat(rows("cuenta", "id", closed.getId())).isZero();
+        assertThat(customerRepository.findById(owner.getId())).isPresent();
+        assertThat(accountRepository.findByCustomer_Id(owner.getId())).extracting(Account::getId).containsExactly(open.getId());
+    }
+
+    @Test
+    void purge_shouldKeepTheLedgerOfLiveCounterparties_soReconciliationStillBalances() {
+        Customer owner = customer("PG-RECON");
+        Account closed = account(owner, "500.00");
+        Account live = account(owner, "200.00");
+        Account alsoClosed = account(owner, "0.00");
+        transactionService.transfer(new TransferRequest(closed.getId(), live.getId(), new BigDecimal("120.00")));
+        transactionService.transfer(new TransferRequest(live.getId(), closed.getId(), new BigDecimal("20.00")));
+        transactionService.transfer(new TransferRequest(closed.getId(), alsoClosed.getId(), new BigDecimal("30.00")));
+        accountService.delete(closed.getId());
+        accountService.delete(alsoClosed.getId());
+
+        PurgeResult result = job.run();
+
+        assertThat(result.accounts()).isEqualTo(2);
+        assertThat(result.transactions()).isEqualTo(1);
+        assertThat(result.detachedTransactions()).isEqualTo(2);
+        assertThat(rows("transaccion", "id_cuenta_destino", live.getId())).isOne();
+        assertThat(rows("transaccion", "id_cuenta_origen", live.getId())).isOne();
+        assertThat(reconciliationJob.run().mismatches()).isZero();
+    }
+
+    @Test
+    void deletedDocumentAndNumbers_shouldStayReservedUntilThePurge() {
+        Customer gone = customer("PG-RESERVED");
+        Account account = account(gone, "0.00");
+        Customer other = customer("PG-OTHER");
+        customerService.delete(gone.getId());
+        AccountCreateRequest sameNumber = new AccountCreateRequest(account.getAccountNumber(), AccountType.CAJA_AHORRO,
+                BigDecimal.ZERO, other.getId());
+
+        assertThrows(DuplicateResourceException.class, () -> customerService.create(
+                CustomerCreateRequest.builder().firstName("Otra").lastName("Vez").document("PG-RESERVED").build()));
+        assertThrows(DuplicateResourceException.class, () -> accountService.create(sameNumber));
+        assertThat(accountService.createBulk(new AccountBulkCreateRequest(false, List.of(sameNumber))).rejected()).isOne();
+
+        job.run();
+
+        assertThat(customerService.create(CustomerCreateRequest.builder()
+                .firstName("Otra").lastName("Vez").document("PG-RESERVED").build()).getId()).isNotNull();
+        assertThat(accountService.create(sameNumber).getAccountNumber()).isEqualTo(account.getAccountNumber());
+    }
+
+    private long rows(String table, String column, Long id) {
+        return jdbc.queryForObject("select count(*) from " + table + " where " + column + " = ?", Long.class, id);
+    }
+
+    private Customer customer(String document) {
+        return customerRepository.save(Customer.builder()
+                .firstName("Purga")
+                .lastName("Test")
+                .document(document)
+                .build());
+    }
+
+    private Account account(Customer customer, String balance) {
+        return accountRepository.save(Account.builder()
+                .accountNumber("PG-" + System.nanoTime())
+                .accountType(AccountType.CAJA_AHORRO)
+                .balance(Money.of(balance))
+                .openDate(LocalDate.now())
+                .customer(customer)
+                .build());
+    }
+
+    private Card card(Customer customer) {
+        return cardRepository.save(Card.builder()
+                .cardNumber("4" + System.nanoTime() % 1_000_000_000_000_000L)
+                .cardType(CardType.DEBITO)
+                .expirationDate(LocalDate.now().plusYears(3))
+                .customer(customer)
+                .build());
+    }
+}
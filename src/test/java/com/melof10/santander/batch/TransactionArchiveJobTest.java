@@ -0,0 +1,110 @@
+package com.melof10.santander.batch;
+
+import com.melof10.santander.controller.request.TransactionCreateRequest;
+import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.controller.response.TransactionView;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.entity.Transaction;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CustomerRepository;
+import com.melof10.santander.repository.TransactionArchive;
+import com.melof10.santander.repository.TransactionRepository;
+import com.melof10.santander.service.IReadService;
+import com.melof10.santander.service.ITransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///archivedb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.batch.archive.batch-size=1",
+        "santander.batch.archive.cron=-",
+        "santander.batch.reconciliation.cron=-",
+        "santander.batch.reconciliation.report-dir=target/reconciliation-reports"
+})
+class TransactionArchiveJobTest {
+
+    @Autowired private TransactionArchiveJob job;
+    @Autowired private TransactionArchive archive;
+    @Autowired private BalanceReconciliationJob reconciliationJob;
+    @Autowired private ITransactionService transactionService;
+    @Autowired private IReadService readService;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    void run_shouldMoveOldTransactions_andHistoryShouldMergeThemOnlyWhenTheRangeReachesThem() {
+        Customer customer = customerRepository.save(Customer.builder().firstName("Archivo").lastName("Test").document("ARCH-1").build());
+        Account a = account(customer, "1000.00");
+        Account b = account(customer, "0.00");
+        LocalDateTime now = LocalDateTime.now();
+        Transaction deposit = transactionService.create(movement(TransactionType.DEPOSITO, "100.00", null, a.getId()));
+        Transaction transfer = transactionService.transfer(new TransferRequest(a.getId(), b.getId(), new BigDecimal("50.00")));
+        Transaction withdrawal = transactionService.create(movement(TransactionType.EXTRACCION, "20.00", a.getId(), null));
+        backdate(deposit, now.minusYears(2));
+        backdate(transfer, now.minusDays(400));
+
+        ArchiveResult result = job.run(LocalDate.now().minusDays(365).atStartOfDay());
+
+        assertThat(result.archived()).isEqualTo(2);
+        assertThat(result.chunks()).isEqualTo(2);
+        assertThat(count(TransactionArchive.HOT)).isEqualTo(1);
+        assertThat(count(TransactionArchive.COLD)).isEqualTo(2);
+        assertThat(job.run(LocalDate.now().minusDays(365).atStartOfDay()).archived()).isZero();
+
+        assertThat(archive.select("id", "1 = 1", now.minusDays(30))).doesNotContain(TransactionArchive.COLD);
+        assertThat(transactionRepository.findStatement(a.getId(), now.minusDays(30), now.plusMinutes(1), PageRequest.of(0, 10)))
+                .extracting(TransactionView::id).containsExactly(withdrawal.getId());
+
+        Page<TransactionView> history = transactionRepository.findStatement(a.getId(), now.minusYears(3), now.plusMinutes(1), PageRequest.of(0, 2));
+        assertThat(history.getTotalElements()).isEqualTo(3);
+        assertThat(history.getContent()).extracting(TransactionView::id).containsExactly(withdrawal.getId(), transfer.getId());
+        assertThat(history.getContent().get(1).amount()).isEqualByComparingTo("50.00");
+
+        assertThat(transactionRepository.findRecent(a.getId(), 1)).extracting(TransactionView::id).containsExactly(withdrawal.getId());
+        assertThat(transactionRepository.findRecent(a.getId(), 10)).extracting(TransactionView::id)
+                .containsExactly(withdrawal.getId(), transfer.getId(), deposit.getId());
+        assertThat(readService.getStatement(b.getId(), now.minusYears(3), now.plusMinutes(1)).collectList().block())
+                .extracting(TransactionView::id).containsExactly(transfer.getId());
+
+        assertThat(reconciliationJob.run().mismatches()).isZero();
+    }
+
+    private Account account(Customer customer, String balance) {
+        return accountRepository.save(Account.builder()
+                .accountNumber("ARCH-" + System.nanoTime())
+                .accountType(AccountType.CAJA_AHORRO)
+                .balance(Money.of(balance))
+                .openDate(LocalDate.now().minusYears(3))
+                .customer(customer)
+                .build());
+    }
+
+    private void backdate(Transaction transaction, LocalDateTime date) {
+        jdbc.update("update transaccion set date = ? where id = ?", date, transaction.getId());
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    private static TransactionCreateRequest movement(TransactionType type, String amount, Long source, Long destination) {
+        return new TransactionCreateRequest(type, new BigDecimal(amount), source, destination);
+    }
+}
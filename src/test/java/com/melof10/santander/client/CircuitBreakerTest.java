@@ -0,0 +1,135 @@
+package com.melof10.santander.client;
+
+import com.melof10.santander.exception.UpstreamUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new CircuitBreaker("test", 10, 4, 50, Duration.ofSeconds(5), 2,
+                error -> !(error instanceof IllegalArgumentException), clock::get);
+    }
+
+    @Test
+    void staysClosed_whileBelowMinimumCalls() {
+        fail(3);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.decorate(Mono.just("ok")).block()).isEqualTo("ok");
+    }
+
+    @Test
+    void opens_whenFailureRateReachesThreshold() {
+        succeed(2);
+        fail(2);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.decorate(Mono.just("ok")).block());
+    }
+
+    @Test
+    void ignoresErrors_notRecordedAsFailures() {
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> breaker.decorate(Mono.error(new IllegalArgumentException())).block());
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    void halfOpen_closesAfterSuccessfulProbes() {
+        fail(4);
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        succeed(2);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    void halfOpen_reopensOnFailedProbe() {
+        fail(4);
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        fail(1);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpen_limitsConcurrentProbes() {
+        fail(4);
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        int probe = breaker.tryAcquirePermission();
+        assertThat(probe).isPositive();
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(probe);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.DENIED);
+
+        breaker.onCancel(probe);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(probe);
+    }
+
+    @Test
+    void halfOpen_ignoresCallsAdmittedBeforeTheProbes() {
+        int closedCall = breaker.tryAcquirePermission();
+        fail(4);
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        int probe = breaker.tryAcquirePermission();
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(probe);
+
+        breaker.onSuccess(closedCall);
+        breaker.onCancel(closedCall);
+        breaker.onFailure(closedCall);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.DENIED);
+    }
+
+    @Test
+    void halfOpen_ignoresProbesOfAPreviousRound() {
+        fail(4);
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        int stale = breaker.tryAcquirePermission();
+        fail(1);
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        int probe = breaker.tryAcquirePermission();
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(probe);
+
+        breaker.onSuccess(stale);
+        breaker.onSuccess(stale);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.DENIED);
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.decorate(Mono.just("ok")).block();
+        }
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThrows(IllegalStateException.class,
+                    () -> breaker.decorate(Mono.error(new IllegalStateException("boom"))).block());
+        }
+    }
+}
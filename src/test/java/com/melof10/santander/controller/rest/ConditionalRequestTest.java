@@ -0,0 +1,149 @@
+package com.melof10.santander.controller.rest;
+
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:etagdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///etagdb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@AutoConfigureMockMvc
+class ConditionalRequestTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AccountRepository accountRepository;
+
+    @Test
+    void account_shouldAnswerNotModified_untilADepositChangesItsVersion() throws Exception {
+        Account account = account(customer("ETAG-1"));
+        String etag = etag(get("/api/accounts/{id}", account.getId()));
+
+        mockMvc.perform(get("/api/accounts/{id}", account.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        deposit(account);
+
+        String next = etag(get("/api/accounts/{id}", account.getId()).header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(next).isNotEqualTo(etag);
+    }
+
+    @Test
+    void customer_shouldChangeItsETag_whenOneOfItsAccountsChanges() throws Exception {
+        Customer customer = customer("ETAG-2");
+        Account account = account(customer);
+        String etag = etag(get("/api/customers/{id}", customer.getId()));
+
+        mockMvc.perform(get("/api/customers/{id}", customer.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        deposit(account);
+
+        mockMvc.perform(put("/api/customers/{id}", customer.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Otro\",\"lastName\":\"Test\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        String current = etag(get("/api/customers/{id}", customer.getId()));
+        assertThat(current).isNotEqualTo(etag);
+        String updated = mockMvc.perform(put("/api/customers/{id}", customer.getId())
+                        .header(HttpHeaders.IF_MATCH, current)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Otro\",\"lastName\":\"Test\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(updated).isNotEqualTo(current).isEqualTo(etag(get("/api/customers/{id}", customer.getId())));
+        assertThat(customerRepository.findById(customer.getId()).orElseThrow().getFirstName()).isEqualTo("Otro");
+    }
+
+    @Test
+    void card_shouldRejectAStaleIfMatch() throws Exception {
+        Customer customer = customer("ETAG-3");
+        String location = mockMvc.perform(post("/api/cards")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"cardNumber":"4999000011112222","cardType":"CREDITO","expirationDate":"2030-12-31","creditLimit":1000.00,"customerId":%d}
+                                """.formatted(customer.getId())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        String etag = etag(get(location));
+        String body = """
+                {"cardType":"DEBITO","expirationDate":"2031-12-31","creditLimit":0}
+                """;
+
+        mockMvc.perform(put(location).header(HttpHeaders.IF_MATCH, etag).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+        mockMvc.perform(put(location).header(HttpHeaders.IF_MATCH, etag).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void ifMatch_shouldAcceptAnyListedStrongTag_andNeverAWeakOne() throws Exception {
+        Account account = account(customer("ETAG-4"));
+        String etag = etag(get("/api/accounts/{id}", account.getId()));
+        String body = """
+                {"accountType":"CUENTA_CORRIENTE","balance":100.00}
+                """;
+
+        mockMvc.perform(put("/api/accounts/{id}", account.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/" + etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/accounts/{id}", account.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"999\", " + etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+    }
+
+    private String etag(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private void deposit(Account account) throws Exception {
+        mockMvc.perform(post("/api/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type":"DEPOSITO","amount":10.00,"destinationAccountId":%d}
+                                """.formatted(account.getId())))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    private Customer customer(String document) {
+        return customerRepository.save(Customer.builder().firstName("Etag").lastName("Test").document(document).build());
+    }
+
+    private Account account(Customer owner) {
+        return accountRepository.save(Account.builder()
+                .accountNumber("ETAG-" + System.nanoTime())
+                .accountType(AccountType.CAJA_AHORRO)
+                .balance(Money.of("100.00"))
+                .openDate(LocalDate.now())
+                .customer(owner)
+                .build());
+    }
+}
@@ -0,0 +1,128 @@
+package com.melof10.santander.controller.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.melof10.santander.config.BinaryFormatsConfig.APPLICATION_SMILE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:negotiationdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///negotiationdb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@AutoConfigureMockMvc
+class ContentNegotiationTest {
+
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AccountRepository accountRepository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = customerRepository.save(Customer.builder()
+                .firstName("Binario").lastName("Test").document("BIN-" + System.nanoTime()).build());
+        account = accountRepository.save(Account.builder()
+                .accountNumber("BIN-" + System.nanoTime())
+                .accountType(AccountType.CAJA_AHORRO)
+                .balance(Money.of("100.00"))
+                .openDate(LocalDate.now())
+                .customer(customer)
+                .build());
+    }
+
+    @Test
+    void get_shouldAnswerCbor_whenAskedFor() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/accounts/{id}", account.getId()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode json = cbor.readTree(body);
+        assertThat(json.get("accountNumber").asText()).isEqualTo(account.getAccountNumber());
+        assertThat(json.get("balance").isBigDecimal()).isTrue();
+        assertThat(json.get("balance").decimalValue()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void post_shouldReadAndWriteSmile() throws Exception {
+        byte[] request = smile.writeValueAsBytes(Map.of(
+                "type", "DEPOSITO", "amount", new BigDecimal("25.50"), "destinationAccountId", account.getId()));
+
+        byte[] body = mockMvc.perform(post("/api/transactions").contentType(APPLICATION_SMILE).accept(APPLICATION_SMILE).content(request))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(smile.readTree(body).get("amount").decimalValue()).isEqualByComparingTo("25.50");
+    }
+
+    @Test
+    void v2Export_shouldStreamOneCborArray_andKeepNdjsonAsDefault() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/transactions").contentType(MediaType.APPLICATION_JSON).content("""
+                    {"type":"DEPOSITO","amount":10.00,"destinationAccountId":%d}
+                    """.formatted(account.getId()))).andExpect(status().isCreated());
+        }
+        String from = LocalDateTime.now().minusDays(1).toString();
+        String to = LocalDateTime.now().plusDays(1).toString();
+
+        MvcResult started = mockMvc.perform(get("/api/v2/accounts/{id}/statement", account.getId())
+                        .param("from", from).param("to", to)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode statement = cbor.readTree(body);
+        assertThat(statement.isArray()).isTrue();
+        assertThat(statement).hasSize(3);
+        assertThat(statement.get(0).get("amount").decimalValue()).isEqualByComparingTo("10.00");
+
+        MvcResult ndjson = mockMvc.perform(get("/api/v2/accounts/{id}/statement", account.getId())
+                        .param("from", from).param("to", to)
+                        .header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+    }
+}
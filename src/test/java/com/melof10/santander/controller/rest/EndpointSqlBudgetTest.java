@@ -0,0 +1,389 @@
+package com.melof10.santander.controller.rest;
+
+import com.melof10.santander.diagnostics.SqlBudget;
+import com.melof10.santander.diagnostics.SqlCount;
+import com.melof10.santander.diagnostics.SqlCountExtension;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Card;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.entity.Transaction;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.enums.CardType;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CardRepository;
+import com.melof10.santander.repository.CustomerRepository;
+import com.melof10.santander.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement budgets per endpoint of the JPA stack (/api). A budget that starts failing means
+ * an endpoint gained round trips (an N+1 over a list, an extra existsBy before a save...): fix the
+ * query or, if the new statement is intended, raise the budget in the same change.
+ * The reactive /api/v2 endpoints read through R2DBC and are not counted here.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:budgetdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///budgetdb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@AutoConfigureMockMvc
+@ExtendWith(SqlCountExtension.class)
+class EndpointSqlBudgetTest {
+
+    private static final AtomicLong SEQ = new AtomicLong();
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private TransactionRepository transactionRepository;
+
+    private Customer customer;
+    private Account source;
+    private Account destination;
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        customer = customer();
+        source = account(customer, "5000.00");
+        destination = account(customer, "0.00");
+        card = card(customer);
+    }
+
+    @Test
+    @SqlBudget(select = 1, insert = 1, total = 2)
+    void createCustomer() throws Exception {
+        perform(post("/api/customers"), """
+                {"firstName":"Ana","lastName":"Gomez","document":"%s","email":"ana@mail.com"}
+                """.formatted(next("DOC")));
+    }
+
+    @Test
+    @SqlBudget(select = 4, total = 4)
+    void getCustomer() throws Exception {
+        perform(get("/api/customers/{id}", customer.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getCustomerFields() throws Exception {
+        perform(get("/api/customers/{id}", customer.getId()).param("fields", "id,document"));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getCustomerNotModified(SqlCount sql) throws Exception {
+        String tag = "\"" + customerRepository.findVersionTagById(customer.getId()).orElseThrow() + "\"";
+        sql.reset();
+        notModified(get("/api/customers/{id}", customer.getId()).header(HttpHeaders.IF_NONE_MATCH, tag));
+    }
+
+    @Test
+    @SqlBudget(select = 3, total = 3)
+    void getAllCustomers(SqlCount sql) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Customer other = customer();
+            account(other, "10.00");
+            card(other);
+        }
+        sql.reset();
+        perform(get("/api/customers"));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getAllCustomersFields(SqlCount sql) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Customer other = customer();
+            account(other, "10.00");
+            card(other);
+        }
+        sql.reset();
+        perform(get("/api/customers").param("fields", "id,lastName"));
+    }
+
+    @Test
+    @SqlBudget(select = 4, update = 1, total = 5)
+    void updateCustomer() throws Exception {
+        perform(put("/api/customers/{id}", customer.getId()), """
+                {"firstName":"Ana","lastName":"Perez","email":"ana@mail.com"}
+                """);
+    }
+
+    @Test
+    @SqlBudget(select = 1, update = 3, delete = 0, total = 4)
+    void deleteCustomer() throws Exception {
+        mockMvc.perform(delete("/api/customers/{id}", customer.getId())).andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    @SqlBudget(select = 2, insert = 1, total = 3)
+    void createAccount() throws Exception {
+        perform(post("/api/accounts"), """
+                {"accountNumber":"%s","accountType":"CAJA_AHORRO","initialBalance":100.00,"customerId":%d}
+                """.formatted(next("ACC"), customer.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 3, insert = 1, total = 4)
+    void createAccountsInBulk() throws Exception {
+        perform(post("/api/accounts/bulk"), """
+                {"generateNumbers":true,"accounts":[
+                  {"accountType":"CAJA_AHORRO","initialBalance":10.00,"customerId":%1$d},
+                  {"accountType":"CUENTA_CORRIENTE","initialBalance":20.00,"customerId":%1$d},
+                  {"accountType":"CAJA_AHORRO","initialBalance":30.00,"customerId":%1$d}]}
+                """.formatted(customer.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getAccount() throws Exception {
+        perform(get("/api/accounts/{id}", source.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 0, total = 0)
+    void getAccountNotModified(SqlCount sql) throws Exception {
+        perform(get("/api/accounts/{id}/balance", source.getId()));
+        sql.reset();
+        notModified(get("/api/accounts/{id}", source.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"" + source.getVersion() + "\""));
+    }
+
+    @Test
+    @SqlBudget(select = 0, total = 0)
+    void getAccountBalance(SqlCount sql) throws Exception {
+        perform(get("/api/accounts/{id}/balance", source.getId()));
+        sql.reset();
+        perform(get("/api/accounts/{id}/balance", source.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getAccountsByIds() throws Exception {
+        perform(get("/api/accounts").param("ids", source.getId() + "," + destination.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getAccountsByCustomer() throws Exception {
+        perform(get("/api/accounts/by-customer/{customerId}", customer.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getAccountsByCustomerFields() throws Exception {
+        perform(get("/api/accounts/by-customer/{customerId}", customer.getId()).param("fields", "id,balance"));
+    }
+
+    @Test
+    @SqlBudget(select = 1, update = 1, total = 2)
+    void updateAccount() throws Exception {
+        perform(put("/api/accounts/{id}", source.getId()), """
+                {"accountType":"CUENTA_CORRIENTE","balance":4000.00}
+                """);
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void updateAccountWithStaleIfMatch() throws Exception {
+        mockMvc.perform(put("/api/accounts/{id}", source.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + (source.getVersion() + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"accountType\":\"CUENTA_CORRIENTE\",\"balance\":4000.00}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @SqlBudget(select = 0, update = 1, delete = 0, total = 1)
+    void deleteAccount() throws Exception {
+        mockMvc.perform(delete("/api/accounts/{id}", destination.getId())).andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    @SqlBudget(select = 2, insert = 1, total = 3)
+    void createCard() throws Exception {
+        perform(post("/api/cards"), """
+                {"cardNumber":"%s","cardType":"DEBITO","expirationDate":"2030-12-31","customerId":%d}
+                """.formatted(next("4"), customer.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 2, insert = 1, total = 3)
+    void createCardsInBulk() throws Exception {
+        perform(post("/api/cards/bulk"), """
+                {"cards":[
+                  {"cardNumber":"%s","cardType":"DEBITO","expirationDate":"2030-12-31","customerId":%d},
+                  {"cardNumber":"%s","cardType":"CREDITO","expirationDate":"2030-12-31","creditLimit":500.00,"customerId":%d}]}
+                """.formatted(next("4"), customer.getId(), next("4"), customer.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getCard() throws Exception {
+        perform(get("/api/cards/{id}", card.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getCardNotModified() throws Exception {
+        notModified(get("/api/cards/{id}", card.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"" + card.getVersion() + "\""));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getCardsByCustomer() throws Exception {
+        perform(get("/api/cards/by-customer/{customerId}", customer.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getCardsByCustomerFields() throws Exception {
+        perform(get("/api/cards/by-customer/{customerId}", customer.getId()).param("fields", "cardNumber"));
+    }
+
+    @Test
+    @SqlBudget(select = 1, update = 1, total = 2)
+    void updateCard() throws Exception {
+        perform(put("/api/cards/{id}", card.getId()), """
+                {"cardType":"CREDITO","expirationDate":"2031-12-31","creditLimit":1000.00}
+                """);
+    }
+
+    @Test
+    @SqlBudget(select = 2, delete = 1, total = 3)
+    void deleteCard() throws Exception {
+        mockMvc.perform(delete("/api/cards/{id}", card.getId())).andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    @SqlBudget(select = 1, insert = 1, update = 1, total = 3)
+    void deposit() throws Exception {
+        perform(post("/api/transactions"), """
+                {"type":"DEPOSITO","amount":100.00,"destinationAccountId":%d}
+                """.formatted(destination.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 1, insert = 1, update = 1, total = 3)
+    void withdraw() throws Exception {
+        perform(post("/api/transactions"), """
+                {"type":"EXTRACCION","amount":100.00,"sourceAccountId":%d}
+                """.formatted(source.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 2, insert = 1, update = 2, total = 5)
+    void transfer() throws Exception {
+        perform(post("/api/transactions/transfer"), """
+                {"sourceAccountId":%d,"destinationAccountId":%d,"amount":250.00}
+                """.formatted(source.getId(), destination.getId()));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getTransaction(SqlCount sql) throws Exception {
+        Long id = transaction().getId();
+        sql.reset();
+        perform(get("/api/transactions/{id}", id));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getAllTransactions(SqlCount sql) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            transaction();
+        }
+        sql.reset();
+        perform(get("/api/transactions"));
+    }
+
+    @Test
+    @SqlBudget(select = 1, total = 1)
+    void getAllTransactionsFields(SqlCount sql) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            transaction();
+        }
+        sql.reset();
+        perform(get("/api/transactions").param("fields", "id,amount,destinationAccountId"));
+    }
+
+    @Test
+    @SqlBudget(select = 2, delete = 1, total = 3)
+    void deleteTransaction(SqlCount sql) throws Exception {
+        Long id = transaction().getId();
+        sql.reset();
+        mockMvc.perform(delete("/api/transactions/{id}", id)).andExpect(status().is2xxSuccessful());
+    }
+
+    private void perform(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+    }
+
+    private void notModified(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isNotModified());
+    }
+
+    private void perform(MockHttpServletRequestBuilder request, String body) throws Exception {
+        perform(request.contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private Customer customer() {
+        return customerRepository.save(Customer.builder()
+                .firstName("Budget")
+                .lastName("Test")
+                .document(next("BT"))
+                .build());
+    }
+
+    private Account account(Customer owner, String balance) {
+        return accountRepository.save(Account.builder()
+                .accountNumber(next("BT-"))
+                .accountType(AccountType.CAJA_AHORRO)
+                .balance(Money.of(balance))
+                .openDate(LocalDate.now())
+                .customer(owner)
+                .build());
+    }
+
+    private Card card(Customer owner) {
+        return cardRepository.save(Card.builder()
+                .cardNumber(next("5"))
+                .cardType(CardType.DEBITO)
+                .expirationDate(LocalDate.now().plusYears(3))
+                .customer(owner)
+                .build());
+    }
+
+    private Transaction transaction() {
+        return transactionRepository.save(Transaction.builder()
+                .amount(Money.of("10.00"))
+                .type(TransactionType.TRANSFERENCIA)
+                .sourceAccount(source)
+                .destinationAccount(destination)
+                .build());
+    }
+
+    private static String next(String prefix) {
+        return prefix + System.nanoTime() % 1_000_000_000L + SEQ.incrementAndGet();
+    }
+}
@@ -0,0 +1,133 @@
+package com.melof10.santander.controller.rest;
+
+import com.melof10.santander.diagnostics.SqlStatementStats;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fieldsdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///fieldsdb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+@AutoConfigureMockMvc
+class SparseFieldsTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private SqlStatementStats sqlStats;
+
+    private Customer customer;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(Customer.builder()
+                .firstName("Campos").lastName("Test").document("FLD-" + System.nanoTime()).build());
+        account = accountRepository.save(Account.builder()
+                .accountNumber("FLD-" + System.nanoTime())
+                .accountType(AccountType.CAJA_AHORRO)
+                .balance(Money.of("100.00"))
+                .openDate(LocalDate.of(2025, 1, 2))
+                .customer(customer)
+                .build());
+    }
+
+    @Test
+    void account_shouldReturnOnlyTheRequestedProperties() throws Exception {
+        mockMvc.perform(get("/api/accounts/{id}", account.getId()).param("fields", "id,balance,openDate"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$.id").value(account.getId()))
+                .andExpect(jsonPath("$.balance").value(100.00))
+                .andExpect(jsonPath("$.openDate").value("2025-01-02"));
+
+        mockMvc.perform(get("/api/accounts/by-customer/{id}", customer.getId()).param("fields", "accountNumber"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].length()").value(1))
+                .andExpect(jsonPath("$[0].accountNumber").value(account.getAccountNumber()));
+
+        mockMvc.perform(get("/api/accounts").param("ids", account.getId().toString()).param("fields", "id", "accountType"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].accountType").value("CAJA_AHORRO"))
+                .andExpect(jsonPath("$[0].balance").doesNotExist());
+    }
+
+    @Test
+    void fieldOrder_shouldShapeTheBodyButNotTheStatement() throws Exception {
+        mockMvc.perform(get("/api/cards").param("fields", "cardType,expirationDate"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/cards").param("fields", "expirationDate,cardType"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/accounts/{id}", account.getId()).param("fields", "openDate,id"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"openDate\":\"2025-01-02\",\"id\":%d}".formatted(account.getId()), true))
+                .andExpect(content().string(startsWith("{\"openDate\"")));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> statements = (List<Map<String, Object>>) sqlStats.snapshot().get("statements");
+        assertThat(statements).map(s -> (String) s.get("sql"))
+                .filteredOn(sql -> sql.contains("card_type") && sql.contains("expiration_date") && sql.contains("from tarjeta"))
+                .singleElement().asString().startsWith("select card_type, expiration_date from tarjeta");
+    }
+
+    @Test
+    void transaction_shouldFlattenItsAccountIds() throws Exception {
+        String location = mockMvc.perform(post("/api/transactions").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"type":"DEPOSITO","amount":12.50,"destinationAccountId":%d}
+                        """.formatted(account.getId())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("Location");
+
+        mockMvc.perform(get(location).param("fields", "amount,type,destinationAccountId,sourceAccountId"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$.amount").value(12.50))
+                .andExpect(jsonPath("$.type").value("DEPOSITO"))
+                .andExpect(jsonPath("$.destinationAccountId").value(account.getId()))
+                .andExpect(jsonPath("$.sourceAccountId").isEmpty());
+    }
+
+    @Test
+    void unknownField_shouldAnswerBadRequest_listingTheAllowedOnes() throws Exception {
+        mockMvc.perform(get("/api/customers/{id}", customer.getId()).param("fields", "id,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Campos inexistentes: password"))
+                .andExpect(jsonPath("$.details", hasItem("document")));
+
+        mockMvc.perform(get("/api/cards").param("fields", ""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void missingResource_shouldStillAnswerNotFound() throws Exception {
+        mockMvc.perform(get("/api/customers/{id}", Long.MAX_VALUE).param("fields", "id"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,80 @@
+package com.melof10.santander.controller.rest.v2;
+
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:abortdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///abortdb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+class BinaryExportAbortTest {
+
+    private static final int MOVEMENTS = 20_000;
+
+    @LocalServerPort private int port;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private MeterRegistry registry;
+
+    @Test
+    void abortedCborStatement_shouldReleaseItsReadConnection() throws Exception {
+        Customer customer = customerRepository.save(Customer.builder().firstName("Corte").lastName("Test").document("ABORT-1").build());
+        Account account = accountRepository.save(Account.builder()
+                .accountNumber("ABORT-" + System.nanoTime())
+                .accountType(AccountType.CAJA_AHORRO)
+                .balance(Money.of("0.00"))
+                .openDate(LocalDate.now())
+                .customer(customer)
+                .build());
+        LocalDateTime start = LocalDateTime.now().minusDays(10);
+        List<Object[]> rows = new ArrayList<>(MOVEMENTS);
+        for (int i = 0; i < MOVEMENTS; i++) {
+            rows.add(new Object[]{Timestamp.valueOf(start.plusSeconds(i)), "1.00", "DEPOSITO", account.getId()});
+        }
+        jdbc.batchUpdate("insert into transaccion (date, amount, type, id_cuenta_destino) values (?, ?, ?, ?)", rows);
+
+        try (Socket socket = new Socket("localhost", port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /api/v2/accounts/" + account.getId() + "/statement?from=" + start.minusDays(1)
+                    + "&to=" + LocalDateTime.now().plusDays(1) + " HTTP/1.1\r\n"
+                    + "Host: localhost\r\nAccept: application/cbor\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            assertThat(in.readNBytes(4096)).hasSize(4096);
+            socket.setSoLinger(true, 0);
+        }
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (acquired() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(acquired()).isZero();
+    }
+
+    private double acquired() {
+        return registry.get("r2dbc.pool.acquired").tag("name", "santander-read").gauge().value();
+    }
+}
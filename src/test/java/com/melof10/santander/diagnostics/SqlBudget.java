@@ -0,0 +1,26 @@
+package com.melof10.santander.diagnostics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of JDBC statements, per type, that the annotated test may issue on its own thread
+ * (from the end of {@code @BeforeEach} or the last {@link SqlCount#reset()}). Negative means unchecked.
+ * Verified by {@link SqlCountExtension} after the test body succeeds.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int select() default -1;
+
+    int insert() default -1;
+
+    int update() default -1;
+
+    int delete() default -1;
+
+    int total() default -1;
+}
@@ -0,0 +1,48 @@
+package com.melof10.santander.diagnostics;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+/**
+ * JDBC statements issued on the current thread since the test started (or the last {@link #reset()}),
+ * as counted by the datasource-proxy wrapping the application DataSource.
+ */
+public final class SqlCount {
+
+    static final String DATA_SOURCE = "santander";
+
+    public void reset() {
+        QueryCountHolder.clear();
+    }
+
+    public long select() {
+        return current().getSelect();
+    }
+
+    public long insert() {
+        return current().getInsert();
+    }
+
+    public long update() {
+        return current().getUpdate();
+    }
+
+    public long delete() {
+        return current().getDelete();
+    }
+
+    public long total() {
+        return current().getTotal();
+    }
+
+    private static QueryCount current() {
+        QueryCount count = QueryCountHolder.get(DATA_SOURCE);
+        return count == null ? new QueryCount() : count;
+    }
+
+    @Override
+    public String toString() {
+        return "select=%d, insert=%d, update=%d, delete=%d, total=%d"
+                .formatted(select(), insert(), update(), delete(), total());
+    }
+}
@@ -0,0 +1,88 @@
+package com.melof10.santander.diagnostics;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.listener.ChainListener;
+import net.ttddyy.dsproxy.listener.DataSourceQueryCountListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the JDBC statements a Spring test issues on its own thread (MockMvc requests and direct
+ * service calls run there) and checks them against the test's {@link SqlBudget}. Counting starts
+ * right before the test method, so {@code @BeforeEach} fixtures are not charged; tests can inject
+ * {@link SqlCount} to reset mid-way or to assert on the numbers themselves.
+ *
+ * <pre>
+ * &#64;SpringBootTest
+ * &#64;ExtendWith(SqlCountExtension.class)
+ * class SomeTest {
+ *     &#64;Test &#64;SqlBudget(select = 2, insert = 1)
+ *     void create() { ... }
+ * }
+ * </pre>
+ */
+public class SqlCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback, ParameterResolver {
+
+    private static final SqlCount COUNT = new SqlCount();
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        DataSource dataSource = SpringExtension.getApplicationContext(context).getBean(DataSource.class);
+        if (!(dataSource instanceof ProxyDataSource proxy)) {
+            throw new IllegalStateException("DataSource is not wrapped by datasource-proxy: " + dataSource.getClass());
+        }
+        ChainListener chain = proxy.getProxyConfig().getQueryListener();
+        synchronized (chain) {
+            if (chain.getListeners().stream().noneMatch(DataSourceQueryCountListener.class::isInstance)) {
+                chain.addListener(new DataSourceQueryCountListener());
+            }
+        }
+        QueryCountHolder.clear();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlBudget budget = context.getRequiredTestMethod().getAnnotation(SqlBudget.class);
+        if (budget == null || context.getExecutionException().isPresent()) {
+            QueryCountHolder.clear();
+            return;
+        }
+        List<String> exceeded = new ArrayList<>();
+        check(exceeded, "select", COUNT.select(), budget.select());
+        check(exceeded, "insert", COUNT.insert(), budget.insert());
+        check(exceeded, "update", COUNT.update(), budget.update());
+        check(exceeded, "delete", COUNT.delete(), budget.delete());
+        check(exceeded, "total", COUNT.total(), budget.total());
+        String actual = COUNT.toString();
+        QueryCountHolder.clear();
+        if (!exceeded.isEmpty()) {
+            throw new AssertionError("SQL budget exceeded in %s: %s (actual %s)"
+                    .formatted(context.getDisplayName(), String.join(", ", exceeded), actual));
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SqlCount.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return COUNT;
+    }
+
+    private static void check(List<String> exceeded, String type, long actual, int max) {
+        if (max >= 0 && actual > max) {
+            exceeded.add("%s %d > %d".formatted(type, actual, max));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.melof10.santander.diagnostics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementStatsTest {
+
+    private SimpleMeterRegistry registry;
+    private SqlStatementStats stats;
+    private SqlTracker.Scope scope;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        stats = new SqlStatementStats(registry, 100, 3, 10, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlTracker.close(scope);
+    }
+
+    @Test
+    void normalize_shouldCollapseLiteralsInListsAndWhitespace() {
+        assertThat(SqlStatementStats.normalize("select *\n  from cuenta where id in (?, ?, ?) and number = 'ACC-1' and balance > 10.5"))
+                .isEqualTo("select * from cuenta where id in (?) and number = ? and balance > ?");
+        assertThat(SqlStatementStats.normalize("select t1_0.id from transaccion t1_0 where t1_0.id=?"))
+                .isEqualTo("select t1_0.id from transaccion t1_0 where t1_0.id=?");
+    }
+
+    @Test
+    void record_shouldAggregateStatementsWithTheSameShape() {
+        stats.record("select * from cuenta where id = 1", TimeUnit.MILLISECONDS.toNanos(2), List.of(), true);
+        stats.record("select * from cuenta where id = 2", TimeUnit.MILLISECONDS.toNanos(4), List.of(), false);
+
+        List<Map<String, Object>> statements = statements();
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0)).containsEntry("count", 2L).containsEntry("errors", 1L).containsEntry("type", "select");
+        assertThat(registry.get("santander.sql").tag("type", "select").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void record_shouldKeepSlowQueryWithOriginAndParameters_whenAboveThreshold() {
+        stats = new SqlStatementStats(registry, 100, 3, 10, true);
+        scope = SqlTracker.open("GET /api/accounts/1");
+        scope.enter("AccountServiceImpl.getById");
+
+        stats.record("select * from cuenta where id=?", TimeUnit.MILLISECONDS.toNanos(150), List.of(1L), true);
+        stats.record("select * from cuenta where id=?", TimeUnit.MILLISECONDS.toNanos(5), List.of(2L), true);
+
+        @SuppressWarnings("unchecked")
+        List<SqlStatementStats.SlowQuery> slow = (List<SqlStatementStats.SlowQuery>) stats.snapshot().get("slowQueries");
+        assertThat(slow).singleElement().satisfies(q -> {
+            assertThat(q.elapsedMs()).isEqualTo(150);
+            assertThat(q.parameters()).isEqualTo("[1]");
+            assertThat(q.origin()).isEqualTo("AccountServiceImpl.getById");
+        });
+    }
+
+    @Test
+    void record_shouldHideBindValuesAndLiteralsOfSlowQueries_byDefault() {
+        stats.record("select * from cliente where document = 'DNI-30111222' and id=?", TimeUnit.MILLISECONDS.toNanos(150),
+                List.of(7L), true);
+
+        @SuppressWarnings("unchecked")
+        List<SqlStatementStats.SlowQuery> slow = (List<SqlStatementStats.SlowQuery>) stats.snapshot().get("slowQueries");
+        assertThat(slow).singleElement().satisfies(q -> {
+            assertThat(q.sql()).isEqualTo("select * from cliente where document = ? and id=?");
+            assertThat(q.parameters()).isEqualTo("[?]");
+        });
+    }
+
+    @Test
+    void record_shouldSendShapesAboveTheLimitToOneOtherTimer() {
+        for (int i = 0; i < 15; i++) {
+            stats.record("select c" + (char) ('a' + i) + " from cliente", 1_000, List.of(), true);
+        }
+
+        assertThat(statements()).hasSize(11).filteredOn(s -> "other".equals(s.get("id")))
+                .singleElement().satisfies(other -> assertThat(other).containsEntry("count", 5L));
+        assertThat(registry.find("santander.sql").timers()).hasSize(11);
+        assertThat(registry.get("santander.sql").tag("query", "other").timer().count()).isEqualTo(5);
+    }
+
+    @Test
+    void digest_shouldTellApartShapesWithTheSameHashCode() {
+        assertThat("select Aa".hashCode()).isEqualTo("select BB".hashCode());
+        assertThat(SqlStatementStats.digest("select Aa")).isNotEqualTo(SqlStatementStats.digest("select BB")).hasSize(32);
+    }
+
+    @Test
+    void report_shouldFlagRepeatedSelects_whenCountReachesThreshold() {
+        scope = SqlTracker.open("GET /api/customers");
+        for (int i = 0; i < 3; i++) {
+            stats.record("select * from cuenta where id_cliente=?", 1_000, List.of(i), true);
+            stats.record("insert into transaccion (amount) values (?)", 1_000, List.of(i), true);
+        }
+        stats.record("select * from cliente", 1_000, List.of(), true);
+
+        stats.report(scope);
+
+        @SuppressWarnings("unchecked")
+        List<SqlStatementStats.RepeatedStatement> repeated =
+                (List<SqlStatementStats.RepeatedStatement>) stats.snapshot().get("repeatedStatements");
+        assertThat(repeated).singleElement().satisfies(r -> {
+            assertThat(r.count()).isEqualTo(3);
+            assertThat(r.scope()).isEqualTo("GET /api/customers");
+            assertThat(r.sql()).isEqualTo("select * from cuenta where id_cliente=?");
+        });
+        assertThat(registry.get("santander.sql.repeated").tag("query", repeated.get(0).id()).counter().count()).isEqualTo(1);
+
+        stats.clearSamples();
+        assertThat((List<?>) stats.snapshot().get("repeatedStatements")).isEmpty();
+    }
+
+    @Test
+    void open_shouldNotNestScopes() {
+        scope = SqlTracker.open("outer");
+
+        assertThat(SqlTracker.open("inner")).isNull();
+        assertThat(SqlTracker.current()).isSameAs(scope);
+        assertThat(SqlTracker.origin()).isEqualTo("-");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> statements() {
+        return (List<Map<String, Object>>) stats.snapshot().get("statements");
+    }
+}
@@ -0,0 +1,151 @@
+package com.melof10.santander.event;
+
+import com.melof10.santander.controller.response.AccountBalance;
+import com.melof10.santander.controller.response.TransactionView;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Transaction;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.readmodel.BalanceReadModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountEventBusTest {
+
+    private static final int BUFFER = 2;
+
+    @Mock private BalanceReadModel balanceReadModel;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(balanceReadModel.get(anyLong()))
+                .thenAnswer(inv -> Optional.of(new AccountBalance(inv.getArgument(0), Money.ZERO, 0)));
+    }
+
+    @Test
+    void subscribe_shouldReceiveTheMovementsOfItsAccountOnly() {
+        AccountEventBus bus = bus(SlowConsumerPolicy.DISCONNECT);
+        Recorder first = new Recorder(Long.MAX_VALUE);
+        Recorder second = new Recorder(Long.MAX_VALUE);
+        bus.subscribe(1L).subscribe(first);
+        bus.subscribe(2L).subscribe(second);
+
+        bus.on(recorded(10L, TransactionType.TRANSFERENCIA, 1L, 2L));
+        bus.on(recorded(11L, TransactionType.DEPOSITO, null, 2L));
+        bus.on(recorded(12L, TransactionType.EXTRACCION, 3L, null));
+
+        assertThat(first.events).extracting(ServerSentEvent::id).containsExactly("10");
+        assertThat(second.events).extracting(ServerSentEvent::id).containsExactly("10", "11");
+        assertThat(second.events).extracting(ServerSentEvent::event).containsExactly("TRANSFERENCIA", "DEPOSITO");
+        assertThat(second.events.get(1).data().amount()).isEqualByComparingTo("5.00");
+        assertThat(second.events.get(1).data().destinationAccountId()).isEqualTo(2L);
+        assertThat(registry.get("santander.events.subscribers").gauge().value()).isEqualTo(2);
+
+        first.dispose();
+        assertThat(registry.get("santander.events.subscribers").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void publish_shouldCloseSlowSubscriber_whenPolicyIsDisconnect() {
+        AccountEventBus bus = bus(SlowConsumerPolicy.DISCONNECT);
+        Recorder slow = new Recorder(0);
+        bus.subscribe(1L).subscribe(slow);
+
+        for (long id = 1; id <= 10; id++) {
+            bus.on(recorded(id, TransactionType.DEPOSITO, null, 1L));
+        }
+
+        assertThat(slow.completed).isTrue();
+        assertThat(registry.get("santander.events.disconnected").counter().count()).isEqualTo(1);
+        assertThat(registry.get("santander.events.subscribers").gauge().value()).isZero();
+    }
+
+    @Test
+    void publish_shouldDropNewEventsAndKeepSubscriber_whenPolicyIsDrop() {
+        AccountEventBus bus = bus(SlowConsumerPolicy.DROP);
+        Recorder slow = new Recorder(0);
+        bus.subscribe(1L).subscribe(slow);
+
+        for (long id = 1; id <= 10; id++) {
+            bus.on(recorded(id, TransactionType.DEPOSITO, null, 1L));
+        }
+        slow.request(Long.MAX_VALUE);
+
+        assertThat(slow.completed).isFalse();
+        assertThat(slow.events).extracting(ServerSentEvent::id).startsWith("1", "2").hasSizeLessThan(10);
+        assertThat(registry.get("santander.events.dropped").counter().count()).isEqualTo(10 - slow.events.size());
+        assertThat(registry.get("santander.events.subscribers").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_shouldThrowNotFound_whenAccountMissing() {
+        when(balanceReadModel.get(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bus(SlowConsumerPolicy.DROP).subscribe(99L));
+    }
+
+    private AccountEventBus bus(SlowConsumerPolicy policy) {
+        return new AccountEventBus(balanceReadModel, registry, BUFFER, policy, 3600);
+    }
+
+    private static TransactionRecorded recorded(Long id, TransactionType type, Long source, Long destination) {
+        return new TransactionRecorded(Transaction.builder()
+                .id(id)
+                .date(LocalDateTime.now())
+                .amount(Money.of("5.00"))
+                .type(type)
+                .sourceAccount(source != null ? Account.builder().id(source).build() : null)
+                .destinationAccount(destination != null ? Account.builder().id(destination).build() : null)
+                .build());
+    }
+
+    private static class Recorder extends BaseSubscriber<ServerSentEvent<TransactionView>> {
+
+        private final List<ServerSentEvent<TransactionView>> events = new CopyOnWriteArrayList<>();
+        private final long initialDemand;
+        private boolean completed;
+
+        Recorder(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            if (initialDemand > 0) {
+                request(initialDemand);
+            }
+        }
+
+        @Override
+        protected void hookOnNext(ServerSentEvent<TransactionView> event) {
+            events.add(event);
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            completed = true;
+        }
+    }
+}
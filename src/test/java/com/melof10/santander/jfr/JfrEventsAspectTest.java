@@ -0,0 +1,122 @@
+package com.melof10.santander.jfr;
+
+import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Transaction;
+import com.melof10.santander.exception.BusinessException;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.TransactionRepository;
+import com.melof10.santander.service.ITransactionService;
+import com.melof10.santander.service.impl.TransactionServiceImpl;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JfrEventsAspectTest {
+
+    @Mock private TransactionRepository transactionRepository;
+    @Mock private AccountRepository accountRepository;
+
+    @TempDir Path tmp;
+
+    private ITransactionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = proxy(new TransactionServiceImpl(transactionRepository, proxy(accountRepository), null, event -> {}));
+    }
+
+    @Test
+    void transfer_shouldEmitTransactionLockAndRepositoryEvents_whenRecording() throws Exception {
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(Account.builder().id(1L).balance(Money.of("5000.00")).build()));
+        when(accountRepository.findById(2L)).thenReturn(Optional.of(Account.builder().id(2L).balance(Money.ZERO).build()));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        List<RecordedEvent> events = record(() -> service.transfer(new TransferRequest(1L, 2L, new BigDecimal("1500.00"))));
+
+        RecordedEvent tx = only(events, "com.melof10.santander.Transaction");
+        assertThat(tx.getString("operation")).isEqualTo("transfer");
+        assertThat(tx.getString("type")).isEqualTo("TRANSFERENCIA");
+        assertThat(tx.getLong("sourceAccountId")).isEqualTo(1L);
+        assertThat(tx.getLong("destinationAccountId")).isEqualTo(2L);
+        assertThat(tx.getString("amountBucket")).isEqualTo("1K-10K");
+        assertThat(tx.getString("outcome")).isEqualTo("success");
+
+        assertThat(events.stream().filter(e -> e.getEventType().getName().equals("com.melof10.santander.AccountLock"))
+                .map(e -> e.getLong("accountId")))
+                .containsExactly(1L, 2L);
+        assertThat(events.stream().filter(e -> e.getEventType().getName().equals("com.melof10.santander.RepositoryCall"))
+                .map(e -> e.getString("method")))
+                .contains("findById", "save");
+    }
+
+    @Test
+    void transfer_shouldTagOutcome_whenBusinessRuleFails() throws Exception {
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(Account.builder().id(1L).balance(Money.of("10.00")).build()));
+        when(accountRepository.findById(2L)).thenReturn(Optional.of(Account.builder().id(2L).balance(Money.ZERO).build()));
+
+        List<RecordedEvent> events = record(() -> assertThrows(BusinessException.class,
+                () -> service.transfer(new TransferRequest(1L, 2L, new BigDecimal("50.00")))));
+
+        RecordedEvent tx = only(events, "com.melof10.santander.Transaction");
+        assertThat(tx.getString("outcome")).isEqualTo("business");
+        assertThat(tx.getString("amountBucket")).isEqualTo("<100");
+    }
+
+    @Test
+    void amountBucket_shouldClassifyByOrderOfMagnitude() {
+        assertThat(JfrEventsAspect.amountBucket(null)).isNull();
+        assertThat(JfrEventsAspect.amountBucket(new BigDecimal("99.99"))).isEqualTo("<100");
+        assertThat(JfrEventsAspect.amountBucket(new BigDecimal("100"))).isEqualTo("100-1K");
+        assertThat(JfrEventsAspect.amountBucket(new BigDecimal("9999.99"))).isEqualTo("1K-10K");
+        assertThat(JfrEventsAspect.amountBucket(new BigDecimal("10000"))).isEqualTo("10K-100K");
+        assertThat(JfrEventsAspect.amountBucket(new BigDecimal("250000"))).isEqualTo(">=100K");
+    }
+
+    private List<RecordedEvent> record(Runnable action) throws Exception {
+        try (Recording recording = new Recording()) {
+            recording.enable(TransactionEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(AccountLockEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(RepositoryCallEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            Path file = tmp.resolve("events.jfr");
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        }
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+        assertThat(matching).hasSize(1);
+        return matching.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new JfrEventsAspect());
+        return (T) factory.getProxy();
+    }
+}
@@ -0,0 +1,167 @@
+package com.melof10.santander.metrics;
+
+import com.melof10.santander.controller.request.TransactionCreateRequest;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Transaction;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.exception.BusinessException;
+import com.melof10.santander.exception.DuplicateResourceException;
+import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.exception.UpstreamUnavailableException;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.TransactionRepository;
+import com.melof10.santander.repository.reactive.AccountReadRepository;
+import com.melof10.santander.repository.reactive.CardReadRepository;
+import com.melof10.santander.repository.reactive.CustomerReadRepository;
+import com.melof10.santander.repository.reactive.TransactionReadRepository;
+import com.melof10.santander.service.IReadService;
+import com.melof10.santander.service.ITransactionService;
+import com.melof10.santander.service.impl.ReadServiceImpl;
+import com.melof10.santander.service.impl.TransactionServiceImpl;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock private TransactionRepository transactionRepository;
+    @Mock private AccountRepository accountRepository;
+
+    private SimpleMeterRegistry registry;
+    private ObservationRegistry observationRegistry;
+    private final List<Observation.Context> stopped = new ArrayList<>();
+    private ITransactionService transactionService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig()
+                .observationHandler(new DefaultMeterObservationHandler(registry))
+                .observationHandler(new ObservationHandler<>() {
+                    @Override
+                    public void onStop(Observation.Context context) {
+                        stopped.add(context);
+                    }
+
+                    @Override
+                    public boolean supportsContext(Observation.Context context) {
+                        return true;
+                    }
+                });
+        transactionService = proxy(new TransactionServiceImpl(transactionRepository, accountRepository, null, event -> {}));
+    }
+
+    @Test
+    void timeService_shouldRecordSuccessAndAmount_whenTransactionCreated() {
+        Account dest = Account.builder().id(1L).balance(Money.of("10.00")).build();
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(dest));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        transactionService.create(new TransactionCreateRequest(TransactionType.DEPOSITO, new BigDecimal("25.50"), null, 1L));
+
+        assertThat(registry.get("santander.service")
+                .tags("service", "TransactionService", "method", "create", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("santander.transactions.amount").tag("type", "DEPOSITO").summary().totalAmount())
+                .isEqualTo(25.50);
+    }
+
+    @Test
+    void timeService_shouldNotRecordAmount_whenTransactionIsOnlyRead() {
+        Transaction stored = Transaction.builder().id(3L).type(TransactionType.DEPOSITO).amount(Money.of("40.00")).build();
+        when(transactionRepository.findWithAccountsById(3L)).thenReturn(Optional.of(stored));
+
+        assertThat(transactionService.getById(3L)).isSameAs(stored);
+
+        assertThat(registry.get("santander.service").tags("method", "getById", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.find("santander.transactions.amount").summary()).isNull();
+    }
+
+    @Test
+    void timeService_shouldTagOutcome_whenServiceThrows() {
+        when(accountRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> transactionService.create(
+                new TransactionCreateRequest(TransactionType.DEPOSITO, BigDecimal.ONE, null, 1L)));
+        assertThrows(BusinessException.class, () -> transactionService.create(
+                new TransactionCreateRequest(null, BigDecimal.ONE, null, 1L)));
+
+        assertThat(registry.get("santander.service").tag("outcome", "not_found").timer().count()).isEqualTo(1);
+        assertThat(registry.get("santander.service").tag("outcome", "business").timer().count()).isEqualTo(1);
+        assertThat(registry.find("santander.transactions.amount").summary()).isNull();
+    }
+
+    @Test
+    void timeService_shouldRecordOnTermination_whenServiceReturnsMono() {
+        AccountReadRepository accountReadRepository = mock(AccountReadRepository.class);
+        when(accountReadRepository.findById(9L)).thenReturn(Mono.empty());
+        IReadService readService = proxy(new ReadServiceImpl(accountReadRepository, mock(CardReadRepository.class),
+                mock(CustomerReadRepository.class), mock(TransactionReadRepository.class)));
+
+        Mono<?> result = readService.getAccount(9L);
+        assertThat(registry.find("santander.service").timer()).isNull();
+
+        assertThrows(NotFoundException.class, result::block);
+        assertThat(registry.get("santander.service")
+                .tags("service", "ReadService", "method", "getAccount", "outcome", "not_found")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void timeService_shouldExposeObservationToReactorContext_whenServiceReturnsMono() {
+        List<Observation> seen = new ArrayList<>();
+        AccountReadRepository accountReadRepository = mock(AccountReadRepository.class);
+        when(accountReadRepository.findById(9L)).thenReturn(Mono.deferContextual(ctx -> {
+            seen.add(ctx.get(ObservationThreadLocalAccessor.KEY));
+            return Mono.empty();
+        }));
+        IReadService readService = proxy(new ReadServiceImpl(accountReadRepository, mock(CardReadRepository.class),
+                mock(CustomerReadRepository.class), mock(TransactionReadRepository.class)));
+
+        assertThrows(NotFoundException.class, () -> readService.getAccount(9L).block());
+
+        assertThat(stopped).singleElement().satisfies(context -> {
+            assertThat(context.getContextualName()).isEqualTo("ReadService.getAccount");
+            assertThat(context.getLowCardinalityKeyValue("outcome").getValue()).isEqualTo("not_found");
+            assertThat(seen).singleElement().extracting(Observation::getContext).isSameAs(context);
+        });
+    }
+
+    @Test
+    void outcome_shouldMapKnownExceptions() {
+        assertThat(ServiceMetricsAspect.outcome(new DuplicateResourceException("x"))).isEqualTo("duplicate");
+        assertThat(ServiceMetricsAspect.outcome(new UpstreamUnavailableException("x"))).isEqualTo("upstream_unavailable");
+        assertThat(ServiceMetricsAspect.outcome(new IllegalStateException())).isEqualTo("error");
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ServiceMetricsAspect(registry, observationRegistry));
+        return (T) factory.getProxy();
+    }
+}
@@ -0,0 +1,92 @@
+package com.melof10.santander.money;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void of_shouldKeepTwoDecimalPlaces() {
+        assertThat(Money.of("10").toCents()).isEqualTo(1000L);
+        assertThat(Money.of("0.05").toCents()).isEqualTo(5L);
+        assertThat(Money.of(new BigDecimal("-3.50")).toBigDecimal()).isEqualByComparingTo("-3.50");
+        assertThat(Money.of("0.00")).isSameAs(Money.ZERO);
+    }
+
+    @Test
+    void of_shouldRejectSubCentAmounts() {
+        assertThrows(ArithmeticException.class, () -> Money.of("0.001"));
+    }
+
+    @Test
+    void arithmetic_shouldStayInCents() {
+        Money balance = Money.of("100.00").minus(Money.of("25.50")).plus(Money.of("0.75"));
+
+        assertThat(balance).isEqualTo(Money.of("75.25"));
+        assertThat(Money.of("1.10").times(3)).isEqualTo(Money.of("3.30"));
+        assertThat(Money.of("1").isLessThan(Money.of("1.01"))).isTrue();
+        assertThat(Money.of("-0.01").signum()).isEqualTo(-1);
+    }
+
+    @Test
+    void arithmetic_shouldRejectOverflowBeyondColumnPrecision() {
+        Money max = Money.ofCents(Money.MAX_CENTS);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.of("0.01")));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> max.times(10));
+    }
+
+    @Test
+    void toString_shouldRenderPlainDecimal() {
+        assertThat(Money.of("1234.5")).hasToString("1234.50");
+        assertThat(Money.of("-0.07")).hasToString("-0.07");
+        assertThat(Money.ZERO).hasToString("0.00");
+    }
+
+    @Test
+    void json_shouldRoundTripAsNumber() throws Exception {
+        assertThat(mapper.writeValueAsString(Money.of("10.5"))).isEqualTo("10.50");
+        assertThat(mapper.readValue("10.25", Money.class)).isEqualTo(Money.of("10.25"));
+        assertThat(mapper.readValue("7", Money.class)).isEqualTo(Money.of("7.00"));
+        assertThat(mapper.readValue("\"3.10\"", Money.class)).isEqualTo(Money.of("3.10"));
+    }
+
+    @Test
+    void cbor_shouldWriteADecimalInsteadOfText() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        byte[] bytes = cbor.writeValueAsBytes(Money.of("10.5"));
+
+        try (CBORParser parser = new CBORFactory().createParser(bytes)) {
+            assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_NUMBER_FLOAT);
+            assertThat(parser.getDecimalValue()).isEqualByComparingTo("10.50");
+        }
+        assertThat(cbor.readValue(bytes, Money.class)).isEqualTo(Money.of("10.50"));
+    }
+
+    @Test
+    void json_shouldRejectSubCentAmounts() {
+        assertThrows(InvalidFormatException.class, () -> mapper.readValue("1.005", Money.class));
+    }
+
+    @Test
+    void converter_shouldMapToNumericColumn() {
+        MoneyAttributeConverter converter = new MoneyAttributeConverter();
+
+        assertThat(converter.convertToDatabaseColumn(Money.of("12.34"))).isEqualByComparingTo("12.34");
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("12.340"))).isEqualTo(Money.of("12.34"));
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
@@ -0,0 +1,68 @@
+package com.melof10.santander.numbering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NumberGeneratorTest {
+
+    private final NumberGenerator generator = new NumberGenerator("450799", "072", "0001");
+
+    @Test
+    void nextCardNumber_shouldBeLuhnValidWithConfiguredBin() {
+        IntStream.range(0, 1000).mapToObj(i -> generator.nextCardNumber()).forEach(number -> {
+            assertThat(number).hasSize(NumberGenerator.CARD_LENGTH).startsWith("450799");
+            assertThat(NumberGenerator.isLuhnValid(number)).isTrue();
+        });
+    }
+
+    @Test
+    void nextAccountNumber_shouldBeValidCbuOfConfiguredBranch() {
+        IntStream.range(0, 1000).mapToObj(i -> generator.nextAccountNumber()).forEach(number -> {
+            assertThat(number).hasSize(22).startsWith("0720001");
+            assertThat(NumberGenerator.isValidCbu(number)).isTrue();
+        });
+    }
+
+    @Test
+    void isLuhnValid_shouldCheckTheCheckDigit() {
+        assertThat(NumberGenerator.isLuhnValid("4111111111111111")).isTrue();
+        assertThat(NumberGenerator.isLuhnValid("79927398713")).isTrue();
+        assertThat(NumberGenerator.isLuhnValid("4111111111111112")).isFalse();
+        assertThat(NumberGenerator.isLuhnValid("4111-1111")).isFalse();
+        assertThat(NumberGenerator.isLuhnValid(null)).isFalse();
+    }
+
+    @Test
+    void isValidCbu_shouldCheckBothBlocks() {
+        assertThat(NumberGenerator.isValidCbu("2850590940090418135201")).isTrue();
+        assertThat(NumberGenerator.isValidCbu("2850590840090418135201")).isFalse();
+        assertThat(NumberGenerator.isValidCbu("2850590940090418135202")).isFalse();
+        assertThat(NumberGenerator.isValidCbu("285059094009041813520")).isFalse();
+    }
+
+    @Test
+    void assign_shouldRegenerateNumbersTakenOrRepeated() {
+        Iterator<String> numbers = List.of("A", "A", "TAKEN", "B", "C", "D").iterator();
+        List<String[]> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) items.add(new String[1]);
+
+        generator.assign(items, (item, n) -> item[0] = n, item -> item[0],
+                () -> { synchronized (numbers) { return numbers.next(); } },
+                candidates -> candidates.stream().filter("TAKEN"::equals).toList());
+
+        assertThat(items).extracting(item -> item[0]).doesNotHaveDuplicates().doesNotContain("TAKEN");
+    }
+
+    @Test
+    void constructor_shouldRejectMalformedCodes() {
+        assertThrows(IllegalArgumentException.class, () -> new NumberGenerator("45", "072", "0001"));
+        assertThrows(IllegalArgumentException.class, () -> new NumberGenerator("450799", "72", "0001"));
+    }
+}
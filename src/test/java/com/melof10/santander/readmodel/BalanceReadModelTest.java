@@ -0,0 +1,114 @@
+package com.melof10.santander.readmodel;
+
+import com.melof10.santander.batch.InterestAccrualJob;
+import com.melof10.santander.controller.request.TransactionCreateRequest;
+import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.controller.response.AccountBalance;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.exception.BusinessException;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CustomerRepository;
+import com.melof10.santander.service.ICustomerService;
+import com.melof10.santander.service.ITransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:balancedb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///balancedb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.batch.interest.cron=-",
+        "santander.readmodel.balance.check-cron=-"
+})
+class BalanceReadModelTest {
+
+    @Autowired private BalanceReadModel model;
+    @Autowired private ITransactionService transactionService;
+    @Autowired private ICustomerService customerService;
+    @Autowired private InterestAccrualJob interestAccrualJob;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    void writes_shouldReachTheModelAfterCommit_andRollbacksShouldNot() {
+        Customer customer = customer("RM-1");
+        Account a = account(customer, "100.00");
+        Account b = account(customer, "0.00");
+
+        assertThat(model.get(a.getId())).contains(new AccountBalance(a.getId(), Money.of("100.00"), 0));
+
+        transactionService.create(new TransactionCreateRequest(TransactionType.DEPOSITO, new BigDecimal("50.00"), null, a.getId()));
+        transactionService.transfer(new TransferRequest(a.getId(), b.getId(), new BigDecimal("30.00")));
+        assertThrows(BusinessException.class, () ->
+                transactionService.transfer(new TransferRequest(a.getId(), b.getId(), new BigDecimal("1000.00"))));
+
+        assertThat(model.get(a.getId())).contains(new AccountBalance(a.getId(), Money.of("120.00"), 2));
+        assertThat(model.get(b.getId())).contains(new AccountBalance(b.getId(), Money.of("30.00"), 1));
+        assertThat(model.check().repaired()).isZero();
+
+        customerService.delete(customer.getId());
+
+        assertThat(model.get(a.getId())).isEmpty();
+        assertThat(model.get(b.getId())).isEmpty();
+    }
+
+    @Test
+    void interestAccrual_shouldRefreshTheAccountsItCredits() {
+        Account a = account(customer("RM-2"), "3650.00");
+        assertThat(model.get(a.getId())).isPresent();
+
+        interestAccrualJob.run(LocalDate.now().minusDays(1));
+
+        AccountBalance stored = jdbc.queryForObject("select balance, version from cuenta where id = ?",
+                (rs, i) -> new AccountBalance(a.getId(), Money.of(rs.getBigDecimal(1)), rs.getLong(2)), a.getId());
+        assertThat(stored.version()).isEqualTo(1);
+        assertThat(model.get(a.getId())).contains(stored);
+    }
+
+    @Test
+    void check_shouldRepairWritesMadeBehindTheServices() {
+        Customer customer = customer("RM-3");
+        Account changed = account(customer, "10.00");
+        Account deleted = account(customer, "20.00");
+        assertThat(model.get(changed.getId())).isPresent();
+        assertThat(model.get(deleted.getId())).isPresent();
+
+        jdbc.update("update cuenta set balance = 99.00 where id = ?", changed.getId());
+        jdbc.update("update cuenta set deleted_at = current_timestamp where id = ?", deleted.getId());
+        assertThat(model.get(changed.getId())).map(AccountBalance::balance).contains(Money.of("10.00"));
+
+        BalanceCheckResult result = model.check();
+
+        assertThat(result.stale()).isEqualTo(1);
+        assertThat(result.orphaned()).isEqualTo(1);
+        assertThat(model.get(changed.getId())).map(AccountBalance::balance).contains(Money.of("99.00"));
+        assertThat(model.get(deleted.getId())).isEmpty();
+        assertThat(model.check().repaired()).isZero();
+    }
+
+    private Customer customer(String document) {
+        return customerRepository.save(Customer.builder().firstName("Saldo").lastName("Test").document(document).build());
+    }
+
+    private Account account(Customer customer, String balance) {
+        return accountRepository.save(Account.builder()
+                .accountNumber("RM-" + System.nanoTime())
+                .accountType(AccountType.CAJA_AHORRO)
+                .balance(Money.of(balance))
+                .openDate(LocalDate.now().minusYears(1))
+                .customer(customer)
+                .build());
+    }
+}
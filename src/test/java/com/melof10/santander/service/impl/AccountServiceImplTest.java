@@ -1,24 +1,45 @@
 package com.melof10.santander.service.impl;
 
 import com.melof10.santander.client.AccountClient;
+import com.melof10.santander.controller.request.AccountBulkCreateRequest;
 import com.melof10.santander.controller.request.AccountCreateRequest;
 import com.melof10.santander.controller.request.AccountUpdateRequest;
+import com.melof10.santander.controller.response.AccountBalance;
+import com.melof10.santander.controller.response.BulkCreateResponse;
+import com.melof10.santander.controller.response.BulkItemResult;
 import com.melof10.santander.entity.Account;
 import com.melof10.santander.entity.Customer;
 import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.event.AccountBalanceChanged;
+import com.melof10.santander.event.AccountsDeleted;
 import com.melof10.santander.exception.DuplicateResourceException;
 import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.exception.PreconditionFailedException;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.numbering.NumberGenerator;
+import com.melof10.santander.readmodel.BalanceReadModel;
 import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.BulkInsertRepository;
 import com.melof10.santander.repository.CustomerRepository;
+import com.melof10.santander.repository.Projection;
+import com.melof10.santander.repository.ProjectionRepository;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -31,12 +52,18 @@ class AccountServiceImplTest {
     @Mock private AccountRepository accountRepository;
     @Mock private CustomerRepository customerRepository;
     @Mock private AccountClient accountClient;
+    @Mock private BulkInsertRepository bulkInsertRepository;
+    @Mock private ProjectionRepository projectionRepository;
+    @Mock private BalanceReadModel balanceReadModel;
+    @Mock private ApplicationEventPublisher events;
 
     private AccountServiceImpl service;
 
     @BeforeEach
     void setUp() {
-        service = new AccountServiceImpl(accountRepository, customerRepository, accountClient);
+        service = new AccountServiceImpl(accountRepository, customerRepository, accountClient, bulkInsertRepository, projectionRepository,
+                new NumberGenerator("450799", "072", "0001"), Validation.buildDefaultValidatorFactory().getValidator(),
+                balanceReadModel, events);
     }
 
     @Test
@@ -62,7 +89,7 @@ class AccountServiceImplTest {
         assertThat(saved.getId()).isEqualTo(1L);
         assertThat(saved.getAccountNumber()).isEqualTo("ACC-1001");
         assertThat(saved.getAccountType()).isEqualTo(AccountType.CAJA_AHORRO);
-        assertThat(saved.getBalance()).isEqualByComparingTo("500.00");
+        assertThat(saved.getBalance()).isEqualTo(Money.of("500.00"));
         assertThat(saved.getCustomer().getId()).isEqualTo(10L);
 
         verify(accountRepository).existsByAccountNumber("ACC-1001");
@@ -70,7 +97,7 @@ class AccountServiceImplTest {
         verify(accountRepository).save(argThat(a ->
                 "ACC-1001".equals(a.getAccountNumber())
                         && a.getAccountType() == AccountType.CAJA_AHORRO
-                        && a.getBalance().compareTo(new BigDecimal("500.00")) == 0
+                        && a.getBalance().equals(Money.of("500.00"))
                         && a.getCustomer() == customer
         ));
     }
@@ -113,54 +140,78 @@ class AccountServiceImplTest {
                 .id(3L)
                 .accountNumber("ACC-3")
                 .accountType(AccountType.CAJA_AHORRO)
-                .balance(new BigDecimal("50.00"))
+                .balance(Money.of("50.00"))
+                .version(4L)
                 .build();
 
         AccountUpdateRequest req = new AccountUpdateRequest();
         req.setAccountType(AccountType.CUENTA_CORRIENTE);
         req.setBalance(new BigDecimal("75.55"));
 
-        when(accountRepository.findById(3L)).thenReturn(Optional.of(existing));
+        when(accountRepository.findUnlockedById(3L)).thenReturn(Optional.of(existing));
         when(accountRepository.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        Account updated = service.update(3L, req);
+        Account updated = service.update(3L, req, List.of("4"));
 
         assertThat(updated.getAccountType()).isEqualTo(AccountType.CUENTA_CORRIENTE);
-        assertThat(updated.getBalance()).isEqualByComparingTo("75.55");
+        assertThat(updated.getBalance()).isEqualTo(Money.of("75.55"));
 
-        verify(accountRepository).findById(3L);
+        verify(accountRepository).findUnlockedById(3L);
         verify(accountRepository).save(same(existing));
+        verify(events).publishEvent(new AccountBalanceChanged(existing));
+    }
+
+    @Test
+    void update_shouldThrowPreconditionFailed_whenVersionTagIsStale() {
+        Account existing = Account.builder().id(3L).balance(Money.of("50.00")).version(5L).build();
+        AccountUpdateRequest req = new AccountUpdateRequest();
+        req.setBalance(new BigDecimal("75.55"));
+        when(accountRepository.findUnlockedById(3L)).thenReturn(Optional.of(existing));
+
+        assertThrows(PreconditionFailedException.class, () -> service.update(3L, req, List.of("4")));
+
+        assertThat(existing.getBalance()).isEqualTo(Money.of("50.00"));
+        verify(accountRepository, never()).save(any());
+        verifyNoInteractions(events);
     }
 
     @Test
     void update_shouldThrowNotFound_whenMissing() {
         AccountUpdateRequest req = new AccountUpdateRequest();
-        when(accountRepository.findById(404L)).thenReturn(Optional.empty());
+        when(accountRepository.findUnlockedById(404L)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> service.update(404L, req));
+        assertThrows(NotFoundException.class, () -> service.update(404L, req, null));
 
-        verify(accountRepository).findById(404L);
+        verify(accountRepository).findUnlockedById(404L);
         verify(accountRepository, never()).save(any());
     }
 
     @Test
-    void delete_shouldRemove_whenExists() {
-        when(accountRepository.existsById(5L)).thenReturn(true);
+    void getVersionTag_shouldReturnReadModelVersion() {
+        when(balanceReadModel.get(3L)).thenReturn(Optional.of(new AccountBalance(3L, Money.of("10.00"), 7L)));
+
+        assertThat(service.getVersionTag(3L)).isEqualTo("7");
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void delete_shouldMarkAccountAsDeleted_whenExists() {
+        when(accountRepository.softDeleteById(eq(5L), any(LocalDateTime.class))).thenReturn(1);
 
         service.delete(5L);
 
-        verify(accountRepository).existsById(5L);
-        verify(accountRepository).deleteById(5L);
+        verify(accountRepository).softDeleteById(eq(5L), any(LocalDateTime.class));
+        verify(accountRepository, never()).deleteById(anyLong());
+        verify(events).publishEvent(new AccountsDeleted(List.of(5L)));
     }
 
     @Test
     void delete_shouldThrowNotFound_whenMissing() {
-        when(accountRepository.existsById(77L)).thenReturn(false);
+        when(accountRepository.softDeleteById(eq(77L), any(LocalDateTime.class))).thenReturn(0);
 
         assertThrows(NotFoundException.class, () -> service.delete(77L));
 
-        verify(accountRepository).existsById(77L);
-        verify(accountRepository, never()).deleteById(anyLong());
+        verifyNoInteractions(events);
     }
 
     @Test
@@ -176,6 +227,23 @@ class AccountServiceImplTest {
         verify(accountRepository).findById(8L);
     }
 
+    @Test
+    void getBalance_shouldAnswerFromReadModel_withoutRepository() {
+        AccountBalance balance = new AccountBalance(8L, Money.of("12.34"), 3);
+        when(balanceReadModel.get(8L)).thenReturn(Optional.of(balance));
+
+        assertThat(service.getBalance(8L)).isSameAs(balance);
+
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void getBalance_shouldThrowNotFound_whenReadModelHasNoAccount() {
+        when(balanceReadModel.get(9L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> service.getBalance(9L));
+    }
+
     @Test
     void getById_shouldThrowNotFound_whenMissing() {
         when(accountRepository.findById(123L)).thenReturn(Optional.empty());
@@ -185,6 +253,21 @@ class AccountServiceImplTest {
         verify(accountRepository).findById(123L);
     }
 
+    @Test
+    void sparseReads_shouldGoToTheProjection_andThrowNotFound_whenMissing() {
+        List<String> fields = List.of("id", "balance");
+        when(projectionRepository.findById(Projection.ACCOUNT, fields, 404L)).thenReturn(Optional.empty());
+        when(projectionRepository.findAll(Projection.ACCOUNT, fields)).thenReturn(List.of(Map.of("id", 1L)));
+        when(projectionRepository.findByIds(Projection.ACCOUNT, fields, List.of(1L, 2L))).thenReturn(List.of());
+        when(projectionRepository.findByCustomerId(Projection.ACCOUNT, fields, 7L)).thenReturn(List.of(Map.of("id", 3L)));
+
+        assertThrows(NotFoundException.class, () -> service.getById(404L, fields));
+        assertThat(service.getAll(fields)).hasSize(1);
+        assertThat(service.getByIds(List.of(1L, 2L), fields)).isEmpty();
+        assertThat(service.getByCustomerId(7L, fields)).containsExactly(Map.of("id", 3L));
+        verifyNoInteractions(accountRepository);
+    }
+
     @Test
     void getAll_shouldReturnListFromRepository() {
         when(accountRepository.findAll()).thenReturn(
@@ -199,6 +282,19 @@ class AccountServiceImplTest {
         verify(accountRepository).findAll();
     }
 
+    @Test
+    void getByIds_shouldReturnAccountsFromRepository() {
+        when(accountRepository.findAllById(List.of(1L, 2L))).thenReturn(
+                List.of(Account.builder().id(1L).build(), Account.builder().id(2L).build())
+        );
+
+        List<Account> result = service.getByIds(List.of(1L, 2L));
+
+        assertThat(result).extracting(Account::getId).containsExactly(1L, 2L);
+
+        verify(accountRepository).findAllById(List.of(1L, 2L));
+    }
+
     @Test
     void getByCustomerId_shouldReturnListForCustomer() {
         when(accountRepository.findByCustomer_Id(10L)).thenReturn(
@@ -216,22 +312,84 @@ class AccountServiceImplTest {
     @Test
     void selfGet_shouldReturn_whenClientReturnsAccount() {
         Account a = Account.builder().id(9L).accountNumber("ACC-9").build();
-        when(accountClient.getAccountById(9L)).thenReturn(Optional.of(a));
+        when(accountClient.findAccountById(9L)).thenReturn(Mono.just(a));
 
-        Account result = service.selfGet(9L);
+        Account result = service.selfGet(9L).block();
 
         assertThat(result.getId()).isEqualTo(9L);
         assertThat(result.getAccountNumber()).isEqualTo("ACC-9");
 
-        verify(accountClient).getAccountById(9L);
+        verify(accountClient).findAccountById(9L);
     }
 
     @Test
     void selfGet_shouldThrowNotFound_whenClientEmpty() {
-        when(accountClient.getAccountById(321L)).thenReturn(Optional.empty());
+        when(accountClient.findAccountById(321L)).thenReturn(Mono.empty());
+
+        assertThrows(NotFoundException.class, () -> service.selfGet(321L).block());
+
+        verify(accountClient).findAccountById(321L);
+    }
+
+    @Test
+    void createBulk_shouldInsertValidItemsAndReportTheRest() {
+        Customer customer = Customer.builder().id(10L).firstName("Juan").lastName("Pérez").build();
+        List<AccountCreateRequest> items = new ArrayList<>(Arrays.asList(
+                bulkItem("ACC-1", 10L),
+                bulkItem("ACC-1", 10L),
+                bulkItem("ACC-2", 99L),
+                bulkItem("ACC-3", 10L),
+                bulkItem(null, 10L),
+                null,
+                bulkItem("ACC-4", 10L)));
+        when(customerRepository.findAllById(Set.of(10L, 99L))).thenReturn(List.of(customer));
+        when(accountRepository.findExistingAccountNumbers(List.of("ACC-1", "ACC-3", "ACC-4"))).thenReturn(List.of("ACC-3"));
+        doAnswer(inv -> {
+            List<Account> accounts = inv.getArgument(0);
+            for (int i = 0; i < accounts.size(); i++) accounts.get(i).setId(100L + i);
+            return null;
+        }).when(bulkInsertRepository).insertAccounts(anyList());
+
+        BulkCreateResponse response = service.createBulk(new AccountBulkCreateRequest(false, items));
+
+        assertThat(response.requested()).isEqualTo(7);
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.rejected()).isEqualTo(5);
+        assertThat(response.results()).extracting(BulkItemResult::id).containsExactly(100L, null, null, null, null, null, 101L);
+        assertThat(response.results()).extracting(BulkItemResult::error).containsExactly(
+                null,
+                "Número de cuenta repetido en el pedido: ACC-1",
+                "Cliente no encontrado: 99",
+                "La cuenta ya existe: ACC-3",
+                "accountNumber: must not be blank",
+                "Elemento vacío",
+                null);
+        ArgumentCaptor<List<Account>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkInsertRepository).insertAccounts(inserted.capture());
+        assertThat(inserted.getValue()).allSatisfy(a -> assertThat(a.getCustomer()).isSameAs(customer));
+        verify(customerRepository, never()).findById(any());
+    }
 
-        assertThrows(NotFoundException.class, () -> service.selfGet(321L));
+    @Test
+    void createBulk_shouldGenerateValidCbus_whenRequested() {
+        Customer customer = Customer.builder().id(10L).build();
+        List<AccountCreateRequest> items = List.of(bulkItem(null, 10L), bulkItem("", 10L), bulkItem("MANUAL-1", 10L));
+        when(customerRepository.findAllById(Set.of(10L))).thenReturn(List.of(customer));
+        when(accountRepository.findExistingAccountNumbers(anyCollection())).thenReturn(List.of());
+
+        BulkCreateResponse response = service.createBulk(new AccountBulkCreateRequest(true, items));
+
+        assertThat(response.created()).isEqualTo(3);
+        assertThat(response.results()).extracting(BulkItemResult::number)
+                .satisfies(numbers -> {
+                    assertThat(NumberGenerator.isValidCbu(numbers.get(0))).isTrue();
+                    assertThat(NumberGenerator.isValidCbu(numbers.get(1))).isTrue();
+                    assertThat(numbers.get(0)).startsWith("0720001").isNotEqualTo(numbers.get(1));
+                    assertThat(numbers.get(2)).isEqualTo("MANUAL-1");
+                });
+    }
 
-        verify(accountClient).getAccountById(321L);
+    private static AccountCreateRequest bulkItem(String number, Long customerId) {
+        return new AccountCreateRequest(number, AccountType.CAJA_AHORRO, new BigDecimal("100.00"), customerId);
     }
 }
@@ -0,0 +1,177 @@
+package com.melof10.santander.service.impl;
+
+import com.melof10.santander.batch.ArchiveResult;
+import com.melof10.santander.batch.BalanceReconciliationJob;
+import com.melof10.santander.batch.BatchJobResult;
+import com.melof10.santander.batch.InterestAccrualJob;
+import com.melof10.santander.batch.MonthlyStatementJob;
+import com.melof10.santander.batch.PurgeResult;
+import com.melof10.santander.batch.ReconciliationReport;
+import com.melof10.santander.batch.SoftDeletePurgeJob;
+import com.melof10.santander.batch.StatementRunResult;
+import com.melof10.santander.batch.TransactionArchiveJob;
+import com.melof10.santander.enums.BatchStatus;
+import com.melof10.santander.exception.BusinessException;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.readmodel.BalanceCheckResult;
+import com.melof10.santander.readmodel.BalanceReadModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchServiceImplTest {
+
+    @Mock
+    private InterestAccrualJob interestAccrualJob;
+
+    @Mock
+    private BalanceReconciliationJob balanceReconciliationJob;
+
+    @Mock
+    private MonthlyStatementJob monthlyStatementJob;
+
+    @Mock
+    private SoftDeletePurgeJob softDeletePurgeJob;
+
+    @Mock
+    private TransactionArchiveJob transactionArchiveJob;
+
+    @Mock
+    private BalanceReadModel balanceReadModel;
+
+    private BatchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BatchServiceImpl(interestAccrualJob, balanceReconciliationJob, monthlyStatementJob, softDeletePurgeJob, transactionArchiveJob,
+                balanceReadModel);
+    }
+
+    @Test
+    void accrueInterest_shouldRunJob_whenDateIsNotInTheFuture() {
+        LocalDate date = LocalDate.now().minusDays(1);
+        BatchJobResult result = new BatchJobResult(InterestAccrualJob.JOB, date.toString(), BatchStatus.COMPLETED, 3, 1, 0, 0, 5);
+        when(interestAccrualJob.run(date)).thenReturn(result);
+
+        assertThat(service.accrueInterest(date)).isSameAs(result);
+    }
+
+    @Test
+    void accrueInterest_shouldThrow_whenDateIsInTheFuture() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> service.accrueInterest(LocalDate.now().plusDays(1)));
+
+        assertThat(ex.getMessage()).startsWith("No se pueden liquidar intereses de una fecha futura");
+        verifyNoInteractions(interestAccrualJob);
+    }
+
+    @Test
+    void accrueDailyInterest_shouldAccruePreviousDay() {
+        service.accrueDailyInterest();
+
+        verify(interestAccrualJob).run(LocalDate.now().minusDays(1));
+    }
+
+    @Test
+    void reconcileBalances_shouldRunReconciliationJob() {
+        ReconciliationReport report = new ReconciliationReport("20250901T003000", BatchStatus.COMPLETED,
+                10, 25, 0, Money.ZERO, 1, 0, 7, "reports/reconciliation-20250901T003000.json");
+        when(balanceReconciliationJob.run()).thenReturn(report);
+
+        assertThat(service.reconcileBalances()).isSameAs(report);
+    }
+
+    @Test
+    void reconcileEndOfDay_shouldRunReconciliationJob() {
+        service.reconcileEndOfDay();
+
+        verify(balanceReconciliationJob).run();
+    }
+
+    @Test
+    void generateStatements_shouldRunJob_whenMonthIsClosed() {
+        YearMonth period = YearMonth.now().minusMonths(1);
+        StatementRunResult result = new StatementRunResult(period, BatchStatus.COMPLETED, 2, 4, 4, 0, 3, "statements/" + period);
+        when(monthlyStatementJob.run(period)).thenReturn(result);
+
+        assertThat(service.generateStatements(period)).isSameAs(result);
+    }
+
+    @Test
+    void generateStatements_shouldThrow_whenMonthIsNotClosed() {
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.generateStatements(YearMonth.now()));
+
+        assertThat(ex.getMessage()).startsWith("Solo se generan resúmenes de meses cerrados");
+        verifyNoInteractions(monthlyStatementJob);
+    }
+
+    @Test
+    void generateMonthlyStatements_shouldGeneratePreviousMonth() {
+        service.generateMonthlyStatements();
+
+        verify(monthlyStatementJob).run(YearMonth.now().minusMonths(1));
+    }
+
+    @Test
+    void purgeDeleted_shouldRunPurgeJob() {
+        PurgeResult result = new PurgeResult(1, 2, 1, 5, 0, 4);
+        when(softDeletePurgeJob.run()).thenReturn(result);
+
+        assertThat(service.purgeDeleted()).isSameAs(result);
+    }
+
+    @Test
+    void purgeDeletedPeriodically_shouldRunPurgeJob() {
+        service.purgeDeletedPeriodically();
+
+        verify(softDeletePurgeJob).run();
+    }
+
+    @Test
+    void archiveTransactions_shouldArchiveBeforeGivenDay() {
+        LocalDate before = LocalDate.now().minusYears(1);
+        ArchiveResult result = new ArchiveResult(before.atStartOfDay(), 10, 1, 3);
+        when(transactionArchiveJob.run(before.atStartOfDay())).thenReturn(result);
+
+        assertThat(service.archiveTransactions(before)).isSameAs(result);
+    }
+
+    @Test
+    void archiveTransactions_shouldThrow_whenDayIsInTheFuture() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> service.archiveTransactions(LocalDate.now().plusDays(1)));
+
+        assertThat(ex.getMessage()).startsWith("No se pueden archivar movimientos de una fecha futura");
+        verifyNoInteractions(transactionArchiveJob);
+    }
+
+    @Test
+    void archiveOldTransactions_shouldUseConfiguredRetention() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(365).atStartOfDay();
+        when(transactionArchiveJob.defaultCutoff()).thenReturn(cutoff);
+
+        service.archiveOldTransactions();
+
+        verify(transactionArchiveJob).run(cutoff);
+    }
+
+    @Test
+    void checkBalanceReadModelPeriodically_shouldCheckTheReadModel() {
+        when(balanceReadModel.check()).thenReturn(new BalanceCheckResult(10, 1, 0, 0, 2));
+
+        service.checkBalanceReadModelPeriodically();
+
+        verify(balanceReadModel).check();
+    }
+}
@@ -1,14 +1,23 @@
 package com.melof10.santander.service.impl;
 
+import com.melof10.santander.controller.request.CardBulkCreateRequest;
 import com.melof10.santander.controller.request.CardCreateRequest;
 import com.melof10.santander.controller.request.CardUpdateRequest;
+import com.melof10.santander.controller.response.BulkCreateResponse;
+import com.melof10.santander.controller.response.BulkItemResult;
 import com.melof10.santander.entity.Card;
 import com.melof10.santander.entity.Customer;
 import com.melof10.santander.enums.CardType;
 import com.melof10.santander.exception.DuplicateResourceException;
 import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.exception.PreconditionFailedException;
+import com.melof10.santander.numbering.NumberGenerator;
+import com.melof10.santander.repository.BulkInsertRepository;
 import com.melof10.santander.repository.CardRepository;
 import com.melof10.santander.repository.CustomerRepository;
+import com.melof10.santander.repository.Projection;
+import com.melof10.santander.repository.ProjectionRepository;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,7 +27,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -30,12 +41,15 @@ class CardServiceImplTest {
 
     @Mock private CardRepository cardRepository;
     @Mock private CustomerRepository customerRepository;
+    @Mock private BulkInsertRepository bulkInsertRepository;
+    @Mock private ProjectionRepository projectionRepository;
 
     private CardServiceImpl service;
 
     @BeforeEach
     void setUp() {
-        service = new CardServiceImpl(cardRepository, customerRepository);
+        service = new CardServiceImpl(cardRepository, customerRepository, bulkInsertRepository, projectionRepository,
+                new NumberGenerator("450799", "072", "0001"), Validation.buildDefaultValidatorFactory().getValidator());
     }
 
     @Test
@@ -118,6 +132,7 @@ class CardServiceImplTest {
                 .cardType(CardType.CREDITO)
                 .expirationDate(LocalDate.of(2028, 1, 31))
                 .creditLimit(new BigDecimal("10000.00"))
+                .version(2L)
                 .build();
 
         CardUpdateRequest req = new CardUpdateRequest();
@@ -128,7 +143,7 @@ class CardServiceImplTest {
         when(cardRepository.findById(3L)).thenReturn(Optional.of(existing));
         when(cardRepository.save(any(Card.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        Card updated = service.update(3L, req);
+        Card updated = service.update(3L, req, List.of("2"));
 
         assertThat(updated.getCardType()).isEqualTo(CardType.DEBITO);
         assertThat(updated.getExpirationDate()).isEqualTo(LocalDate.of(2031, 12, 31));
@@ -143,12 +158,39 @@ class CardServiceImplTest {
         CardUpdateRequest req = new CardUpdateRequest();
         when(cardRepository.findById(404L)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> service.update(404L, req));
+        assertThrows(NotFoundException.class, () -> service.update(404L, req, null));
 
         verify(cardRepository).findById(404L);
         verify(cardRepository, never()).save(any());
     }
 
+    @Test
+    void update_shouldThrowPreconditionFailed_whenVersionTagIsStale() {
+        Card existing = Card.builder().id(3L).cardType(CardType.CREDITO).version(3L).build();
+        CardUpdateRequest req = new CardUpdateRequest();
+        req.setCardType(CardType.DEBITO);
+        when(cardRepository.findById(3L)).thenReturn(Optional.of(existing));
+
+        assertThrows(PreconditionFailedException.class, () -> service.update(3L, req, List.of("2")));
+
+        assertThat(existing.getCardType()).isEqualTo(CardType.CREDITO);
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    void getVersionTag_shouldReturnVersion_whenExists() {
+        when(cardRepository.findVersionById(3L)).thenReturn(Optional.of(6L));
+
+        assertThat(service.getVersionTag(3L)).isEqualTo("6");
+    }
+
+    @Test
+    void getVersionTag_shouldThrowNotFound_whenMissing() {
+        when(cardRepository.findVersionById(404L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> service.getVersionTag(404L));
+    }
+
     @Test
     void delete_shouldRemove_whenExists() {
         when(cardRepository.existsById(5L)).thenReturn(true);
@@ -183,6 +225,21 @@ class CardServiceImplTest {
         verify(cardRepository).findById(8L);
     }
 
+    @Test
+    void sparseReads_shouldGoToTheProjection_andThrowNotFound_whenMissing() {
+        List<String> fields = List.of("id", "cardType");
+        when(projectionRepository.findById(Projection.CARD, fields, 8L)).thenReturn(Optional.of(Map.of("id", 8L)));
+        when(projectionRepository.findById(Projection.CARD, fields, 404L)).thenReturn(Optional.empty());
+        when(projectionRepository.findAll(Projection.CARD, fields)).thenReturn(List.of());
+        when(projectionRepository.findByCustomerId(Projection.CARD, fields, 7L)).thenReturn(List.of(Map.of("id", 8L)));
+
+        assertThat(service.getById(8L, fields)).containsEntry("id", 8L);
+        assertThrows(NotFoundException.class, () -> service.getById(404L, fields));
+        assertThat(service.getAll(fields)).isEmpty();
+        assertThat(service.getByCustomerId(7L, fields)).hasSize(1);
+        verifyNoInteractions(cardRepository);
+    }
+
     @Test
     void getById_shouldThrowNotFound_whenMissing() {
         when(cardRepository.findById(123L)).thenReturn(Optional.empty());
@@ -221,4 +278,44 @@ class CardServiceImplTest {
 
         verify(cardRepository).findByCustomer_Id(10L);
     }
+
+    @Test
+    void createBulk_shouldGenerateLuhnValidNumbers_andRejectUnknownCustomers() {
+        Customer customer = Customer.builder().id(10L).build();
+        List<CardCreateRequest> items = List.of(bulkItem(10L), bulkItem(10L), bulkItem(77L));
+        when(customerRepository.findAllById(Set.of(10L, 77L))).thenReturn(List.of(customer));
+        when(cardRepository.findExistingCardNumbers(anyCollection())).thenReturn(List.of());
+        doAnswer(inv -> {
+            List<Card> cards = inv.getArgument(0);
+            for (int i = 0; i < cards.size(); i++) cards.get(i).setId(50L + i);
+            return null;
+        }).when(bulkInsertRepository).insertCards(anyList());
+
+        BulkCreateResponse response = service.createBulk(new CardBulkCreateRequest(true, items));
+
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.results()).extracting(BulkItemResult::id).containsExactly(50L, 51L, null);
+        assertThat(response.results().get(2).error()).isEqualTo("Cliente no encontrado: 77");
+        assertThat(response.results()).extracting(BulkItemResult::number)
+                .allSatisfy(number -> assertThat(NumberGenerator.isLuhnValid(number)).isTrue())
+                .allSatisfy(number -> assertThat(number).hasSize(16).startsWith("450799"));
+    }
+
+    @Test
+    void createBulk_shouldRejectExistingCardNumbers() {
+        List<CardCreateRequest> items = List.of(bulkItem(10L));
+        items.get(0).setCardNumber("4111111111111111");
+        when(customerRepository.findAllById(Set.of(10L))).thenReturn(List.of(Customer.builder().id(10L).build()));
+        when(cardRepository.findExistingCardNumbers(List.of("4111111111111111"))).thenReturn(List.of("4111111111111111"));
+
+        BulkCreateResponse response = service.createBulk(new CardBulkCreateRequest(false, items));
+
+        assertThat(response.created()).isZero();
+        assertThat(response.results().get(0).error()).isEqualTo("La tarjeta ya existe: 4111111111111111");
+        verifyNoInteractions(bulkInsertRepository);
+    }
+
+    private static CardCreateRequest bulkItem(Long customerId) {
+        return new CardCreateRequest(null, CardType.DEBITO, LocalDate.now().plusYears(4), null, customerId);
+    }
 }
@@ -1,18 +1,31 @@
 package com.melof10.santander.service.impl;
 
+import com.melof10.santander.batch.CustomerCsvImporter;
+import com.melof10.santander.batch.CustomerImportResult;
 import com.melof10.santander.controller.request.CustomerCreateRequest;
 import com.melof10.santander.controller.request.CustomerUpdateRequest;
+import com.melof10.santander.controller.response.VersionedCustomer;
 import com.melof10.santander.entity.Customer;
+import com.melof10.santander.event.AccountsDeleted;
 import com.melof10.santander.exception.DuplicateResourceException;
 import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.exception.PreconditionFailedException;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CardRepository;
 import com.melof10.santander.repository.CustomerRepository;
+import com.melof10.santander.repository.Projection;
+import com.melof10.santander.repository.ProjectionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.io.StringReader;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,11 +39,26 @@ class CustomerServiceImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private ProjectionRepository projectionRepository;
+
+    @Mock
+    private CustomerCsvImporter customerCsvImporter;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
     private CustomerServiceImpl service;
 
     @BeforeEach
     void setUp() {
-        service = new CustomerServiceImpl(customerRepository);
+        service = new CustomerServiceImpl(customerRepository, accountRepository, cardRepository, projectionRepository, customerCsvImporter, events);
     }
 
     @Test
@@ -99,17 +127,22 @@ class CustomerServiceImplTest {
         req.setPhone("222");
 
         when(customerRepository.findById(5L)).thenReturn(Optional.of(existing));
-        when(customerRepository.save(any(Customer.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(customerRepository.findVersionTagById(5L)).thenReturn(Optional.of("1.5.0.0.0.0.0"));
 
-        Customer updated = service.update(5L, req);
+        VersionedCustomer result = service.update(5L, req, null);
+        Customer updated = result.customer();
 
+        assertThat(result.versionTag()).isEqualTo("1.5.0.0.0.0.0");
         assertThat(updated.getFirstName()).isEqualTo("Juana");
         assertThat(updated.getLastName()).isEqualTo("García");
         assertThat(updated.getEmail()).isEqualTo("juana.garcia@santander.test");
         assertThat(updated.getPhone()).isEqualTo("222");
 
-        verify(customerRepository).findById(5L);
-        verify(customerRepository).save(same(existing));
+        InOrder order = inOrder(customerRepository);
+        order.verify(customerRepository).findById(5L);
+        order.verify(customerRepository).saveAndFlush(same(existing));
+        order.verify(customerRepository).findVersionTagById(5L);
     }
 
     @Test
@@ -117,30 +150,68 @@ class CustomerServiceImplTest {
         CustomerUpdateRequest req = new CustomerUpdateRequest();
         when(customerRepository.findById(404L)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> service.update(404L, req));
+        assertThrows(NotFoundException.class, () -> service.update(404L, req, List.of("1.0")));
 
         verify(customerRepository).findById(404L);
-        verify(customerRepository, never()).save(any());
+        verify(customerRepository, never()).saveAndFlush(any());
     }
 
     @Test
-    void delete_shouldRemove_whenExists() {
-        when(customerRepository.existsById(7L)).thenReturn(true);
+    void update_shouldCheckTheAggregateVersionTag_whenIfMatchIsGiven() {
+        Customer existing = Customer.builder().id(5L).firstName("Juan").build();
+        CustomerUpdateRequest req = new CustomerUpdateRequest();
+        req.setFirstName("Juana");
+        when(customerRepository.findById(5L)).thenReturn(Optional.of(existing));
+        when(customerRepository.findVersionTagById(5L)).thenReturn(Optional.of("1.2.7.9.0.0.0"));
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        assertThrows(PreconditionFailedException.class, () -> service.update(5L, req, List.of("1.1.7.8.0.0.0")));
+        assertThat(existing.getFirstName()).isEqualTo("Juan");
+
+        assertThat(service.update(5L, req, List.of("1.2.7.9.0.0.0")).customer().getFirstName()).isEqualTo("Juana");
+        verify(customerRepository).saveAndFlush(same(existing));
+    }
+
+    @Test
+    void getVersionTag_shouldThrowNotFound_whenMissing() {
+        when(customerRepository.findVersionTagById(404L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> service.getVersionTag(404L));
+    }
+
+    @Test
+    void delete_shouldMarkCustomerAccountsAndCards_whenExists() {
+        when(customerRepository.softDeleteById(eq(7L), any(LocalDateTime.class))).thenReturn(1);
+        when(accountRepository.findIdsByCustomerId(7L)).thenReturn(List.of(70L, 71L));
 
         service.delete(7L);
 
-        verify(customerRepository).existsById(7L);
-        verify(customerRepository).deleteById(7L);
+        ArgumentCaptor<LocalDateTime> deletedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(customerRepository).softDeleteById(eq(7L), deletedAt.capture());
+        verify(accountRepository).softDeleteByCustomerId(7L, deletedAt.getValue());
+        verify(cardRepository).softDeleteByCustomerId(7L, deletedAt.getValue());
+        verify(customerRepository, never()).deleteById(anyLong());
+        verify(events).publishEvent(new AccountsDeleted(List.of(70L, 71L)));
     }
 
     @Test
     void delete_shouldThrowNotFound_whenMissing() {
-        when(customerRepository.existsById(77L)).thenReturn(false);
+        when(customerRepository.softDeleteById(eq(77L), any(LocalDateTime.class))).thenReturn(0);
 
         assertThrows(NotFoundException.class, () -> service.delete(77L));
 
-        verify(customerRepository).existsById(77L);
-        verify(customerRepository, never()).deleteById(anyLong());
+        verifyNoInteractions(accountRepository, cardRepository, events);
+    }
+
+    @Test
+    void sparseReads_shouldGoToTheProjection_andThrowNotFound_whenMissing() {
+        List<String> fields = List.of("id", "document");
+        when(projectionRepository.findById(Projection.CUSTOMER, fields, 404L)).thenReturn(Optional.empty());
+        when(projectionRepository.findAll(Projection.CUSTOMER, fields)).thenReturn(List.of(Map.of("id", 1L)));
+
+        assertThrows(NotFoundException.class, () -> service.getById(404L, fields));
+        assertThat(service.getAll(fields)).hasSize(1);
+        verifyNoInteractions(customerRepository);
     }
 
     @Test
@@ -203,5 +274,13 @@ class CustomerServiceImplTest {
 
         verify(customerRepository).findByDocument("NOPE");
     }
-}
 
+    @Test
+    void importCsv_shouldDelegateToImporter() {
+        StringReader csv = new StringReader("firstName,lastName,document\nJuan,Pérez,123\n");
+        CustomerImportResult result = new CustomerImportResult(1, 1, 0, List.of(), false, 2);
+        when(customerCsvImporter.importCsv(csv)).thenReturn(result);
+
+        assertThat(service.importCsv(csv)).isSameAs(result);
+    }
+}
@@ -0,0 +1,168 @@
+package com.melof10.santander.service.impl;
+
+import com.melof10.santander.controller.response.AccountView;
+import com.melof10.santander.controller.response.CardView;
+import com.melof10.santander.controller.response.CustomerView;
+import com.melof10.santander.controller.response.TransactionView;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.enums.CardType;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.exception.BusinessException;
+import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.repository.reactive.AccountReadRepository;
+import com.melof10.santander.repository.reactive.CardReadRepository;
+import com.melof10.santander.repository.reactive.CustomerReadRepository;
+import com.melof10.santander.repository.reactive.TransactionReadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadServiceImplTest {
+
+    @Mock private AccountReadRepository accountReadRepository;
+    @Mock private CardReadRepository cardReadRepository;
+    @Mock private CustomerReadRepository customerReadRepository;
+    @Mock private TransactionReadRepository transactionReadRepository;
+
+    private ReadServiceImpl service;
+
+    private final AccountView account = new AccountView(1L, "ACC-1", AccountType.CAJA_AHORRO,
+            new BigDecimal("100.00"), LocalDate.now(), 10L);
+    private final CardView card = new CardView(2L, "4111", CardType.DEBITO, LocalDate.now(), null, 10L);
+    private final CustomerView customer = new CustomerView(10L, "Juan", "Pérez", "123", null, null);
+    private final TransactionView tx = new TransactionView(3L, LocalDateTime.now(), new BigDecimal("5.00"),
+            TransactionType.DEPOSITO, null, 1L);
+
+    @BeforeEach
+    void setUp() {
+        service = new ReadServiceImpl(accountReadRepository, cardReadRepository, customerReadRepository, transactionReadRepository);
+    }
+
+    @Test
+    void getAccount_shouldReturn_whenExists() {
+        when(accountReadRepository.findById(1L)).thenReturn(Mono.just(account));
+
+        assertThat(service.getAccount(1L).block()).isEqualTo(account);
+    }
+
+    @Test
+    void getAccount_shouldThrowNotFound_whenMissing() {
+        when(accountReadRepository.findById(9L)).thenReturn(Mono.empty());
+
+        assertThrows(NotFoundException.class, () -> service.getAccount(9L).block());
+    }
+
+    @Test
+    void getAccounts_shouldStreamAll() {
+        when(accountReadRepository.findAll()).thenReturn(Flux.just(account));
+        when(accountReadRepository.findByCustomerId(10L)).thenReturn(Flux.just(account));
+
+        assertThat(service.getAccounts().collectList().block()).containsExactly(account);
+        assertThat(service.getAccountsByCustomer(10L).collectList().block()).containsExactly(account);
+    }
+
+    @Test
+    void getStatement_shouldStreamTransactions_whenAccountExists() {
+        LocalDateTime from = LocalDateTime.now().minusDays(1);
+        LocalDateTime to = LocalDateTime.now();
+        when(accountReadRepository.findById(1L)).thenReturn(Mono.just(account));
+        when(transactionReadRepository.findStatementBetweenDates(1L, from, to)).thenReturn(Flux.just(tx));
+
+        List<TransactionView> result = service.getStatement(1L, from, to).collectList().block();
+
+        assertThat(result).containsExactly(tx);
+    }
+
+    @Test
+    void getStatement_shouldThrowNotFound_whenAccountMissing() {
+        LocalDateTime from = LocalDateTime.now().minusDays(1);
+        LocalDateTime to = LocalDateTime.now();
+        when(accountReadRepository.findById(9L)).thenReturn(Mono.empty());
+        when(transactionReadRepository.findStatementBetweenDates(9L, from, to)).thenReturn(Flux.just(tx));
+
+        assertThrows(NotFoundException.class, () -> service.getStatement(9L, from, to).collectList().block());
+    }
+
+    @Test
+    void getStatement_shouldThrowBusiness_whenRangeInverted() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(BusinessException.class, () -> service.getStatement(1L, now, now.minusDays(1)).blockLast());
+
+        verify(transactionReadRepository, never()).findStatementBetweenDates(any(), any(), any());
+    }
+
+    @Test
+    void getCard_shouldReturnOrThrow() {
+        when(cardReadRepository.findById(2L)).thenReturn(Mono.just(card));
+        when(cardReadRepository.findById(9L)).thenReturn(Mono.empty());
+
+        assertThat(service.getCard(2L).block()).isEqualTo(card);
+        assertThrows(NotFoundException.class, () -> service.getCard(9L).block());
+    }
+
+    @Test
+    void getCards_shouldStreamAll() {
+        when(cardReadRepository.findAll()).thenReturn(Flux.just(card));
+        when(cardReadRepository.findByCustomerId(10L)).thenReturn(Flux.just(card));
+
+        assertThat(service.getCards().collectList().block()).containsExactly(card);
+        assertThat(service.getCardsByCustomer(10L).collectList().block()).containsExactly(card);
+    }
+
+    @Test
+    void getCustomer_shouldReturnOrThrow() {
+        when(customerReadRepository.findById(10L)).thenReturn(Mono.just(customer));
+        when(customerReadRepository.findById(9L)).thenReturn(Mono.empty());
+
+        assertThat(service.getCustomer(10L).block()).isEqualTo(customer);
+        assertThrows(NotFoundException.class, () -> service.getCustomer(9L).block());
+    }
+
+    @Test
+    void getCustomerByDocument_shouldReturnOrThrow() {
+        when(customerReadRepository.findByDocument("123")).thenReturn(Mono.just(customer));
+        when(customerReadRepository.findByDocument("999")).thenReturn(Mono.empty());
+
+        assertThat(service.getCustomerByDocument("123").block()).isEqualTo(customer);
+        assertThrows(NotFoundException.class, () -> service.getCustomerByDocument("999").block());
+    }
+
+    @Test
+    void getCustomers_shouldStreamAll() {
+        when(customerReadRepository.findAll()).thenReturn(Flux.just(customer));
+
+        assertThat(service.getCustomers().collectList().block()).containsExactly(customer);
+    }
+
+    @Test
+    void getTransaction_shouldReturnOrThrow() {
+        when(transactionReadRepository.findById(3L)).thenReturn(Mono.just(tx));
+        when(transactionReadRepository.findById(9L)).thenReturn(Mono.empty());
+
+        assertThat(service.getTransaction(3L).block()).isEqualTo(tx);
+        assertThrows(NotFoundException.class, () -> service.getTransaction(9L).block());
+    }
+
+    @Test
+    void getTransactions_shouldStreamAll() {
+        when(transactionReadRepository.findAll()).thenReturn(Flux.just(tx));
+
+        assertThat(service.getTransactions().collectList().block()).containsExactly(tx);
+    }
+}
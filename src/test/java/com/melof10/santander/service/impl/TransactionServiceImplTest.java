@@ -2,21 +2,33 @@ package com.melof10.santander.service.impl;
 
 import com.melof10.santander.controller.request.TransactionCreateRequest;
 import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.controller.response.TransactionView;
 import com.melof10.santander.entity.Account;
 import com.melof10.santander.entity.Transaction;
 import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.event.AccountBalanceChanged;
+import com.melof10.santander.event.TransactionRecorded;
 import com.melof10.santander.exception.BusinessException;
 import com.melof10.santander.exception.NotFoundException;
+import com.melof10.santander.money.Money;
 import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.Projection;
+import com.melof10.santander.repository.ProjectionRepository;
 import com.melof10.santander.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -29,17 +41,19 @@ class TransactionServiceImplTest {
 
     @Mock private TransactionRepository transactionRepository;
     @Mock private AccountRepository accountRepository;
+    @Mock private ProjectionRepository projectionRepository;
+    @Mock private ApplicationEventPublisher events;
 
     private TransactionServiceImpl service;
 
     @BeforeEach
     void setUp() {
-        service = new TransactionServiceImpl(transactionRepository, accountRepository);
+        service = new TransactionServiceImpl(transactionRepository, accountRepository, projectionRepository, events);
     }
 
     @Test
     void create_deposito_shouldPersist_whenValid() {
-        Account dest = Account.builder().id(10L).balance(new BigDecimal("100.00")).build();
+        Account dest = Account.builder().id(10L).balance(Money.of("100.00")).build();
 
         TransactionCreateRequest req = new TransactionCreateRequest();
         req.setType(TransactionType.DEPOSITO);
@@ -56,20 +70,22 @@ class TransactionServiceImplTest {
 
         Transaction tx = service.create(req);
 
-        assertThat(dest.getBalance()).isEqualByComparingTo("150.00");
+        assertThat(dest.getBalance()).isEqualTo(Money.of("150.00"));
         assertThat(tx.getId()).isEqualTo(1L);
         assertThat(tx.getType()).isEqualTo(TransactionType.DEPOSITO);
         assertThat(tx.getSourceAccount()).isNull();
         assertThat(tx.getDestinationAccount()).isSameAs(dest);
-        assertThat(tx.getAmount()).isEqualByComparingTo("50.00");
+        assertThat(tx.getAmount()).isEqualTo(Money.of("50.00"));
 
         verify(accountRepository).findById(10L);
         verify(accountRepository).save(same(dest));
         verify(transactionRepository).save(argThat(t ->
                 t.getType() == TransactionType.DEPOSITO &&
                         t.getDestinationAccount() == dest &&
-                        t.getAmount().compareTo(new BigDecimal("50.00")) == 0
+                        t.getAmount().equals(Money.of("50.00"))
         ));
+        verify(events).publishEvent(new AccountBalanceChanged(dest));
+        verify(events).publishEvent(new TransactionRecorded(tx));
     }
 
     @Test
@@ -99,7 +115,7 @@ class TransactionServiceImplTest {
 
     @Test
     void create_deposito_shouldThrow_whenAmountInvalid() {
-        Account dest = Account.builder().id(10L).balance(new BigDecimal("100")).build();
+        Account dest = Account.builder().id(10L).balance(Money.of("100")).build();
 
         TransactionCreateRequest req = new TransactionCreateRequest();
         req.setType(TransactionType.DEPOSITO);
@@ -111,12 +127,13 @@ class TransactionServiceImplTest {
         BusinessException ex = assertThrows(BusinessException.class, () -> service.create(req));
         assertThat(ex.getMessage()).contains("Monto inválido");
         verify(accountRepository, never()).save(any(Account.class));
+        verifyNoInteractions(events);
         verify(transactionRepository, never()).save(any());
     }
 
     @Test
     void create_extraccion_shouldPersist_whenValid() {
-        Account source = Account.builder().id(7L).balance(new BigDecimal("200.00")).build();
+        Account source = Account.builder().id(7L).balance(Money.of("200.00")).build();
 
         TransactionCreateRequest req = new TransactionCreateRequest();
         req.setType(TransactionType.EXTRACCION);
@@ -133,12 +150,12 @@ class TransactionServiceImplTest {
 
         Transaction tx = service.create(req);
 
-        assertThat(source.getBalance()).isEqualByComparingTo("150.00");
+        assertThat(source.getBalance()).isEqualTo(Money.of("150.00"));
         assertThat(tx.getId()).isEqualTo(2L);
         assertThat(tx.getType()).isEqualTo(TransactionType.EXTRACCION);
         assertThat(tx.getSourceAccount()).isSameAs(source);
         assertThat(tx.getDestinationAccount()).isNull();
-        assertThat(tx.getAmount()).isEqualByComparingTo("50.00");
+        assertThat(tx.getAmount()).isEqualTo(Money.of("50.00"));
 
         verify(accountRepository).save(same(source));
         verify(transactionRepository).save(any(Transaction.class));
@@ -186,7 +203,7 @@ class TransactionServiceImplTest {
 
     @Test
     void create_extraccion_shouldThrow_whenInsufficientFunds() {
-        Account source = Account.builder().id(1L).balance(new BigDecimal("10.00")).build();
+        Account source = Account.builder().id(1L).balance(Money.of("10.00")).build();
 
         TransactionCreateRequest req = new TransactionCreateRequest();
         req.setType(TransactionType.EXTRACCION);
@@ -202,7 +219,7 @@ class TransactionServiceImplTest {
 
     @Test
     void create_extraccion_shouldThrow_whenAmountInvalid() {
-        Account source = Account.builder().id(7L).balance(new BigDecimal("100")).build();
+        Account source = Account.builder().id(7L).balance(Money.of("100")).build();
 
         TransactionCreateRequest req = new TransactionCreateRequest();
         req.setType(TransactionType.EXTRACCION);
@@ -246,8 +263,8 @@ class TransactionServiceImplTest {
         req.setDestinationAccountId(2L);
         req.setAmount(new BigDecimal("10"));
 
-        Account source = Account.builder().id(1L).balance(new BigDecimal("50")).build();
-        Account dest = Account.builder().id(2L).balance(new BigDecimal("5")).build();
+        Account source = Account.builder().id(1L).balance(Money.of("50")).build();
+        Account dest = Account.builder().id(2L).balance(Money.of("5")).build();
 
         when(accountRepository.findById(1L)).thenReturn(Optional.of(source));
         when(accountRepository.findById(2L)).thenReturn(Optional.of(dest));
@@ -259,8 +276,8 @@ class TransactionServiceImplTest {
 
         Transaction tx = service.create(req);
 
-        assertThat(source.getBalance()).isEqualByComparingTo("40");
-        assertThat(dest.getBalance()).isEqualByComparingTo("15");
+        assertThat(source.getBalance()).isEqualTo(Money.of("40"));
+        assertThat(dest.getBalance()).isEqualTo(Money.of("15"));
         assertThat(tx.getId()).isEqualTo(99L);
         assertThat(tx.getType()).isEqualTo(TransactionType.TRANSFERENCIA);
         assertThat(tx.getSourceAccount()).isSameAs(source);
@@ -297,7 +314,7 @@ class TransactionServiceImplTest {
         req.setDestinationAccountId(2L);
         req.setAmount(new BigDecimal("10"));
 
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(Account.builder().id(1L).balance(new BigDecimal("100")).build()));
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(Account.builder().id(1L).balance(Money.of("100")).build()));
         when(accountRepository.findById(2L)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> service.transfer(req));
@@ -310,8 +327,8 @@ class TransactionServiceImplTest {
         req.setDestinationAccountId(2L);
         req.setAmount(new BigDecimal("0"));
 
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(Account.builder().id(1L).balance(new BigDecimal("10")).build()));
-        when(accountRepository.findById(2L)).thenReturn(Optional.of(Account.builder().id(2L).balance(new BigDecimal("5")).build()));
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(Account.builder().id(1L).balance(Money.of("10")).build()));
+        when(accountRepository.findById(2L)).thenReturn(Optional.of(Account.builder().id(2L).balance(Money.of("5")).build()));
 
         BusinessException ex = assertThrows(BusinessException.class, () -> service.transfer(req));
         assertThat(ex.getMessage()).contains("Monto inválido");
@@ -319,10 +336,25 @@ class TransactionServiceImplTest {
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
+    @Test
+    void transfer_shouldThrow_whenAmountHasSubCentPrecision() {
+        TransferRequest req = new TransferRequest();
+        req.setSourceAccountId(1L);
+        req.setDestinationAccountId(2L);
+        req.setAmount(new BigDecimal("0.001"));
+
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(Account.builder().id(1L).balance(Money.of("10")).build()));
+        when(accountRepository.findById(2L)).thenReturn(Optional.of(Account.builder().id(2L).balance(Money.of("5")).build()));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.transfer(req));
+        assertThat(ex.getMessage()).contains("Monto inválido");
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
     @Test
     void transfer_shouldWithdrawAndDepositAndPersist_whenValid() {
-        Account source = Account.builder().id(1L).balance(new BigDecimal("100.00")).build();
-        Account dest = Account.builder().id(2L).balance(new BigDecimal("10.00")).build();
+        Account source = Account.builder().id(1L).balance(Money.of("100.00")).build();
+        Account dest = Account.builder().id(2L).balance(Money.of("10.00")).build();
 
         TransferRequest req = new TransferRequest();
         req.setSourceAccountId(1L);
@@ -340,8 +372,8 @@ class TransactionServiceImplTest {
 
         Transaction tx = service.transfer(req);
 
-        assertThat(source.getBalance()).isEqualByComparingTo("74.50");
-        assertThat(dest.getBalance()).isEqualByComparingTo("35.50");
+        assertThat(source.getBalance()).isEqualTo(Money.of("74.50"));
+        assertThat(dest.getBalance()).isEqualTo(Money.of("35.50"));
         assertThat(tx.getId()).isEqualTo(7L);
         assertThat(tx.getType()).isEqualTo(TransactionType.TRANSFERENCIA);
         assertThat(tx.getSourceAccount()).isSameAs(source);
@@ -349,22 +381,55 @@ class TransactionServiceImplTest {
 
         verify(accountRepository, times(2)).save(any(Account.class));
         verify(transactionRepository).save(any(Transaction.class));
+        verify(events).publishEvent(new AccountBalanceChanged(source));
+        verify(events).publishEvent(new AccountBalanceChanged(dest));
+    }
+
+    @Test
+    void transfer_shouldLockLowestAccountIdFirst_whenSourceIdIsHigher() {
+        Account source = Account.builder().id(9L).balance(Money.of("100.00")).build();
+        Account dest = Account.builder().id(3L).balance(Money.of("0.00")).build();
+
+        TransferRequest req = new TransferRequest(9L, 3L, new BigDecimal("40.00"));
+
+        when(accountRepository.findById(9L)).thenReturn(Optional.of(source));
+        when(accountRepository.findById(3L)).thenReturn(Optional.of(dest));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.transfer(req);
+
+        InOrder order = inOrder(accountRepository);
+        order.verify(accountRepository).findById(3L);
+        order.verify(accountRepository).findById(9L);
+        assertThat(source.getBalance()).isEqualTo(Money.of("60.00"));
+        assertThat(dest.getBalance()).isEqualTo(Money.of("40.00"));
+    }
+
+    @Test
+    void transfer_shouldThrowSourceNotFound_whenSourceIdIsHigherAndMissing() {
+        when(accountRepository.findById(3L)).thenReturn(Optional.of(Account.builder().id(3L).balance(Money.ZERO).build()));
+        when(accountRepository.findById(9L)).thenReturn(Optional.empty());
+
+        NotFoundException ex = assertThrows(NotFoundException.class,
+                () -> service.transfer(new TransferRequest(9L, 3L, new BigDecimal("1.00"))));
+
+        assertThat(ex.getMessage()).isEqualTo("Cuenta origen no encontrada");
     }
 
     @Test
     void getById_shouldReturn_whenExists() {
         Transaction t = Transaction.builder().id(3L).type(TransactionType.DEPOSITO).build();
-        when(transactionRepository.findById(3L)).thenReturn(Optional.of(t));
+        when(transactionRepository.findWithAccountsById(3L)).thenReturn(Optional.of(t));
 
         Transaction found = service.getById(3L);
 
         assertThat(found.getId()).isEqualTo(3L);
-        verify(transactionRepository).findById(3L);
+        verify(transactionRepository).findWithAccountsById(3L);
     }
 
     @Test
     void getById_shouldThrow_whenMissing() {
-        when(transactionRepository.findById(404L)).thenReturn(Optional.empty());
+        when(transactionRepository.findWithAccountsById(404L)).thenReturn(Optional.empty());
         assertThrows(NotFoundException.class, () -> service.getById(404L));
     }
 
@@ -380,6 +445,26 @@ class TransactionServiceImplTest {
         verify(transactionRepository).findAllWithAccounts();
     }
 
+    @Test
+    void getById_withFields_shouldReadTheProjection_andThrowNotFound_whenMissing() {
+        List<String> fields = List.of("id", "amount");
+        when(projectionRepository.findById(Projection.TRANSACTION, fields, 3L)).thenReturn(Optional.of(Map.of("id", 3L)));
+        when(projectionRepository.findById(Projection.TRANSACTION, fields, 404L)).thenReturn(Optional.empty());
+
+        assertThat(service.getById(3L, fields)).containsEntry("id", 3L);
+        assertThrows(NotFoundException.class, () -> service.getById(404L, fields));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void getAll_withFields_shouldReadTheProjection() {
+        List<String> fields = List.of("id", "date", "amount");
+        when(projectionRepository.findAll(Projection.TRANSACTION, fields)).thenReturn(List.of(Map.of("id", 1L)));
+
+        assertThat(service.getAll(fields)).hasSize(1);
+        verifyNoInteractions(transactionRepository);
+    }
+
     @Test
     void delete_shouldRemove_whenExists() {
         when(transactionRepository.existsById(9L)).thenReturn(true);
@@ -399,5 +484,50 @@ class TransactionServiceImplTest {
         verify(transactionRepository).existsById(9L);
         verify(transactionRepository, never()).deleteById(anyLong());
     }
-}
 
+    @Test
+    void getStatement_shouldQueryHistory_whenAccountExists() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 12, 31, 23, 59);
+        Page<TransactionView> page = new PageImpl<>(List.of(
+                new TransactionView(1L, from, new BigDecimal("10.00"), TransactionType.DEPOSITO, null, 4L)));
+        when(accountRepository.existsById(4L)).thenReturn(true);
+        when(transactionRepository.findStatement(4L, from, to, PageRequest.of(0, 20))).thenReturn(page);
+
+        assertThat(service.getStatement(4L, from, to, PageRequest.of(0, 20))).isSameAs(page);
+    }
+
+    @Test
+    void getStatement_shouldThrow_whenRangeIsInvalid() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(BusinessException.class, () -> service.getStatement(4L, now, now.minusDays(1), PageRequest.of(0, 20)));
+
+        verifyNoInteractions(transactionRepository, accountRepository);
+    }
+
+    @Test
+    void getRecent_shouldThrowNotFound_whenAccountIsMissing() {
+        when(accountRepository.existsById(4L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> service.getRecent(4L, 10));
+
+        verify(transactionRepository, never()).findRecent(anyLong(), anyInt());
+    }
+
+    @Test
+    void getRecent_shouldRejectLimitsOutOfRange() {
+        assertThrows(BusinessException.class, () -> service.getRecent(4L, 0));
+        assertThrows(BusinessException.class, () -> service.getRecent(4L, 501));
+    }
+
+    @Test
+    void getRecent_shouldQueryHistory_whenAccountExists() {
+        List<TransactionView> recent = List.of(
+                new TransactionView(2L, LocalDateTime.now(), new BigDecimal("5.00"), TransactionType.EXTRACCION, 4L, null));
+        when(accountRepository.existsById(4L)).thenReturn(true);
+        when(transactionRepository.findRecent(4L, 10)).thenReturn(recent);
+
+        assertThat(service.getRecent(4L, 10)).isEqualTo(recent);
+    }
+}
@@ -0,0 +1,286 @@
+package com.melof10.santander.stress;
+
+import com.melof10.santander.controller.request.TransactionCreateRequest;
+import com.melof10.santander.controller.request.TransferRequest;
+import com.melof10.santander.entity.Account;
+import com.melof10.santander.entity.Customer;
+import com.melof10.santander.enums.AccountType;
+import com.melof10.santander.enums.TransactionType;
+import com.melof10.santander.exception.BusinessException;
+import com.melof10.santander.money.Money;
+import com.melof10.santander.repository.AccountRepository;
+import com.melof10.santander.repository.CustomerRepository;
+import com.melof10.santander.repository.TransactionRepository;
+import com.melof10.santander.service.ITransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Hammers {@link ITransactionService} from many threads and checks, per account, that the final
+ * balance equals the initial balance plus every successful movement (no lost updates), that no
+ * balance goes negative and that no call fails on a lock (deadlock or lock timeout).
+ *
+ * <pre>
+ * ./mvnw -Pstress test
+ * ./mvnw -Pstress test -Dstress.threads=32 -Dstress.operations=500 -Dstress.seconds=5
+ * </pre>
+ */
+@Tag("stress")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:stressdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "santander.r2dbc.url=r2dbc:h2:mem:///stressdb?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.hikari.maximum-pool-size=64",
+        "spring.jpa.show-sql=false"
+})
+class TransferStressTest {
+
+    private static final int THREADS = Integer.getInteger("stress.threads", 16);
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 250);
+    private static final int SECONDS = Integer.getInteger("stress.seconds", 3);
+    private static final long INITIAL_CENTS = 1_000_00;
+
+    @Autowired private ITransactionService transactionService;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private TransactionRepository transactionRepository;
+
+    private Customer customer;
+    private final Map<Long, AtomicLong> expected = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        String document = "ST" + System.nanoTime() % 1_000_000_000L;
+        customer = customerRepository.save(Customer.builder()
+                .firstName("Stress")
+                .lastName("Test")
+                .document(document)
+                .build());
+        expected.clear();
+    }
+
+    @Test
+    void randomTransfersAndCashMovements_shouldConserveMoneyPerAccount() throws Exception {
+        List<Long> ids = createAccounts(THREADS * 2);
+
+        Stats stats = run(THREADS, OPERATIONS, (thread, random) -> {
+            long a = pick(ids, random);
+            switch (random.nextInt(4)) {
+                case 0 -> deposit(a, random.nextLong(1, 20_000));
+                case 1 -> withdraw(a, random.nextLong(1, 20_000));
+                default -> transfer(a, other(ids, a, random), random.nextLong(1, 50_000));
+            }
+        });
+
+        assertInvariants(stats);
+    }
+
+    @Test
+    void cyclicAndOpposingTransfers_shouldNotDeadlock() throws Exception {
+        List<Long> ring = createAccounts(Math.max(3, THREADS / 4));
+
+        Stats stats = run(THREADS, OPERATIONS, (thread, random) -> {
+            int i = random.nextInt(ring.size());
+            long from = ring.get(i);
+            long to = ring.get((i + 1) % ring.size());
+            if (random.nextBoolean()) {
+                transfer(from, to, random.nextLong(1, 5_000));
+            } else {
+                transfer(to, from, random.nextLong(1, 5_000));
+            }
+        });
+
+        assertInvariants(stats);
+    }
+
+    @Test
+    void hotAccount_shouldNotLoseUpdates() throws Exception {
+        List<Long> ids = createAccounts(THREADS + 1);
+        long hot = ids.get(0);
+        List<Long> cold = ids.subList(1, ids.size());
+
+        Stats stats = run(THREADS, OPERATIONS, (thread, random) -> {
+            long other = cold.get(thread % cold.size());
+            switch (random.nextInt(4)) {
+                case 0 -> deposit(hot, random.nextLong(1, 10_000));
+                case 1 -> withdraw(hot, random.nextLong(1, 10_000));
+                case 2 -> transfer(hot, other, random.nextLong(1, 10_000));
+                default -> transfer(other, hot, random.nextLong(1, 10_000));
+            }
+        });
+
+        assertInvariants(stats);
+    }
+
+    @Test
+    void throughput_shouldKeepInvariantsAsThreadsGrow() throws Exception {
+        List<Long> ids = createAccounts(64);
+        List<String> report = new ArrayList<>();
+
+        for (int threads = 1; threads <= THREADS; threads *= 2) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+            Stats stats = runUntil(threads, deadline, (thread, random) -> {
+                long a = pick(ids, random);
+                transfer(a, other(ids, a, random), random.nextLong(1, 10_000));
+            });
+            assertInvariants(stats);
+            report.add("threads=%3d ops/s=%8.1f rejected=%d".formatted(
+                    threads, stats.completed.sum() / (double) SECONDS, stats.rejected.sum()));
+        }
+
+        report.forEach(System.out::println);
+    }
+
+    private List<Long> createAccounts(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Account account = accountRepository.save(Account.builder()
+                    .accountNumber("ST-" + System.nanoTime())
+                    .accountType(AccountType.CAJA_AHORRO)
+                    .balance(Money.ofCents(INITIAL_CENTS))
+                    .openDate(LocalDate.now())
+                    .customer(customer)
+                    .build());
+            expected.put(account.getId(), new AtomicLong(INITIAL_CENTS));
+            ids.add(account.getId());
+        }
+        return ids;
+    }
+
+    private void deposit(long account, long cents) {
+        transactionService.create(new TransactionCreateRequest(TransactionType.DEPOSITO, amount(cents), null, account));
+        expected.get(account).addAndGet(cents);
+    }
+
+    private void withdraw(long account, long cents) {
+        transactionService.create(new TransactionCreateRequest(TransactionType.EXTRACCION, amount(cents), account, null));
+        expected.get(account).addAndGet(-cents);
+    }
+
+    private void transfer(long source, long dest, long cents) {
+        transactionService.transfer(new TransferRequest(source, dest, amount(cents)));
+        expected.get(source).addAndGet(-cents);
+        expected.get(dest).addAndGet(cents);
+    }
+
+    private Stats run(int threads, int operationsPerThread, Operation op) throws Exception {
+        return execute(threads, op, ops -> ops < operationsPerThread);
+    }
+
+    private Stats runUntil(int threads, long deadlineNanos, Operation op) throws Exception {
+        return execute(threads, op, ops -> System.nanoTime() < deadlineNanos);
+    }
+
+    private Stats execute(int threads, Operation op, Continue condition) throws Exception {
+        Stats stats = new Stats();
+        stats.transactionsBefore = transactionRepository.count();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                start.await();
+                for (int ops = 0; condition.test(ops); ops++) {
+                    try {
+                        op.run(thread, random);
+                        stats.completed.increment();
+                    } catch (BusinessException e) {
+                        stats.rejected.increment();
+                    } catch (PessimisticLockingFailureException e) {
+                        stats.lockFailures.increment();
+                    } catch (RuntimeException e) {
+                        stats.errors.add(e.toString());
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+
+        long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(120 + SECONDS);
+        while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+            long[] deadlocked = ManagementFactory.getThreadMXBean().findDeadlockedThreads();
+            if (deadlocked != null || System.nanoTime() > timeout) {
+                pool.shutdownNow();
+                fail("Workers stuck" + (deadlocked == null ? "" : ", JVM deadlock:\n" + Arrays.stream(
+                        ManagementFactory.getThreadMXBean().getThreadInfo(deadlocked, true, true))
+                        .map(ThreadInfo::toString)
+                        .collect(Collectors.joining())));
+            }
+        }
+        return stats;
+    }
+
+    private void assertInvariants(Stats stats) {
+        assertThat(stats.errors).as("unexpected errors").isEmpty();
+        assertThat(stats.lockFailures.sum()).as("deadlocks / lock timeouts").isZero();
+
+        for (Account account : accountRepository.findAllById(expected.keySet())) {
+            long actual = account.getBalance().toCents();
+            assertThat(actual).as("balance of account %d", account.getId()).isNotNegative();
+            assertThat(actual).as("lost update on account %d", account.getId())
+                    .isEqualTo(expected.get(account.getId()).get());
+        }
+        assertThat(transactionRepository.count() - stats.transactionsBefore)
+                .as("persisted transactions")
+                .isEqualTo(stats.completed.sum());
+    }
+
+    private static long pick(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static long other(List<Long> ids, long id, ThreadLocalRandom random) {
+        long other = pick(ids, random);
+        return other == id ? ids.get((ids.indexOf(id) + 1) % ids.size()) : other;
+    }
+
+    private static BigDecimal amount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int thread, ThreadLocalRandom random);
+    }
+
+    @FunctionalInterface
+    private interface Continue {
+        boolean test(int operations);
+    }
+
+    private static final class Stats {
+        final LongAdder completed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder lockFailures = new LongAdder();
+        final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        long transactionsBefore;
+    }
+}
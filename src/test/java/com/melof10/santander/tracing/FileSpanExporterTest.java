@@ -0,0 +1,66 @@
+package com.melof10.santander.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSpanExporterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir Path tmp;
+
+    @Test
+    void export_shouldAppendOneJsonLinePerSpanWithParentLinks() throws Exception {
+        Path file = tmp.resolve("traces/spans.jsonl");
+        try (SdkTracerProvider provider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(file)))
+                .build()) {
+            Tracer tracer = provider.get("test");
+            Span parent = tracer.spanBuilder("http get /api/accounts/self/{id}").setSpanKind(SpanKind.SERVER).startSpan();
+            try (Scope ignored = parent.makeCurrent()) {
+                tracer.spanBuilder("query").setSpanKind(SpanKind.CLIENT)
+                        .setAttribute("jdbc.query[0]", "select 1")
+                        .startSpan()
+                        .setStatus(StatusCode.ERROR)
+                        .end();
+            }
+            parent.end();
+        }
+
+        List<JsonNode> lines = Files.readAllLines(file).stream().map(this::read).toList();
+        assertThat(lines).hasSize(2);
+        JsonNode query = lines.get(0);
+        JsonNode server = lines.get(1);
+        assertThat(query.get("name").asText()).isEqualTo("query");
+        assertThat(query.get("kind").asText()).isEqualTo("CLIENT");
+        assertThat(query.get("status").asText()).isEqualTo("ERROR");
+        assertThat(query.get("attributes").get("jdbc.query[0]").asText()).isEqualTo("select 1");
+        assertThat(query.get("traceId").asText()).isEqualTo(server.get("traceId").asText());
+        assertThat(query.get("parentSpanId").asText()).isEqualTo(server.get("spanId").asText());
+        assertThat(server.get("parentSpanId").isNull()).isTrue();
+        assertThat(server.get("durationMs").asDouble()).isNotNegative();
+    }
+
+    private JsonNode read(String line) {
+        try {
+            return mapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}